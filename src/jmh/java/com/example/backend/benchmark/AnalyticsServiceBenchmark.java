@@ -0,0 +1,72 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.DashboardDataResponse;
+import com.example.backend.model.DailyStatistics;
+import com.example.backend.model.StressRollup;
+import com.example.backend.service.AnalyticsService;
+import com.example.backend.service.StressAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 집계(조회 이후의 CPU 구간) 비용 - 기간 7/30/365일
+ * 할당량은 benchmark 프로필의 GC 프로파일러(-prof gc)가 함께 측정합니다. (gc.alloc.rate.norm = 호출 1회당 할당 바이트)
+ * dashboard()가 getDashboardData의 조회 이후 구간 전체 (버킷 1회 순회 + 응답 DTO 변환)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"7", "30", "365"})
+    public int days;
+
+    private List<DailyStatistics> statsList;
+    private List<StressRollup> rollups;
+
+    @Setup
+    public void setUp() {
+        statsList = SyntheticData.dailyStatistics(days);
+        rollups = SyntheticData.rollups(days);
+    }
+
+    @Benchmark
+    public DashboardDataResponse summaryAndDailyChart() {
+        DashboardDataResponse response = new DashboardDataResponse();
+        AnalyticsService.populateSummary(response, StressAggregator.ofRollups(rollups));
+        AnalyticsService.populateDailyChart(response, statsList);
+        return response;
+    }
+
+    @Benchmark
+    public DashboardDataResponse weeklyChartAndCauses() {
+        DashboardDataResponse response = new DashboardDataResponse();
+        AnalyticsService.populateWeeklyChartAndCauses(response, StressAggregator.ofRollups(rollups));
+        return response;
+    }
+
+    @Benchmark
+    public DashboardDataResponse dashboard() {
+        DashboardDataResponse response = new DashboardDataResponse();
+        StressAggregator aggregator = StressAggregator.ofRollups(rollups);
+        AnalyticsService.populateSummary(response, aggregator);
+        AnalyticsService.populateDailyChart(response, statsList);
+        AnalyticsService.populateWeeklyChartAndCauses(response, aggregator);
+        return response;
+    }
+}
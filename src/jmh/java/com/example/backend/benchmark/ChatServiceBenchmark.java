@@ -0,0 +1,71 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.UserAnalysis;
+import com.example.backend.service.ChatPromptBuilder;
+import com.example.backend.service.ChatService;
+import com.example.backend.service.SummaryWatermark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 1턴의 CPU 구간: Gemini 요청 바디 생성 / 모델 응답 JSON 파싱
+ * summaryMode=false는 최근 10개 메시지를 모두 보내는 기존 방식
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatServiceBenchmark {
+
+    private static final String USER_TEXT =
+            "오늘도 회의가 세 개나 잡혀 있어서 점심도 제대로 못 먹었어요. 팀장님이 갑자기 보고서 마감을 앞당기셔서 " +
+            "야근까지 해야 할 것 같은데, 요즘 계속 이런 식이라 너무 지치고 아무것도 하기 싫어요.";
+    private static final String ASSISTANT_TEXT =
+            "회의가 연달아 있고 마감까지 앞당겨졌다니 정말 숨 돌릴 틈도 없으셨겠어요. 끼니도 거르고 버티느라 몸도 마음도 " +
+            "많이 지치셨을 것 같아요. 오늘 일을 마치면 잠깐이라도 좋아하는 음악을 들으며 천천히 걸어보면 좋겠어요.";
+    private static final String SUMMARY =
+            "사용자는 잦은 회의와 앞당겨진 마감으로 야근이 이어져 지쳐 있음. 식사를 거르는 일이 많고 무기력함을 호소함.";
+    private static final String MODEL_REPLY = "```json\n{\"reply\": \"" + ASSISTANT_TEXT
+            + "\", \"emotion\": \"tired\", \"stressCause\": \"업무 과다\"}\n```";
+
+    @Param({"true", "false"})
+    public boolean summaryMode;
+
+    private ChatPromptBuilder promptBuilder;
+    private UserAnalysis analysis;
+    private List<ChatMessage> history;
+    private SummaryWatermark summarizedUntil;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = new ChatPromptBuilder(summaryMode, 2, 1000, true);
+        analysis = SyntheticData.analysis(SUMMARY);
+        history = SyntheticData.chatHistory(5, USER_TEXT, ASSISTANT_TEXT);
+        summarizedUntil = SummaryWatermark.of(history.get(5));
+    }
+
+    @Benchmark
+    public String buildRequestBody() {
+        return promptBuilder.buildRequestBody(analysis, history, SUMMARY, summarizedUntil, "오늘은 좀 일찍 자고 싶어요");
+    }
+
+    @Benchmark
+    public Object parseModelReply() {
+        return ChatService.parseModelReply(MODEL_REPLY);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.client.GeminiResponseParser;
+import com.example.backend.service.ChatReply;
+import com.example.backend.service.ChatService;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 응답 1건에서 reply/emotion/stressCause 까지 꺼내는 비용 - 응답 크기 5/10/20KB
+ * - gsonTree  : 기존 방식 (봉투 Gson 트리 → 텍스트 → '{'~'}' 잘라내기 → Gson 트리)
+ * - streaming : GeminiResponseParser 토큰 스트림 (봉투 텍스트까지만 읽고, 모델 JSON은 복사 없이 한 번에)
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiResponseParserBenchmark {
+
+    private static final String REPLY_SENTENCE =
+            "회의가 연달아 있고 마감까지 앞당겨졌다니 정말 숨 돌릴 틈도 없으셨겠어요. \"오늘 하루\"를 버틴 자신을 꼭 칭찬해 주세요.";
+
+    @Param({"5120", "10240", "20480"})
+    public int responseBytes;
+
+    private final Gson gson = new Gson();
+    private String response;
+
+    @Setup
+    public void setUp() {
+        response = SyntheticData.geminiResponse(responseBytes, REPLY_SENTENCE);
+    }
+
+    @Benchmark
+    public ChatReply gsonTree() {
+        JsonObject envelope = gson.fromJson(response, JsonObject.class);
+        String text = envelope.getAsJsonArray("candidates").get(0).getAsJsonObject()
+                .getAsJsonObject("content").getAsJsonArray("parts").get(0).getAsJsonObject()
+                .get("text").getAsString();
+        String json = text.substring(text.indexOf('{'), text.lastIndexOf('}') + 1);
+        JsonObject model = JsonParser.parseString(json).getAsJsonObject();
+        return new ChatReply(model.get("reply").getAsString(),
+                model.get("emotion").getAsString(), model.get("stressCause").getAsString());
+    }
+
+    @Benchmark
+    public ChatReply streaming() {
+        return ChatService.parseModelReply(GeminiResponseParser.extractText(response));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.security.JwtTokenProvider;
+import com.example.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 1건의 토큰 검증 비용 (단일 스레드 = 코어당 초당 검증 수)
+ * - rebuildAndParseTwice: 기존 방식 (validateToken + getUsernameFromJWT, 매번 키/파서 생성)
+ * - cachedParseOnce: JwtTokenProvider.parseClaims (미리 만든 키/파서로 한 번 파싱)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret!!";
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000, true);
+        UserPrincipal user = new UserPrincipal(42L, "user@softday.com", "",
+                List.of(new SimpleGrantedAuthority(UserPrincipal.ROLE_USER)));
+        token = provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Benchmark
+    public Object rebuildAndParseTwice() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public Object cachedParseOnce() {
+        return provider.parseClaims(token).map(provider::getPrincipal).orElse(null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.RoutineRecommendationResponse;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.example.backend.service.RoutineService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 루틴 추천의 스트레스/원인 집계 비용 - 기간 7/30/365일
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutineServiceBenchmark {
+
+    @Param({"7", "30", "365"})
+    public int days;
+
+    private List<DailyCheckInRepository.StressLevelView> stressLevels;
+    private List<StressCauseRepository.CauseCountView> causeCounts;
+
+    @Setup
+    public void setUp() {
+        stressLevels = SyntheticData.stressLevels(days);
+        causeCounts = SyntheticData.causeCounts(days);
+    }
+
+    @Benchmark
+    public RoutineRecommendationResponse causeAggregation() {
+        RoutineRecommendationResponse response = new RoutineRecommendationResponse();
+        RoutineService.populateStressSummary(response, stressLevels, causeCounts);
+        return response;
+    }
+}
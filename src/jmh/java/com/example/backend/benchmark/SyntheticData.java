@@ -0,0 +1,219 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.DailyStatistics;
+import com.example.backend.model.StressRollup;
+import com.example.backend.model.UserAnalysis;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 데이터 (하루 한 번 체크인, 시드 고정이라 실행마다 같은 데이터)
+ * 기간(7/30/365일)만 바꿔 같은 분포의 데이터를 만듭니다.
+ */
+final class SyntheticData {
+
+    static final LocalDate END_DATE = LocalDate.of(2025, 6, 18); // 수요일 - 기간이 달/주 경계에 딱 맞지 않도록
+    static final List<String> CAUSES = List.of("업무 과다", "회의", "마감일", "소통 문제", "기타");
+
+    private SyntheticData() {
+    }
+
+    /**
+     * 기간 내 날짜별 체크인 (스트레스 1~5, 원인 1~2개)
+     */
+    static List<CheckIn> checkIns(int days) {
+        Random random = new Random(days);
+        List<CheckIn> checkIns = new ArrayList<>();
+        for (int i = days - 1; i >= 0; i--) {
+            List<String> causes = new ArrayList<>();
+            causes.add(CAUSES.get(random.nextInt(CAUSES.size())));
+            if (random.nextBoolean()) {
+                causes.add(CAUSES.get(random.nextInt(CAUSES.size())));
+            }
+            checkIns.add(new CheckIn((long) days - i, END_DATE.minusDays(i), 1 + random.nextInt(5), causes));
+        }
+        return checkIns;
+    }
+
+    /**
+     * 일별 통계 (AnalyticsService가 받는 순서: 최신 날짜 먼저)
+     */
+    static List<DailyStatistics> dailyStatistics(int days) {
+        List<DailyStatistics> stats = new ArrayList<>();
+        for (CheckIn checkIn : checkIns(days)) {
+            DailyStatistics stat = new DailyStatistics();
+            stat.setStatDate(checkIn.date());
+            stat.setCheckinCount(1);
+            stat.setAvgStressLevel(BigDecimal.valueOf(checkIn.stressLevel()));
+            stats.add(0, stat);
+        }
+        return stats;
+    }
+
+    /**
+     * StressRollupService.findCovering과 같은 모양의 버킷 (기간 안에 통째로 들어가는 달 → MONTH, 주 → WEEK, 나머지 DAY)
+     */
+    static List<StressRollup> rollups(int days) {
+        LocalDate startDate = END_DATE.minusDays(days - 1);
+        Map<String, StressRollup> rollups = new LinkedHashMap<>();
+        for (CheckIn checkIn : checkIns(days)) {
+            LocalDate date = checkIn.date();
+            LocalDate monthStart = date.withDayOfMonth(1);
+            LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            StressRollup.PeriodType type;
+            LocalDate periodStart;
+            if (!monthStart.isBefore(startDate) && !monthStart.plusMonths(1).minusDays(1).isAfter(END_DATE)) {
+                type = StressRollup.PeriodType.MONTH;
+                periodStart = monthStart;
+            } else if (!weekStart.isBefore(startDate) && !weekStart.plusDays(6).isAfter(END_DATE)) {
+                type = StressRollup.PeriodType.WEEK;
+                periodStart = weekStart;
+            } else {
+                type = StressRollup.PeriodType.DAY;
+                periodStart = date;
+            }
+            rollups.computeIfAbsent(type + ":" + periodStart, k -> new StressRollup(null, type, periodStart))
+                    .add(date, checkIn.stressLevel(), checkIn.causes());
+        }
+        return new ArrayList<>(rollups.values());
+    }
+
+    static List<DailyCheckInRepository.StressLevelView> stressLevels(int days) {
+        List<DailyCheckInRepository.StressLevelView> levels = new ArrayList<>();
+        for (CheckIn checkIn : checkIns(days)) {
+            levels.add(new DailyCheckInRepository.StressLevelView() {
+                public Long getId() {
+                    return checkIn.id();
+                }
+
+                public LocalDate getCheckinDate() {
+                    return checkIn.date();
+                }
+
+                public Integer getStressLevel() {
+                    return checkIn.stressLevel();
+                }
+            });
+        }
+        return levels;
+    }
+
+    /**
+     * StressCauseRepository.countCauses 결과 (원인별 GROUP BY)
+     */
+    static List<StressCauseRepository.CauseCountView> causeCounts(int days) {
+        Map<String, Long> counts = new HashMap<>();
+        for (CheckIn checkIn : checkIns(days)) {
+            checkIn.causes().forEach(cause -> counts.merge(cause, 1L, Long::sum));
+        }
+        List<StressCauseRepository.CauseCountView> views = new ArrayList<>();
+        counts.forEach((causeType, count) -> views.add(new StressCauseRepository.CauseCountView() {
+            public String getCauseType() {
+                return causeType;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        }));
+        return views;
+    }
+
+    static List<ChatMessage> chatHistory(int turns, String userText, String assistantText) {
+        List<ChatMessage> history = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < turns; i++) {
+            history.add(message(id++, ChatMessage.MessageRole.USER, userText));
+            history.add(message(id++, ChatMessage.MessageRole.ASSISTANT, assistantText));
+        }
+        return history;
+    }
+
+    static UserAnalysis analysis(String summary) {
+        UserAnalysis analysis = new UserAnalysis();
+        analysis.setConversationSummary(summary);
+        analysis.setCurrentSentiment("부정");
+        return analysis;
+    }
+
+    /**
+     * Gemini generateContent 응답 봉투 (safetyRatings, usageMetadata 포함) - 전체 크기가 약 targetBytes(UTF-8)
+     * 모델 텍스트는 ```json 으로 감싼 {"reply", "emotion", "stressCause"} 이고, reply 길이로 크기를 맞춥니다.
+     */
+    static String geminiResponse(int targetBytes, String replySentence) {
+        StringBuilder reply = new StringBuilder();
+        String response;
+        do {
+            reply.append(replySentence).append("\n");
+            JsonObject modelJson = new JsonObject();
+            modelJson.addProperty("reply", reply.toString());
+            modelJson.addProperty("emotion", "tired");
+            modelJson.addProperty("stressCause", "업무 과다");
+            response = envelope("```json\n" + modelJson + "\n```");
+        } while (response.getBytes(StandardCharsets.UTF_8).length < targetBytes);
+        return response;
+    }
+
+    private static String envelope(String modelText) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", modelText);
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+
+        JsonArray safetyRatings = new JsonArray();
+        for (String category : List.of("HARM_CATEGORY_HATE_SPEECH", "HARM_CATEGORY_DANGEROUS_CONTENT",
+                "HARM_CATEGORY_HARASSMENT", "HARM_CATEGORY_SEXUALLY_EXPLICIT")) {
+            JsonObject rating = new JsonObject();
+            rating.addProperty("category", category);
+            rating.addProperty("probability", "NEGLIGIBLE");
+            safetyRatings.add(rating);
+        }
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        candidate.add("safetyRatings", safetyRatings);
+        candidate.addProperty("avgLogprobs", -0.1834);
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+
+        JsonObject usage = new JsonObject();
+        usage.addProperty("promptTokenCount", 812);
+        usage.addProperty("candidatesTokenCount", modelText.length() / 2);
+        usage.addProperty("totalTokenCount", 812 + modelText.length() / 2);
+
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        response.add("usageMetadata", usage);
+        response.addProperty("modelVersion", "gemini-2.5-flash");
+        return response.toString();
+    }
+
+    private static ChatMessage message(long id, ChatMessage.MessageRole role, String content) {
+        ChatMessage message = new ChatMessage(null, role, content);
+        message.setId(id);
+        message.setCreatedAt(LocalDateTime.of(2026, 10, 1, 9, 0).plusMinutes(id));
+        return message;
+    }
+
+    record CheckIn(long id, LocalDate date, int stressLevel, List<String> causes) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.client.WebPushSender;
+import nl.martijndwars.webpush.Encoding;
+import nl.martijndwars.webpush.Notification;
+import nl.martijndwars.webpush.PushAsyncService;
+import nl.martijndwars.webpush.Utils;
+import org.asynchttpclient.Dsl;
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.interfaces.ECPrivateKey;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 1건의 요청 생성(CPU) 비용: 라이브러리 PushAsyncService vs WebPushSender
+ * 두 경우 모두 HTTP 전송 직전까지만 수행합니다. (preparePost / prepare)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebPushSenderBenchmark {
+
+    private static final String ENDPOINT = "https://fcm.googleapis.com/fcm/send/benchmark";
+    private static final String PAYLOAD = "{\"title\": \"🧘 SoftDay 스트레스 알림\", "
+            + "\"body\": \"최근 7일간 평균 스트레스가 4.5로 높습니다. 오늘 하루 마음을 챙겨보세요.\", \"url\": \"/statistics\"}";
+
+    private PushAsyncService library;
+    private WebPushSender sender;
+    private String p256dh;
+    private String auth;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(new BouncyCastleProvider());
+        KeyPair vapid = generateKeyPair();
+        String publicKey = encode(Utils.encode((ECPublicKey) vapid.getPublic()));
+        String privateKey = encode(((ECPrivateKey) vapid.getPrivate()).getD().toByteArray());
+        p256dh = encode(Utils.encode((ECPublicKey) generateKeyPair().getPublic()));
+        byte[] authBytes = new byte[16];
+        new SecureRandom().nextBytes(authBytes);
+        auth = encode(authBytes);
+
+        library = new PushAsyncService(publicKey, privateKey, "mailto:admin@softday.com");
+        sender = new WebPushSender(publicKey, privateKey, "mailto:admin@softday.com",
+                43200, 3600, 2419200, 1000, Dsl.asyncHttpClient());
+    }
+
+    @Benchmark
+    public Object libraryPerNotification() throws Exception {
+        return library.preparePost(new Notification(ENDPOINT, p256dh, auth, PAYLOAD), Encoding.AES128GCM);
+    }
+
+    @Benchmark
+    public Object cachedPerNotification() throws Exception {
+        return sender.prepare(ENDPOINT, p256dh, auth, PAYLOAD);
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("ECDH", "BC");
+        generator.initialize(ECNamedCurveTable.getParameterSpec("prime256v1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
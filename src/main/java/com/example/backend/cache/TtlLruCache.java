@@ -0,0 +1,159 @@
+package com.example.backend.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기 제한(근사 LRU) + 만료 시간(TTL)을 가진 단순 인메모리 캐시
+ * - maxEntries를 넘으면 만료된 항목과 가장 오래 사용되지 않은 항목부터 제거 (한 번에 약 10%씩 정리)
+ * - ttl이 지난 항목은 조회 시점에 제거되고 miss로 집계
+ * [수정] 인증 필터(PrincipalCache)가 요청마다 조회하므로 전체 메서드 동기화 대신 ConcurrentHashMap 사용
+ * 조회는 락 없이 항목의 마지막 사용 시각만 갱신하고, 크기 초과 시의 정리만 한 스레드가 맡습니다.
+ * 정리 중에 들어온 put은 기다리지 않으므로 잠시 maxEntries를 조금 넘을 수 있습니다.
+ */
+public class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final int trimTo; // 정리 후 남길 항목 수 (put마다 정렬하지 않도록 여유를 둠)
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public TtlLruCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.trimTo = maxEntries - Math.max(1, maxEntries / 10);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * 캐시 조회 (없거나 만료되었으면 null)
+     */
+    public V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.createdAt >= ttlNanos) {
+            // 그 사이 새 값으로 교체되었으면 지우지 않음
+            if (map.remove(key, entry)) {
+                expirations.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.lastAccess = now;
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        map.put(key, new Entry<>(value, System.nanoTime()));
+        if (map.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    public void invalidate(K key) {
+        map.remove(key);
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public long expirations() {
+        return expirations.get();
+    }
+
+    /**
+     * 적중률 (조회가 한 번도 없으면 0)
+     */
+    public double hitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * 만료된 항목을 먼저 지우고, 그래도 많으면 마지막 사용 시각이 오래된 순으로 trimTo까지 제거
+     * 이미 다른 스레드가 정리 중이면 바로 반환
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (map.size() <= maxEntries) {
+                return;
+            }
+            long now = System.nanoTime();
+            List<Map.Entry<K, Entry<V>>> live = new ArrayList<>(map.size());
+            for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+                if (now - e.getValue().createdAt >= ttlNanos) {
+                    if (map.remove(e.getKey(), e.getValue())) {
+                        expirations.incrementAndGet();
+                    }
+                } else {
+                    live.add(e);
+                }
+            }
+            int excess = map.size() - trimTo;
+            if (excess <= 0) {
+                return;
+            }
+            live.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (int i = 0; i < live.size() && excess > 0; i++) {
+                Map.Entry<K, Entry<V>> e = live.get(i);
+                if (map.remove(e.getKey(), e.getValue())) {
+                    evictions.incrementAndGet();
+                    excess--;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private volatile long lastAccess;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.lastAccess = createdAt;
+        }
+    }
+}
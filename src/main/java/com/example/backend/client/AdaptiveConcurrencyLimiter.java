@@ -0,0 +1,93 @@
+package com.example.backend.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * [신규] 관측 지연 시간 기반 동시 호출 제한 (AIMD)
+ * - 기준 지연 시간 = 성공한 시도 지연 시간(시도 시작 → 응답 완료, 스트리밍도 동일)의 느린 이동 평균 (EWMA)
+ * - 지연 시간이 기준의 latencyTolerance배 이하이고 제한의 절반 이상을 쓰고 있으면 제한 +1/limit (천천히 증가)
+ * - 기준보다 크게 느리거나 과부하 신호(429/503, 타임아웃)가 오면 제한 × backoffRatio (빠르게 감소)
+ * 제한을 넘는 호출은 대기열에 쌓지 않고 즉시 거절(shed)합니다.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_ALPHA = 0.05;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+
+    private long acquired;
+    private long shed;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    /**
+     * @return 허가되면 true (호출이 끝나면 release), 제한에 걸리면 false
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            shed++;
+            return false;
+        }
+        inFlight++;
+        acquired++;
+        return true;
+    }
+
+    public synchronized void release() {
+        if (inFlight > 0) {
+            inFlight--;
+        }
+    }
+
+    /**
+     * 성공한 시도의 지연 시간 반영
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        baselineNanos = baselineNanos == 0 ? latencyNanos
+                : baselineNanos + (latencyNanos - baselineNanos) * BASELINE_ALPHA;
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * 과부하 신호 (429/503, 네트워크 오류, 마감 시간 초과)
+     */
+    public synchronized void onOverload() {
+        decrease();
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("limit", (int) limit);
+        snapshot.put("inFlight", inFlight);
+        snapshot.put("baselineLatencyMs", TimeUnit.NANOSECONDS.toMillis((long) baselineNanos));
+        snapshot.put("acquired", acquired);
+        snapshot.put("shed", shed);
+        return snapshot;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+}
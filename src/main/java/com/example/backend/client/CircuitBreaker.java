@@ -0,0 +1,186 @@
+package com.example.backend.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * [신규] Gemini 호출용 서킷 브레이커 (시도 단위 성공/실패 기록)
+ * - CLOSED    : 최근 windowSize번 시도 중 실패율이 threshold 이상이면(최소 minimumCalls번 이후) OPEN
+ * - OPEN      : openDuration 동안 모든 호출을 즉시 거절 (재시도도 예약하지 않음)
+ * - HALF_OPEN : 시험 호출을 halfOpenCalls개까지만 허용, 연속 halfOpenCalls번 성공하면 CLOSED, 한 번이라도 실패하면 다시 OPEN
+ * 실패 = 429/503, 네트워크 오류, 마감 시간 초과 (400 등 요청 자체의 오류는 기록하지 않음)
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // 최근 시도 결과 링 버퍼 (true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    // HALF_OPEN 단계 번호 (이전 단계에서 허용된 호출이 끝날 때 현재 단계의 시험 호출 수를 줄이지 않도록)
+    private long halfOpenPhase;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    private long openedCount;
+    private long halfOpenedCount;
+    private long rejectedCount;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMillis, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDurationMillis, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   long openDurationMillis, int halfOpenCalls, LongSupplier nanoClock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.nanoClock = nanoClock;
+        this.window = new boolean[this.windowSize];
+    }
+
+    /**
+     * 호출 시작 허가
+     * @return 허가 (호출이 끝나면 release), 거절이면 null
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openUntilNanos >= 0) {
+            transitionToHalfOpen();
+        }
+        switch (state) {
+            case CLOSED -> {
+                return Permit.NORMAL;
+            }
+            case HALF_OPEN -> {
+                if (halfOpenInFlight < halfOpenCalls) {
+                    halfOpenInFlight++;
+                    return new Permit(halfOpenPhase);
+                }
+            }
+            default -> {
+            }
+        }
+        rejectedCount++;
+        return null;
+    }
+
+    /**
+     * 호출 종료 (성공/실패/취소 모두)
+     */
+    public synchronized void release(Permit permit) {
+        if (permit != Permit.NORMAL && state == State.HALF_OPEN && permit.phase == halfOpenPhase) {
+            halfOpenInFlight--;
+        }
+    }
+
+    /**
+     * 실패한 시도를 다시 시도해도 되는지 (CLOSED일 때만)
+     */
+    public synchronized boolean allowsRetry() {
+        return state == State.CLOSED;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionToOpen();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                transitionToOpen();
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state.name());
+        snapshot.put("failureRate", windowCount == 0 ? 0.0 : (double) windowFailures / windowCount);
+        snapshot.put("bufferedCalls", windowCount);
+        snapshot.put("opened", openedCount);
+        snapshot.put("halfOpened", halfOpenedCount);
+        snapshot.put("rejected", rejectedCount);
+        return snapshot;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transitionToOpen() {
+        state = State.OPEN;
+        openUntilNanos = nanoClock.getAsLong() + openDurationNanos;
+        openedCount++;
+        resetWindow();
+    }
+
+    private void transitionToHalfOpen() {
+        state = State.HALF_OPEN;
+        halfOpenPhase++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        halfOpenedCount++;
+    }
+
+    /**
+     * 호출 허가 (HALF_OPEN 시험 호출이면 단계 번호를 가짐)
+     */
+    public static final class Permit {
+
+        private static final Permit NORMAL = new Permit(-1);
+
+        private final long phase;
+
+        private Permit(long phase) {
+            this.phase = phase;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.client;
+
+/**
+ * Gemini API 호출 실패 (HTTP 오류 응답, 응답 형식 오류, 마감 시간 초과 등)
+ * statusCode는 HTTP 응답을 받지 못한 경우 -1
+ * [수정] overload: 과부하 신호(429/503, 네트워크 오류, 마감 시간 초과) 여부 - 응답 형식 오류 등 -1인 다른 실패와 구분
+ */
+public class GeminiApiException extends RuntimeException {
+
+    private final int statusCode;
+    private final boolean overload;
+
+    public GeminiApiException(String message) {
+        this(message, -1, null);
+    }
+
+    public GeminiApiException(String message, int statusCode) {
+        this(message, statusCode, null);
+    }
+
+    public GeminiApiException(String message, int statusCode, Throwable cause) {
+        this(message, statusCode, cause, statusCode == 429 || statusCode == 503);
+    }
+
+    private GeminiApiException(String message, int statusCode, Throwable cause, boolean overload) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.overload = overload;
+    }
+
+    /**
+     * [신규] HTTP 응답 없이 끝난 과부하 실패 (네트워크 오류, 마감 시간 초과)
+     */
+    public static GeminiApiException overload(String message, Throwable cause) {
+        return new GeminiApiException(message, -1, cause, true);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isOverload() {
+        return overload;
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.backend.client;
+
+import com.example.backend.config.GeminiConfig;
+import com.example.backend.metrics.MetricsSource;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChatService와 AnalysisService가 공유하는 비동기 Gemini 클라이언트
+ * - 하나의 커넥션 풀(HTTP/2 멀티플렉싱)을 모든 호출이 함께 사용
+ * - 429/503/네트워크 오류 시 지터가 적용된 지수 백오프로 재시도하되, 대기는 스케줄러에 예약 (스레드가 sleep 하지 않음)
+ * - 호출마다 전체 마감 시간(deadline)이 있어, 초과 시 진행 중인 요청을 취소하고 실패로 완료
+ * [신규] 과부하 보호 - 모든 호출(일반/스트리밍)은 시작 전에
+ * 1) 서킷 브레이커 (429/503/타임아웃이 이어지면 OPEN: 호출도 재시도도 하지 않음)
+ * 2) 적응형 동시 호출 제한 (관측 지연 시간 기반)
+ * 을 통과해야 하며, 거절되면 HTTP 요청 없이 GeminiUnavailableException으로 즉시 실패합니다.
+ */
+@Component
+public class GeminiClient implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiClient.class);
+    private static final okhttp3.MediaType JSON = okhttp3.MediaType.get("application/json; charset=utf-8");
+
+    private final GeminiConfig geminiConfig;
+    private final OkHttpClient httpClient;
+    private final WebClient webClient; // 스트리밍(SSE) 호출용
+    private final ScheduledExecutorService scheduler; // 재시도 예약 및 마감 시간 감시
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public GeminiClient(GeminiConfig geminiConfig, WebClient.Builder webClientBuilder) {
+        this.geminiConfig = geminiConfig;
+        this.circuitBreaker = new CircuitBreaker(geminiConfig.breakerWindowSize, geminiConfig.breakerMinimumCalls,
+                geminiConfig.breakerFailureRateThreshold, TimeUnit.SECONDS.toMillis(geminiConfig.breakerOpenSeconds),
+                geminiConfig.breakerHalfOpenCalls);
+        this.limiter = new AdaptiveConcurrencyLimiter(geminiConfig.limiterInitialLimit, geminiConfig.limiterMinLimit,
+                geminiConfig.maxConcurrentRequests, geminiConfig.limiterLatencyTolerance);
+
+        // 모든 요청이 같은 호스트로 가므로 호스트당 제한(기본 5)을 전체 제한과 동일하게 맞춤
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(geminiConfig.maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(geminiConfig.maxConcurrentRequests);
+
+        this.httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        geminiConfig.maxIdleConnections, geminiConfig.keepAliveSeconds, TimeUnit.SECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(geminiConfig.connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(geminiConfig.attemptTimeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(geminiConfig.attemptTimeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+
+        HttpClient streamingHttpClient = HttpClient.create(ConnectionProvider.builder("gemini-stream")
+                        .maxConnections(geminiConfig.maxConcurrentRequests)
+                        .maxIdleTime(Duration.ofSeconds(geminiConfig.keepAliveSeconds))
+                        .build())
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) geminiConfig.connectTimeoutMs);
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(streamingHttpClient))
+                .build();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gemini-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * generateContent 호출 (기본 마감 시간 적용)
+     * @param requestBody Gemini 요청 JSON
+     * @return candidates[0].content.parts[0].text 로 완료되는 future
+     */
+    public CompletableFuture<String> generate(String requestBody) {
+        return generate(requestBody, Duration.ofMillis(geminiConfig.deadlineMs));
+    }
+
+    /**
+     * generateContent 호출 (호출별 마감 시간 지정)
+     * 반환된 future를 cancel 하면 진행 중인 HTTP 요청도 취소됩니다.
+     * [수정] 서킷 브레이커/동시 호출 제한에 걸리면 GeminiUnavailableException으로 이미 실패한 future 반환
+     */
+    public CompletableFuture<String> generate(String requestBody, Duration deadline) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        CircuitBreaker.Permit permit;
+        try {
+            permit = admit();
+        } catch (GeminiUnavailableException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((text, error) -> release(permit));
+        try {
+            Request request = new Request.Builder()
+                    .url(endpoint(geminiConfig.apiUrl))
+                    .post(RequestBody.create(requestBody, JSON))
+                    .build();
+            new PendingCall(request, result, deadline).start();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * generate의 Mono 버전 (구독 시점에 호출, 구독 취소 시 요청 취소)
+     */
+    public Mono<String> generateMono(String requestBody) {
+        return Mono.fromFuture(() -> generate(requestBody));
+    }
+
+    /**
+     * streamGenerateContent(SSE) 호출
+     * 도착하는 이벤트마다 텍스트 조각을 방출합니다.
+     * [수정] 첫 이벤트를 받기 전의 과부하 실패(429/503, 네트워크 오류, 시도 타임아웃)는 generate와 같은 기준으로 백오프 후 재시도
+     * (첫 이벤트 이후에는 조각이 중복되므로 재시도하지 않음)
+     * 전체 마감 시간(deadline)은 이벤트 사이 간격이 아닌 호출 시작부터의 총 시간 - 느리게 이어지는 스트림도 끊습니다.
+     * [수정] 구독 시점에 서킷 브레이커/동시 호출 제한을 통과해야 하며, 스트림이 끝날 때(취소 포함) 반납
+     * [수정] 동시 호출 제한에는 generate와 같은 기준(시도 시작 → 응답 완료)의 지연 시간을 반영
+     * (첫 조각까지의 시간과 섞이면 하나의 기준 지연 시간이 흔들림)
+     */
+    public Flux<String> streamGenerate(String requestBody) {
+        String url;
+        try {
+            url = endpoint(geminiConfig.streamUrl) + "&alt=sse";
+        } catch (GeminiApiException e) {
+            return Flux.error(e);
+        }
+
+        return Flux.defer(() -> {
+            CircuitBreaker.Permit permit = admit();
+            AtomicLong attemptStartNanos = new AtomicLong();
+            return stream(url, requestBody, () -> attemptStartNanos.set(System.nanoTime()))
+                    .doOnComplete(() -> recordSuccess(System.nanoTime() - attemptStartNanos.get()))
+                    .doFinally(signal -> release(permit));
+        });
+    }
+
+    /**
+     * @param onAttempt 시도(재시도 포함)마다 구독 직전에 호출
+     * 과부하 실패는 시도마다 서킷 브레이커/동시 호출 제한에 기록 (generate와 같음)
+     */
+    private Flux<String> stream(String url, String requestBody, Runnable onAttempt) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(geminiConfig.deadlineMs);
+        AtomicBoolean received = new AtomicBoolean();
+        return webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .doOnSubscribe(subscription -> onAttempt.run())
+                // 시도 타임아웃: 첫 이벤트가 attemptTimeoutMs 안에 오지 않으면 실패 (generate의 시도별 Call 타임아웃과 같은 역할)
+                .timeout(Mono.delay(Duration.ofMillis(geminiConfig.attemptTimeoutMs)), event -> Mono.never())
+                .doOnNext(event -> received.set(true))
+                .doOnError(e -> {
+                    if (isOverloadSignal(e)) {
+                        recordOverload();
+                    }
+                })
+                .retryWhen(Retry.backoff(geminiConfig.maxAttempts - 1, Duration.ofMillis(geminiConfig.initialBackoffMs))
+                        .maxBackoff(Duration.ofMillis(geminiConfig.maxBackoffMs))
+                        .jitter(0.5)
+                        .filter(e -> isOverloadSignal(e) && !received.get() && circuitBreaker.allowsRetry())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                // 전체 마감 시간: 첫 이벤트와 이후 이벤트 모두 호출 시작 기준 남은 시간 안에 와야 함
+                .timeout(Mono.delay(Duration.ofMillis(geminiConfig.deadlineMs)),
+                        event -> Mono.delay(Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()))),
+                        Flux.defer(() -> {
+                            recordOverload();
+                            return Flux.error(GeminiApiException.overload(
+                                    "Gemini 스트리밍 마감 시간 초과 (" + geminiConfig.deadlineMs + "ms)", null));
+                        }))
+                .mapNotNull(ServerSentEvent::data)
+                .map(eventJson -> extractText(eventJson, true));
+    }
+
+    /**
+     * Gemini 응답 JSON에서 candidates[0].content.parts[0].text 추출
+     * [수정] Gson 트리 대신 GeminiResponseParser 토큰 스트림 (텍스트까지만 읽음)
+     * @param allowEmpty 스트리밍 이벤트처럼 텍스트가 없을 수 있는 경우 true (빈 문자열 반환)
+     */
+    private String extractText(String responseBody, boolean allowEmpty) {
+        String text = GeminiResponseParser.extractText(responseBody);
+        if (text != null) {
+            return text;
+        }
+        if (allowEmpty) {
+            return "";
+        }
+        throw new GeminiApiException("응답에서 텍스트를 찾지 못했습니다. 원본: " + responseBody);
+    }
+
+    private String endpoint(String url) {
+        String apiKey = geminiConfig.apiKey;
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("YOUR_GEMINI_API_KEY_HERE")) {
+            throw new GeminiApiException("API 키가 올바르게 설정되지 않았습니다. application.properties를 확인하세요.");
+        }
+        return url + "?key=" + apiKey;
+    }
+
+    private static boolean isRetryableStatus(int code) {
+        return code == 429 || code == 503;
+    }
+
+    /**
+     * 서킷 브레이커 → 동시 호출 제한 순서로 허가 (둘 다 통과해야 호출)
+     * @throws GeminiUnavailableException 거절된 경우
+     */
+    private CircuitBreaker.Permit admit() {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            logger.debug("서킷 브레이커 OPEN - Gemini 호출 거절");
+            throw new GeminiUnavailableException(GeminiUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.release(permit);
+            logger.debug("동시 호출 제한({}) 초과 - Gemini 호출 거절", limiter.limit());
+            throw new GeminiUnavailableException(GeminiUnavailableException.Reason.CONCURRENCY_LIMIT);
+        }
+        return permit;
+    }
+
+    private void release(CircuitBreaker.Permit permit) {
+        limiter.release();
+        circuitBreaker.release(permit);
+    }
+
+    private void recordSuccess(long latencyNanos) {
+        circuitBreaker.onSuccess();
+        limiter.onSuccess(latencyNanos);
+    }
+
+    private void recordOverload() {
+        circuitBreaker.onFailure();
+        limiter.onOverload();
+    }
+
+    /**
+     * 스트리밍 오류 중 과부하 신호 = 재시도 대상 (429/503, 네트워크 오류, 시도 타임아웃)
+     * generate의 재시도 기준(429/503 응답, OkHttp IOException)과 같음
+     */
+    private static boolean isOverloadSignal(Throwable e) {
+        return (e instanceof WebClientResponseException w && isRetryableStatus(w.getStatusCode().value()))
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+
+    @Override
+    public String name() {
+        return "geminiClient";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("circuitBreaker", circuitBreaker.snapshot());
+        snapshot.put("limiter", limiter.snapshot());
+        return snapshot;
+    }
+
+    /**
+     * 지수 백오프 + equal jitter: [base/2, base) 구간에서 무작위
+     */
+    private long backoffDelayMs(int attempt) {
+        long base = Math.min(geminiConfig.maxBackoffMs, geminiConfig.initialBackoffMs << Math.min(attempt, 20));
+        long half = Math.max(1, base / 2);
+        return half + ThreadLocalRandom.current().nextLong(half);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * 호출 1건의 상태 (시도 횟수, 현재 진행 중인 Call, 마감 시간)
+     */
+    private final class PendingCall implements Callback {
+
+        private final Request request;
+        private final CompletableFuture<String> result;
+        private final long deadlineNanos;
+        private final ScheduledFuture<?> deadlineTask;
+        private volatile Call current;
+        private volatile long attemptStartNanos;
+        private int attempt = 0;
+
+        PendingCall(Request request, CompletableFuture<String> result, Duration deadline) {
+            this.request = request;
+            this.result = result;
+            this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+            // 마감 시간이 지나면 진행 중인 요청을 취소하고 실패로 완료 (과부하 신호로 기록)
+            this.deadlineTask = scheduler.schedule(() -> {
+                if (result.completeExceptionally(
+                        GeminiApiException.overload("Gemini 호출 마감 시간 초과 (" + deadline.toMillis() + "ms)", null))) {
+                    recordOverload();
+                }
+            }, deadline.toMillis(), TimeUnit.MILLISECONDS);
+
+            // 완료(성공/실패/호출자 취소) 시 정리
+            result.whenComplete((text, error) -> {
+                deadlineTask.cancel(false);
+                Call call = current;
+                if (error != null && call != null) {
+                    call.cancel();
+                }
+            });
+        }
+
+        void start() {
+            if (result.isDone()) {
+                return;
+            }
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            Call call = httpClient.newCall(request);
+            call.timeout().timeout(Math.max(1, Math.min(geminiConfig.attemptTimeoutMs, remainingMs)), TimeUnit.MILLISECONDS);
+            current = call;
+            attemptStartNanos = System.nanoTime();
+            call.enqueue(this);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            try (ResponseBody body = response.body()) {
+                int code = response.code();
+                String responseBody = body != null ? body.string() : "";
+                logger.info("Gemini API 응답 상태 코드: {} (시도 {}회)", code, attempt + 1);
+                logger.debug("Gemini API 응답 바디: {}", responseBody);
+
+                if (response.isSuccessful()) {
+                    recordSuccess(System.nanoTime() - attemptStartNanos);
+                    result.complete(extractText(responseBody, false));
+                } else if (isRetryableStatus(code)) {
+                    recordOverload();
+                    retryOrFail(new GeminiApiException("API 호출 실패: " + code + " - " + responseBody, code),
+                            retryAfterMs(response));
+                } else {
+                    // 기타 실패 (404, 400 등)는 즉시 실패
+                    result.completeExceptionally(new GeminiApiException("API 호출 실패: " + code + " - " + responseBody, code));
+                }
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            if (result.isDone()) {
+                return; // 마감/취소로 인해 끊긴 요청
+            }
+            recordOverload();
+            retryOrFail(GeminiApiException.overload("API 호출 중 네트워크 오류: " + e.getMessage(), e), 0);
+        }
+
+        private void retryOrFail(GeminiApiException failure, long minDelayMs) {
+            attempt++;
+            long delayMs = Math.max(backoffDelayMs(attempt - 1), minDelayMs);
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+
+            // [수정] 서킷 브레이커가 열렸으면 재시도를 예약하지 않고 바로 실패
+            if (attempt >= geminiConfig.maxAttempts || delayMs >= remainingMs || !circuitBreaker.allowsRetry()) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            logger.warn("{} -> {}ms 후 재시도합니다. ({}/{})",
+                    failure.getMessage(), delayMs, attempt + 1, geminiConfig.maxAttempts);
+            scheduler.schedule(this::start, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private long retryAfterMs(Response response) {
+            String retryAfter = response.header("Retry-After");
+            if (retryAfter == null) {
+                return 0;
+            }
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.backend.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * [신규] Gemini 응답 스트리밍 파서 (Jackson 토큰 스트림)
+ * Gson 트리(JsonObject)를 만들지 않고 필요한 값까지만 토큰을 읽고, 나머지 값은 skipChildren으로 건너뜁니다.
+ * - extractText      : 응답 봉투에서 candidates[0].content.parts[0].text (또는 error.message)
+ * - readStringFields : 모델이 쓴 텍스트 안의 JSON 객체에서 지정한 필드 값 (```json 등 앞뒤 잡음 허용)
+ * JsonFactory는 스레드 안전하므로 공유하고, 파서는 호출마다 만듭니다.
+ */
+public final class GeminiResponseParser {
+
+    // API 응답 봉투는 표준 JSON
+    private static final JsonFactory ENVELOPE_FACTORY = new JsonFactory();
+
+    // 모델이 만든 JSON은 형식이 느슨할 수 있음 (문자열 안의 줄바꿈, 작은따옴표, 끝 쉼표 등 - 기존 Gson lenient 파싱과 같은 수준)
+    private static final JsonFactory MODEL_FACTORY = JsonFactory.builder()
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .build();
+
+    private GeminiResponseParser() {
+    }
+
+    /**
+     * 응답 봉투에서 첫 후보의 텍스트 추출 (텍스트를 찾으면 뒤쪽 usageMetadata 등은 읽지 않음)
+     * @return 텍스트, 없으면 null (스트리밍 이벤트 중 텍스트가 없는 이벤트 등)
+     * @throws GeminiApiException API 오류 응답("error") 또는 JSON 형식 오류
+     */
+    public static String extractText(String responseBody) {
+        try (JsonParser parser = ENVELOPE_FACTORY.createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new GeminiApiException("응답이 JSON 객체가 아닙니다. 원본: " + responseBody);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("candidates".equals(name) && value == JsonToken.START_ARRAY) {
+                    return readFirstCandidateText(parser);
+                }
+                if ("error".equals(name) && value == JsonToken.START_OBJECT) {
+                    String message = seekField(parser, "message") ? parser.getValueAsString() : null;
+                    throw new GeminiApiException("API 오류 발생: " + message);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new GeminiApiException("응답 JSON 파싱 실패: " + e.getMessage(), -1, e);
+        }
+    }
+
+    /**
+     * 모델 텍스트에서 첫 '{'부터 시작하는 JSON 객체를 읽어 names의 값을 같은 순서로 반환 (없는 필드는 null)
+     * 객체가 끝나면 더 읽지 않으므로 뒤에 붙은 ``` 등은 무시됩니다. 문자열을 잘라 복사하지 않습니다.
+     * @throws GeminiApiException JSON 객체가 없거나 형식이 잘못된 경우
+     */
+    public static String[] readStringFields(String modelText, String... names) {
+        int start = modelText.indexOf('{');
+        if (start == -1) {
+            throw new GeminiApiException("모델 응답에서 JSON 객체를 찾지 못했습니다: " + modelText);
+        }
+        String[] values = new String[names.length];
+        try (StringReader reader = new StringReader(modelText)) {
+            reader.skip(start);
+            try (JsonParser parser = MODEL_FACTORY.createParser(reader)) {
+                parser.nextToken(); // START_OBJECT
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int index = indexOf(names, parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (index >= 0 && value.isScalarValue()) {
+                        values[index] = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new GeminiApiException("모델 응답 JSON 파싱 실패: " + e.getMessage(), -1, e);
+        }
+        return values;
+    }
+
+    /**
+     * candidates 배열 시작 위치에서 [0].content.parts[0].text 까지 내려감 (경로가 없으면 null)
+     */
+    private static String readFirstCandidateText(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "content") || parser.currentToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "parts") || parser.currentToken() != JsonToken.START_ARRAY
+                || parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "text") || parser.currentToken() != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * 현재 객체(START_OBJECT 직후)에서 name 필드를 찾아 값 토큰으로 이동 - 다른 필드 값은 건너뜀
+     * @return 찾았으면 true, 객체가 끝났으면 false
+     */
+    private static boolean seekField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean found = name.equals(parser.currentName());
+            parser.nextToken();
+            if (found) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
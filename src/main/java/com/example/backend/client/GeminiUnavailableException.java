@@ -0,0 +1,21 @@
+package com.example.backend.client;
+
+/**
+ * [신규] Gemini를 호출하지 않고 즉시 거절된 경우 (서킷 브레이커 OPEN, 동시 호출 제한 초과)
+ * HTTP 요청을 보내지 않았으므로 호출 측은 대체 응답으로 바로 처리할 수 있습니다.
+ */
+public class GeminiUnavailableException extends GeminiApiException {
+
+    public enum Reason { CIRCUIT_OPEN, CONCURRENCY_LIMIT }
+
+    private final Reason reason;
+
+    public GeminiUnavailableException(Reason reason) {
+        super("Gemini 호출 거절: " + reason, 503);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
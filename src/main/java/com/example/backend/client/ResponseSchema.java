@@ -0,0 +1,109 @@
+package com.example.backend.client;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * [신규] Gemini 구조화 출력(JSON 스키마) 정의 + 타입 있는 레코드 변환
+ * - toGenerationConfig : 요청 바디의 generationConfig {responseMimeType: application/json, responseSchema: {...}}
+ * - parse              : 모델 텍스트 → 필드 값(GeminiResponseParser) → 레코드
+ * 모든 필드는 필수 문자열입니다. 스키마 모드가 꺼져 있어도 같은 parse를 쓰므로 ```json 등 앞뒤 잡음은 그대로 허용됩니다.
+ * 불변 객체라 레코드의 static 상수로 공유합니다.
+ */
+public final class ResponseSchema<T> {
+
+    private final String[] names;
+    private final Function<String[], T> factory;
+    private final JsonObject generationConfig;
+
+    private ResponseSchema(List<Field> fields, Function<String[], T> factory) {
+        this.names = fields.stream().map(Field::name).toArray(String[]::new);
+        this.factory = factory;
+
+        JsonObject properties = new JsonObject();
+        JsonArray required = new JsonArray();
+        for (Field field : fields) {
+            JsonObject property = new JsonObject();
+            property.addProperty("type", "STRING");
+            property.addProperty("description", field.description());
+            if (field.allowedValues().length > 0) {
+                JsonArray allowed = new JsonArray();
+                for (String value : field.allowedValues()) {
+                    allowed.add(value);
+                }
+                property.add("enum", allowed);
+            }
+            properties.add(field.name(), property);
+            required.add(field.name());
+        }
+
+        JsonObject schema = new JsonObject();
+        schema.addProperty("type", "OBJECT");
+        schema.add("properties", properties);
+        schema.add("required", required);
+        // 선언 순서대로 생성 (스트리밍에서 reply가 먼저 도착하도록)
+        schema.add("propertyOrdering", required.deepCopy());
+
+        this.generationConfig = new JsonObject();
+        generationConfig.addProperty("responseMimeType", "application/json");
+        generationConfig.add("responseSchema", schema);
+    }
+
+    public static <T> Builder<T> builder(Function<String[], T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * 요청 바디에 넣을 generationConfig (호출마다 복사본 - 호출 측에서 다른 설정을 추가해도 공유 객체는 그대로)
+     */
+    public JsonObject toGenerationConfig() {
+        return generationConfig.deepCopy();
+    }
+
+    /**
+     * 모델 텍스트에서 스키마 필드를 읽어 레코드로 변환
+     * @throws GeminiApiException 텍스트가 비었거나, JSON이 없거나, 필수 필드가 빠진 경우
+     */
+    public T parse(String modelText) {
+        if (modelText == null || modelText.isBlank()) {
+            throw new GeminiApiException("모델 응답이 비어 있습니다.");
+        }
+        String[] values = GeminiResponseParser.readStringFields(modelText, names);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new GeminiApiException("모델 응답에 필수 필드가 없습니다: " + names[i]);
+            }
+        }
+        return factory.apply(values);
+    }
+
+    private record Field(String name, String description, String[] allowedValues) {
+    }
+
+    public static final class Builder<T> {
+
+        private final Function<String[], T> factory;
+        private final List<Field> fields = new ArrayList<>();
+
+        private Builder(Function<String[], T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * 필수 문자열 필드 추가 (factory가 받는 배열의 순서 = 추가한 순서)
+         * @param allowedValues 비어 있지 않으면 스키마의 enum (모델 출력만 제한하고 parse에서는 검사하지 않음)
+         */
+        public Builder<T> field(String name, String description, String... allowedValues) {
+            fields.add(new Field(name, description, allowedValues));
+            return this;
+        }
+
+        public ResponseSchema<T> build() {
+            return new ResponseSchema<>(List.copyOf(fields), factory);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.backend.client;
+
+import com.example.backend.cache.TtlLruCache;
+import com.example.backend.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import nl.martijndwars.webpush.AbstractPushService;
+import nl.martijndwars.webpush.Base64Encoder;
+import nl.martijndwars.webpush.Encoding;
+import nl.martijndwars.webpush.Utils;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+import org.asynchttpclient.Dsl;
+import org.asynchttpclient.Response;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.lang.JoseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [신규] 웹 푸시 전송 클라이언트 (RFC 8291 aes128gcm + VAPID)
+ * web-push 라이브러리의 PushAsyncService는 알림마다 VAPID 키 쌍 검증, JWT 서명, 구독 공개키 파싱을 새로 하므로
+ * 같은 일을 하되 다음을 재사용합니다.
+ * - VAPID 키: 시작 시 한 번 파싱/검증
+ * - VAPID JWT(Authorization 헤더): 푸시 서비스 origin별로 유효 기간 동안 캐시 (만료 refresh-margin 전에 재서명)
+ * - 구독 키(p256dh, auth): 엔드포인트별로 파싱 결과 캐시
+ * 페이로드 암호화는 메시지마다 새 임시 키/salt가 필요하므로(RFC 8291) 캐시하지 않습니다.
+ */
+@Component
+public class WebPushSender implements MetricsSource {
+
+    private static final Encoding ENCODING = Encoding.AES128GCM;
+
+    private final PrivateKey vapidPrivateKey;
+    private final String vapidPublicKeyEncoded;
+    private final String subject;
+    private final long jwtValiditySeconds;
+    private final int ttlSeconds;
+    private final AsyncHttpClient httpClient;
+
+    // origin -> Authorization 헤더
+    private final TtlLruCache<String, String> vapidHeaders;
+    // endpoint -> 파싱된 구독 키
+    private final TtlLruCache<String, SubscriptionKeys> subscriptionKeys;
+    private final AtomicLong jwtSigned = new AtomicLong();
+
+    @Autowired
+    public WebPushSender(@Value("${vapid.public.key}") String vapidPublicKey,
+                         @Value("${vapid.private.key}") String vapidPrivateKey,
+                         @Value("${vapid.subject}") String subject,
+                         @Value("${push.vapid.jwt-validity-seconds:43200}") long jwtValiditySeconds,
+                         @Value("${push.vapid.jwt-refresh-margin-seconds:3600}") long jwtRefreshMarginSeconds,
+                         @Value("${push.ttl-seconds:2419200}") int ttlSeconds,
+                         @Value("${push.subscription-key-cache.max-entries:50000}") int keyCacheMaxEntries) throws GeneralSecurityException {
+        this(vapidPublicKey, vapidPrivateKey, subject, jwtValiditySeconds, jwtRefreshMarginSeconds,
+                ttlSeconds, keyCacheMaxEntries, Dsl.asyncHttpClient());
+    }
+
+    public WebPushSender(String vapidPublicKey, String vapidPrivateKey, String subject,
+                         long jwtValiditySeconds, long jwtRefreshMarginSeconds, int ttlSeconds,
+                         int keyCacheMaxEntries, AsyncHttpClient httpClient) throws GeneralSecurityException {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+        PublicKey publicKey = Utils.loadPublicKey(vapidPublicKey);
+        this.vapidPrivateKey = Utils.loadPrivateKey(vapidPrivateKey);
+        if (!Utils.verifyKeyPair(this.vapidPrivateKey, publicKey)) {
+            throw new IllegalStateException("VAPID 공개키와 개인키가 쌍이 아닙니다.");
+        }
+        this.vapidPublicKeyEncoded = Base64Encoder.encodeUrlWithoutPadding(Utils.encode((ECPublicKey) publicKey));
+        this.subject = subject;
+        this.jwtValiditySeconds = jwtValiditySeconds;
+        this.ttlSeconds = ttlSeconds;
+        this.httpClient = httpClient;
+        this.vapidHeaders = new TtlLruCache<>(1000, (jwtValiditySeconds - jwtRefreshMarginSeconds) * 1000L);
+        this.subscriptionKeys = new TtlLruCache<>(keyCacheMaxEntries, 24 * 60 * 60 * 1000L);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * 알림 1건 전송
+     * 암호화/서명 단계의 예외도 실패한 future로 돌려줍니다.
+     */
+    public CompletableFuture<Response> send(String endpoint, String p256dh, String auth, String payload) {
+        try {
+            PreparedPush push = prepare(endpoint, p256dh, auth, payload);
+            BoundRequestBuilder request = httpClient.preparePost(push.url());
+            push.headers().forEach(request::addHeader);
+            return request.setBody(push.body()).execute().toCompletableFuture();
+        } catch (GeneralSecurityException | JoseException | MalformedURLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 전송할 요청(URL, 헤더, 암호화된 본문) 생성 - 네트워크 호출 없음
+     */
+    public PreparedPush prepare(String endpoint, String p256dh, String auth, String payload)
+            throws GeneralSecurityException, JoseException, MalformedURLException {
+        SubscriptionKeys keys = subscriptionKeys(endpoint, p256dh, auth);
+        byte[] body = AbstractPushService.encrypt(payload.getBytes(StandardCharsets.UTF_8),
+                keys.publicKey(), keys.auth(), ENCODING).getCiphertext();
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("TTL", String.valueOf(ttlSeconds));
+        headers.put("Content-Type", "application/octet-stream");
+        headers.put("Content-Encoding", "aes128gcm");
+        headers.put("Authorization", vapidHeader(origin(endpoint)));
+        headers.put("Crypto-Key", "p256ecdsa=" + vapidPublicKeyEncoded);
+
+        // FCM은 aes128gcm 요청을 /wp 경로로 받음 (라이브러리와 동일)
+        String url = endpoint.startsWith("https://fcm.googleapis.com") ? endpoint.replace("fcm/send", "wp") : endpoint;
+        return new PreparedPush(url, headers, body);
+    }
+
+    private SubscriptionKeys subscriptionKeys(String endpoint, String p256dh, String auth) throws GeneralSecurityException {
+        SubscriptionKeys cached = subscriptionKeys.get(endpoint);
+        // 같은 엔드포인트로 다시 구독해 키가 바뀐 경우 다시 파싱
+        if (cached != null && cached.p256dh().equals(p256dh) && cached.authEncoded().equals(auth)) {
+            return cached;
+        }
+        SubscriptionKeys keys = new SubscriptionKeys(p256dh, auth,
+                (ECPublicKey) Utils.loadPublicKey(p256dh), Base64Encoder.decode(auth));
+        subscriptionKeys.put(endpoint, keys);
+        return keys;
+    }
+
+    private String vapidHeader(String origin) throws JoseException {
+        String cached = vapidHeaders.get(origin);
+        if (cached != null) {
+            return cached;
+        }
+        JwtClaims claims = new JwtClaims();
+        claims.setAudience(origin);
+        claims.setExpirationTime(NumericDate.fromSeconds(NumericDate.now().getValue() + jwtValiditySeconds));
+        if (subject != null) {
+            claims.setSubject(subject);
+        }
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setHeader("typ", "JWT");
+        jws.setPayload(claims.toJson());
+        jws.setKey(vapidPrivateKey);
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256);
+
+        String header = "vapid t=" + jws.getCompactSerialization() + ", k=" + vapidPublicKeyEncoded;
+        jwtSigned.incrementAndGet();
+        // 동시에 같은 origin을 서명하더라도 둘 다 유효한 JWT라 마지막 값이 남아도 무방
+        vapidHeaders.put(origin, header);
+        return header;
+    }
+
+    // scheme://host[:port] (JWT aud)
+    static String origin(String endpoint) throws MalformedURLException {
+        URL url = new URL(endpoint);
+        return url.getProtocol() + "://" + url.getHost() + (url.getPort() == -1 ? "" : ":" + url.getPort());
+    }
+
+    public long jwtSigned() {
+        return jwtSigned.get();
+    }
+
+    @Override
+    public String name() {
+        return "webPushSender";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("jwtSigned", jwtSigned.get());
+        snapshot.put("vapidHeaderHitRatio", vapidHeaders.hitRatio());
+        snapshot.put("subscriptionKeyCacheSize", subscriptionKeys.size());
+        snapshot.put("subscriptionKeyHitRatio", subscriptionKeys.hitRatio());
+        snapshot.put("subscriptionKeyEvictions", subscriptionKeys.evictions());
+        return snapshot;
+    }
+
+    public record PreparedPush(String url, Map<String, String> headers, byte[] body) {
+    }
+
+    private record SubscriptionKeys(String p256dh, String authEncoded, ECPublicKey publicKey, byte[] auth) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.backend.config;
+
+import com.example.backend.metrics.MetricsSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대화 분석 전용 실행기 (AnalysisService의 로드/저장 트랜잭션)
+ * - 대기열 크기 제한 + 가득 찼을 때의 정책
+ *   - drop-oldest : 가장 오래 기다린 작업을 버리고 새 작업을 대기열에 넣음 (버릴 작업이 없으면 새 작업을 버림)
+ *   - caller-runs : [수정] 호출 스레드 대신 전용 보조 스레드(analysis-fallback) 1개에서 실행
+ *                   (호출 측인 debounce 스케줄러 / Gemini 응답 콜백 스레드를 분석 작업으로 막지 않음, 보조 스레드도 밀리면 버림)
+ * - 대기열에서 밀려난 작업의 CompletableFuture는 CancellationException으로 완료
+ *   (호출 측이 완료를 영원히 기다리지 않도록)
+ */
+public class AnalysisTaskExecutor extends ThreadPoolTaskExecutor implements MetricsSource {
+
+    public enum RejectionPolicy {
+        DROP_OLDEST, CALLER_RUNS;
+
+        /**
+         * "drop-oldest", "caller-runs" 형태의 설정 값 변환
+         */
+        public static RejectionPolicy from(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    // caller-runs 정책의 보조 스레드 (대기열은 본 실행기와 같은 크기로 제한)
+    private volatile ThreadPoolExecutor fallbackExecutor;
+
+    public AnalysisTaskExecutor(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+        setRejectedExecutionHandler(new BackPressureHandler());
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        ThreadPoolExecutor fallback = fallbackExecutor;
+        if (fallback != null) {
+            fallback.shutdown();
+        }
+    }
+
+    /**
+     * AnalysisService가 로드/저장 단계를 제출하는 경로
+     * 기본 구현은 대기열에서 버려진 작업의 future를 완료시키지 못하므로 FutureTask로 감싸서 제출합니다.
+     */
+    @Override
+    public <T> CompletableFuture<T> submitCompletable(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(new CompletingFutureTask<>(task, result));
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> submitCompletable(Runnable task) {
+        return submitCompletable(Executors.callable(task, (Void) null));
+    }
+
+    @Override
+    public String name() {
+        return "analysisExecutor";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("rejectionPolicy", rejectionPolicy.name());
+        snapshot.put("activeThreads", getActiveCount());
+        snapshot.put("poolSize", getPoolSize());
+        snapshot.put("maxPoolSize", getMaxPoolSize());
+        snapshot.put("queueSize", getQueueSize());
+        snapshot.put("queueCapacity", getQueueCapacity());
+        snapshot.put("rejected", rejected.get());
+        snapshot.put("dropped", dropped.get());
+        snapshot.put("callerRuns", callerRuns.get());
+        return snapshot;
+    }
+
+    /**
+     * 대기열이 가득 찼을 때(또는 종료 중일 때) 호출
+     */
+    private class BackPressureHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            rejected.incrementAndGet();
+            if (executor.isShutdown()) {
+                cancel(task);
+                throw new RejectedExecutionException("Analysis executor is shut down");
+            }
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+                try {
+                    fallbackExecutor().execute(task);
+                    callerRuns.incrementAndGet();
+                } catch (RejectedExecutionException e) {
+                    dropped.incrementAndGet();
+                    cancel(task);
+                }
+                return;
+            }
+            // DROP_OLDEST: 가장 오래 기다린 작업을 버리고 새 작업을 넣음 - 한 번만 시도 (execute를 다시 호출하지 않음)
+            Runnable oldest = executor.getQueue().poll();
+            if (oldest != null) {
+                cancel(oldest);
+            }
+            if (oldest == null || !executor.getQueue().offer(task)) {
+                // 버릴 작업이 없거나(대기열 크기 0 등) 그 사이 다른 작업이 자리를 차지한 경우 → 새 작업을 버림
+                cancel(task);
+            }
+            dropped.incrementAndGet();
+        }
+
+        private ThreadPoolExecutor fallbackExecutor() {
+            ThreadPoolExecutor fallback = fallbackExecutor;
+            if (fallback == null) {
+                synchronized (this) {
+                    fallback = fallbackExecutor;
+                    if (fallback == null) {
+                        fallback = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                                new LinkedBlockingQueue<>(Math.max(1, getQueueCapacity())), r -> {
+                                    Thread thread = new Thread(r, "analysis-fallback");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                }, new ThreadPoolExecutor.AbortPolicy());
+                        fallbackExecutor = fallback;
+                    }
+                }
+            }
+            return fallback;
+        }
+
+        private void cancel(Runnable task) {
+            if (task instanceof Future<?> future) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 실행/취소 결과를 CompletableFuture로 전달하는 FutureTask
+     */
+    private static class CompletingFutureTask<T> extends FutureTask<T> {
+
+        private final CompletableFuture<T> result;
+
+        CompletingFutureTask(Callable<T> callable, CompletableFuture<T> result) {
+            super(callable);
+            this.result = result;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                result.completeExceptionally(new CancellationException("Dropped from analysis queue"));
+                return;
+            }
+            try {
+                result.complete(get());
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 실행기 설정
+ * 대화 분석의 DB 작업(로드/저장 트랜잭션)은 기본 실행기와 분리된 전용 풀에서 실행합니다.
+ * [수정] Gemini 호출은 이 풀의 스레드를 잡지 않습니다 (AnalysisService가 future로 이어 붙임)
+ * [수정] 전용 풀(analysisExecutor, chatCompletionExecutor)은 @Qualifier로 이름을 지정한 곳에서만 사용합니다.
+ * Executor 빈을 직접 등록하면 Spring Boot가 기본 applicationTaskExecutor를 만들지 않으므로 (@ConditionalOnMissingBean(Executor))
+ * 여기서 spring.task.execution.* 설정으로 직접 등록합니다.
+ * 등록하지 않으면 MVC 비동기 처리(SSE 스트리밍 응답 쓰기)가 쓰기마다 새 스레드를 만드는 SimpleAsyncTaskExecutor로 바뀝니다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String ANALYSIS_EXECUTOR = "analysisExecutor";
+    public static final String CHAT_COMPLETION_EXECUTOR = "chatCompletionExecutor";
+
+    /**
+     * [신규] Spring Boot 기본 실행기 (MVC 비동기 처리, @Async 기본값) - 크기 제한 풀
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = ANALYSIS_EXECUTOR)
+    public AnalysisTaskExecutor analysisExecutor(
+            @Value("${analysis.executor.core-size:2}") int coreSize,
+            @Value("${analysis.executor.max-size:4}") int maxSize,
+            @Value("${analysis.executor.queue-capacity:100}") int queueCapacity,
+            @Value("${analysis.executor.rejection-policy:drop-oldest}") String rejectionPolicy,
+            @Value("${analysis.executor.await-termination-seconds:30}") int awaitTerminationSeconds) {
+        AnalysisTaskExecutor executor = new AnalysisTaskExecutor(AnalysisTaskExecutor.RejectionPolicy.from(rejectionPolicy));
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        // 종료 시 새 작업은 받지 않고, 실행 중/대기 중인 분석은 최대 awaitTerminationSeconds 동안 마저 처리
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+
+    /**
+     * [신규] Gemini 응답 이후의 채팅 마무리(메시지 저장, 분석 요청) 전용 풀
+     * Gemini future는 OkHttp 콜백 스레드나 재시도/마감 스케줄러 스레드에서 완료되므로,
+     * 그 스레드에서 JPA 저장을 하면 DB가 느릴 때 진행 중인 모든 Gemini 호출의 재시도/마감이 함께 밀립니다.
+     * 대기열이 가득 차면 거절 (ChatService가 저장 없이 오류 응답으로 처리)
+     */
+    @Bean(name = CHAT_COMPLETION_EXECUTOR)
+    public ThreadPoolTaskExecutor chatCompletionExecutor(
+            @Value("${chat.completion-executor.pool-size:8}") int poolSize,
+            @Value("${chat.completion-executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chat-completion-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
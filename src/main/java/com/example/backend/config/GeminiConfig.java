@@ -20,6 +20,72 @@ public class GeminiConfig {
     @Value("${gemini.api.key}")
     public String apiKey;
 
-    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:generateContent}")
+    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent}")
     public String apiUrl;
+
+    // 스트리밍 응답용 엔드포인트 (SSE, 호출 시 ?alt=sse 추가)
+    @Value("${gemini.api.stream-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:streamGenerateContent}")
+    public String streamUrl;
+
+    // --- GeminiClient 튜닝 값 (ChatService, AnalysisService가 공유) ---
+
+    // 호출 1건의 전체 마감 시간 (재시도 포함)
+    @Value("${gemini.client.deadline-ms:60000}")
+    public long deadlineMs;
+
+    // 시도 1회당 타임아웃
+    @Value("${gemini.client.attempt-timeout-ms:30000}")
+    public long attemptTimeoutMs;
+
+    @Value("${gemini.client.connect-timeout-ms:5000}")
+    public long connectTimeoutMs;
+
+    // 429/503/타임아웃 시 최대 시도 횟수 (첫 시도 포함)
+    @Value("${gemini.client.max-attempts:3}")
+    public int maxAttempts;
+
+    // 지수 백오프 시작 값과 상한 (실제 대기 시간에는 지터가 적용됨)
+    @Value("${gemini.client.initial-backoff-ms:1000}")
+    public long initialBackoffMs;
+
+    @Value("${gemini.client.max-backoff-ms:8000}")
+    public long maxBackoffMs;
+
+    // 커넥션 풀 / 동시 요청 수
+    @Value("${gemini.client.max-idle-connections:10}")
+    public int maxIdleConnections;
+
+    @Value("${gemini.client.keep-alive-seconds:300}")
+    public long keepAliveSeconds;
+
+    @Value("${gemini.client.max-concurrent-requests:64}")
+    public int maxConcurrentRequests;
+
+    // --- [신규] 서킷 브레이커 (최근 window-size번 시도 중 실패율이 임계값 이상이면 open-seconds 동안 즉시 거절) ---
+    @Value("${gemini.circuit-breaker.window-size:20}")
+    public int breakerWindowSize;
+
+    @Value("${gemini.circuit-breaker.minimum-calls:10}")
+    public int breakerMinimumCalls;
+
+    @Value("${gemini.circuit-breaker.failure-rate-threshold:0.5}")
+    public double breakerFailureRateThreshold;
+
+    @Value("${gemini.circuit-breaker.open-seconds:30}")
+    public long breakerOpenSeconds;
+
+    // HALF_OPEN에서 허용할 시험 호출 수 (모두 성공하면 CLOSED)
+    @Value("${gemini.circuit-breaker.half-open-calls:3}")
+    public int breakerHalfOpenCalls;
+
+    // --- [신규] 적응형 동시 호출 제한 (상한은 max-concurrent-requests) ---
+    @Value("${gemini.limiter.initial-limit:16}")
+    public int limiterInitialLimit;
+
+    @Value("${gemini.limiter.min-limit:2}")
+    public int limiterMinLimit;
+
+    // 기준 지연 시간의 몇 배를 넘으면 제한을 줄일지
+    @Value("${gemini.limiter.latency-tolerance:2.0}")
+    public double limiterLatencyTolerance;
 }
\ No newline at end of file
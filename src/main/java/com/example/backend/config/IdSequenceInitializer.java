@@ -0,0 +1,48 @@
+package com.example.backend.config;
+
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.PushOutbox;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * [신규] ID 시퀀스 맞추기 (서버가 요청을 받기 전, 스키마 갱신 직후 실행)
+ * ID가 IDENTITY → SEQUENCE(pooled, allocationSize=50)로 바뀐 엔티티 (ChatMessage, [수정] PushOutbox)
+ * - 시퀀스 증가 폭이 allocationSize와 다르면 인스턴스 간 ID 범위가 겹치므로 INCREMENT BY를 맞추고
+ * - 기존 행(IDENTITY로 발급된 ID)과 겹치지 않도록 시퀀스를 MAX(id) 이후로 옮깁니다.
+ * 이미 맞춰져 있으면 시퀀스를 되돌리지 않습니다 (GREATEST).
+ */
+@Component
+@DependsOn("entityManagerFactory") // ddl-auto로 시퀀스가 만들어진 뒤 실행
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        align(ChatMessage.ID_SEQUENCE, "chat_message", "message_id", ChatMessage.ID_ALLOCATION_SIZE);
+        align(PushOutbox.ID_SEQUENCE, "push_outbox", "outbox_id", PushOutbox.ID_ALLOCATION_SIZE);
+    }
+
+    private void align(String sequence, String table, String idColumn, int allocationSize) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + allocationSize);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+        // 다음 nextval이 (MAX(id) + allocationSize) 보다 커지도록 - pooled 옵티마이저는 [값 - allocationSize + 1, 값] 범위를 사용
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', GREATEST(" +
+                        "(SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table + ") + ?, " +
+                        "(SELECT last_value FROM " + sequence + ")))",
+                Long.class, allocationSize);
+        logger.info("{} 시퀀스 정렬 완료 (현재 값 {}, 증가 폭 {})", sequence, value, allocationSize);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.backend.config;
 
 import com.example.backend.security.CustomUserDetailsService;
 import com.example.backend.security.JwtAuthenticationFilter;
+import com.example.backend.security.UserPrincipal;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -83,6 +85,8 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 세션을 사용하지 않는 Stateless 방식
                 .authorizeHttpRequests(authz -> authz // URL 경로별로 접근 권한 설정
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // 스트리밍/비동기 응답의 재디스패치(ASYNC, ERROR)는 최초 요청에서 이미 인증됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
 
                         .requestMatchers(
                                 "/api/auth/**",
@@ -94,6 +98,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/analytics/**").authenticated()
                         .requestMatchers("/api/routines/**").authenticated()
                         .requestMatchers("/api/notifications/**").authenticated()
+                        // [신규] 내부 운영 지표는 관리자만 조회
+                        .requestMatchers("/api/metrics/**").hasAuthority(UserPrincipal.ROLE_ADMIN)
                         .anyRequest().authenticated() // 나머지 요청은 인증 필요
                 );
         // JWT 필터 추가
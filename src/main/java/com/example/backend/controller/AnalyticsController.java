@@ -1,13 +1,16 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.DashboardDataResponse;
-import com.example.backend.service.AnalyticsService;
+import com.example.backend.security.CurrentUser;
+import com.example.backend.security.UserPrincipal;
+import com.example.backend.service.DashboardCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,40 +20,25 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AnalyticsController {
 
-    private final AnalyticsService analyticsService;
-
-    // DailyCheckInController에서 가져온 헬퍼 메서드
-    private String getEmailFromPrincipal(Object principal) {
-        if (principal == null) {
-            throw new IllegalArgumentException("Principal cannot be null");
-        }
-        if (principal instanceof UserDetails) {
-            return ((UserDetails) principal).getUsername();
-        } else if (principal instanceof String) {
-            return (String) principal;
-        }
-        throw new IllegalArgumentException("Cannot extract email from principal of type: " + principal.getClass());
-    }
+    private final DashboardCache dashboardCache; // [수정] 체크인 전까지 같은 응답을 재사용
 
     /**
      * 요청이 들어오면 메서드 실행 -> 데이터 가져와 ResponseEntity로 반환
      * GET /api/analytics/dashboard 요청을 처리
+     * [수정] ETag 응답 - 클라이언트가 If-None-Match로 같은 ETag를 보내면 본문 없이 304 (캐시 적중 시 DB 접근 없음)
      */
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardDataResponse> getDashboardData(
             @RequestParam(value = "period", defaultValue = "7") int period,
-            @AuthenticationPrincipal Object principal) { // @AuthenticationPrincipal을 통해 현재 인증된 사용자의 정보(이메일)를 가져옴
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser UserPrincipal user) { // [수정] 인증 필터가 만든 principal(사용자 ID 포함)을 그대로 사용 - 사용자 조회 없음
 
-        try {
-            String email = getEmailFromPrincipal(principal);
-            DashboardDataResponse data = analyticsService.getDashboardData(email, period);
-            return ResponseEntity.ok(data);
-        } catch (UsernameNotFoundException e) {
-            // 사용자를 찾을 수 없는 경우
-            return ResponseEntity.status(404).build();
-        } catch (IllegalArgumentException e) {
-            // 인증 정보가 잘못된 경우
-            return ResponseEntity.status(401).build();
+        DashboardCache.CachedDashboard data = dashboardCache.get(user.getId(), period);
+        // private: 사용자별 응답이므로 공유 캐시(프록시) 저장 금지, no-cache: 매번 ETag로 재검증
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (data.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(data.etag()).cacheControl(cacheControl).build();
         }
+        return ResponseEntity.ok().eTag(data.etag()).cacheControl(cacheControl).body(data.response());
     }
-}
\ No newline at end of file
+}
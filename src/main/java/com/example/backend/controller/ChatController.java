@@ -1,15 +1,26 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.ChatConversationSummary;
+import com.example.backend.dto.ChatMessageDto;
 import com.example.backend.dto.ChatRequest;
 import com.example.backend.dto.ChatResponse;
+import com.example.backend.dto.ChatStreamEvent;
+import com.example.backend.dto.CursorPage;
+import com.example.backend.security.CurrentUser;
+import com.example.backend.security.UserPrincipal;
+import com.example.backend.service.ChatHistoryService;
 import com.example.backend.service.ChatService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.format.DateTimeFormatter;
-import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 채팅 API 컨트롤러
@@ -28,23 +39,27 @@ public class ChatController {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
     private final ChatService chatService;
+    private final ChatHistoryService chatHistoryService;
 
     /**
-     * 생성자 - ChatService 주입
+     * 생성자 - ChatService, ChatHistoryService 주입
      */
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatHistoryService chatHistoryService) {
         this.chatService = chatService;
+        this.chatHistoryService = chatHistoryService;
     }
 
+    /**
+     * [수정] 비동기 응답 - Gemini 응답을 기다리는 동안 요청 스레드와 DB 커넥션을 반환합니다.
+     */
     @PostMapping("/send")
-    public ResponseEntity<ChatResponse> sendMessage(
-            @RequestBody ChatRequest request, Authentication authentication) {
+    public CompletableFuture<ResponseEntity<ChatResponse>> sendMessage(
+            @RequestBody ChatRequest request, @CurrentUser UserPrincipal principal) {
 
         logger.info("채팅 요청 수신 (Conv ID: {})", request.getConversationId());
 
-        String email = authentication.getName();
-        if(email == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (principal == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
         }
 
         // 유효성 검사 - 메시지가 비어있는지 확인
@@ -54,18 +69,18 @@ public class ChatController {
             errorResponse.setMessage("메시지 내용을 입력해주세요.");
             errorResponse.setTimestamp(getCurrentTimestamp());
 
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
-                    .body(errorResponse);
+                    .body(errorResponse));
         }
 
         try {
             // ChatService에서 응답 받기
-            ChatResponse response = chatService.chat(email, request.getMessage(), request.getConversationId());
-
-            logger.info("채팅 응답 전송 (Conv ID: {})", response.getConversationId());
-
-            return ResponseEntity.ok(response);
+            return chatService.chat(principal.getId(), request.getMessage(), request.getConversationId(), !request.isSkipCache())
+                    .thenApply(response -> {
+                        logger.info("채팅 응답 전송 (Conv ID: {})", response.getConversationId());
+                        return ResponseEntity.ok(response);
+                    });
 
         } catch (Exception e) {
             logger.error("요청 처리 중 서버 오류 발생", e);
@@ -75,12 +90,103 @@ public class ChatController {
             errorResponse.setTimestamp(getCurrentTimestamp());
 
             // 예상치 못한 서버 오류 (500 Internal Server Error)
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(errorResponse));
+        }
+    }
+
+    /**
+     * [신규] 스트리밍 채팅 (Server-Sent Events)
+     *
+     * POST /api/chat/stream
+     *
+     * 답변이 생성되는 대로 "delta" 이벤트로 조각을 보내고,
+     * 마지막에 "done" 이벤트로 최종 ChatResponse(감정, 원인, 대화 ID)를 보냅니다.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<ChatStreamEvent>>> streamMessage(
+            @RequestBody ChatRequest request, @CurrentUser UserPrincipal principal) {
+
+        logger.info("스트리밍 채팅 요청 수신 (Conv ID: {})", request.getConversationId());
+
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (request.getMessage() == null || request.getMessage().trim().isEmpty()) {
+            logger.warn("빈 메시지 요청됨");
+            ChatResponse errorResponse = new ChatResponse();
+            errorResponse.setMessage("메시지 내용을 입력해주세요.");
+            errorResponse.setTimestamp(getCurrentTimestamp());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Flux.just(toSse(ChatStreamEvent.error(errorResponse))));
+        }
+
+        try {
+            Flux<ServerSentEvent<ChatStreamEvent>> events = chatService
+                    .chatStream(principal.getId(), request.getMessage(), request.getConversationId())
+                    .map(this::toSse);
+
+            return ResponseEntity.ok(events);
+
+        } catch (Exception e) {
+            // 스트림 시작 전 단계(사용자/대화 로드)에서의 오류
+            logger.error("스트리밍 요청 처리 중 서버 오류 발생", e);
+
+            ChatResponse errorResponse = new ChatResponse();
+            errorResponse.setMessage("서버 내부 오류가 발생했습니다.");
+            errorResponse.setTimestamp(getCurrentTimestamp());
+
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(errorResponse);
+                    .body(Flux.just(toSse(ChatStreamEvent.error(errorResponse))));
         }
     }
 
+    /**
+     * [신규] 대화 목록 (최신순, 커서 페이지)
+     *
+     * GET /api/chat/conversations?cursor=&size=20
+     */
+    @GetMapping("/conversations")
+    public ResponseEntity<CursorPage<ChatConversationSummary>> getConversations(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @CurrentUser UserPrincipal principal) {
+        try {
+            return ResponseEntity.ok(chatHistoryService.listConversations(principal.getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * [신규] 대화 메시지 기록 (최근 메시지부터, 커서 페이지 - 페이지 안은 시간순)
+     *
+     * GET /api/chat/conversations/{conversationId}/messages?cursor=&size=20
+     */
+    @GetMapping("/conversations/{conversationId}/messages")
+    public ResponseEntity<CursorPage<ChatMessageDto>> getMessages(
+            @PathVariable Long conversationId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @CurrentUser UserPrincipal principal) {
+        try {
+            return ResponseEntity.ok(chatHistoryService.loadMessages(principal.getId(), conversationId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ServerSentEvent<ChatStreamEvent> toSse(ChatStreamEvent event) {
+        return ServerSentEvent.builder(event)
+                .event(event.getType())
+                .build();
+    }
+
     /**
      * API 헬스 체크
      *
@@ -0,0 +1,37 @@
+package com.example.backend.controller;
+
+import com.example.backend.metrics.MetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 캐시 적중률, 큐 길이 등 내부 운영 지표 조회
+ * [수정] 일반 사용자에게 내부 상태가 노출되지 않도록 ROLE_ADMIN만 접근 가능 (SecurityConfig, security.admin-emails)
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final List<MetricsSource> sources;
+
+    /**
+     * GET /api/metrics
+     * { "chatResponseCache": { "hits": 10, ... }, ... }
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Map<String, Object>>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        for (MetricsSource source : sources) {
+            metrics.put(source.name(), source.snapshot());
+        }
+        return ResponseEntity.ok(metrics);
+    }
+}
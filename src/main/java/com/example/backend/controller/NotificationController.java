@@ -2,11 +2,12 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.WebPushSubscriptionDto;
 import com.example.backend.scheduler.StressCheckScheduler;
+import com.example.backend.security.CurrentUser;
+import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.WebPushService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -29,10 +30,9 @@ public class NotificationController {
     @PostMapping("/subscribe")
     public ResponseEntity<Void> subscribe(
             @RequestBody WebPushSubscriptionDto subscription,
-            Authentication authentication) {
+            @CurrentUser UserPrincipal user) {
 
-        String email = authentication.getName();
-        webPushService.saveSubscription(email, subscription);
+        webPushService.saveSubscription(user.getId(), subscription);
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
@@ -40,11 +40,10 @@ public class NotificationController {
      * [신규] 푸시 알림을 즉시 테스트하는 API
      */
     @GetMapping("/test-push")
-    public ResponseEntity<Map<String, String>> sendTestNotification(Authentication authentication) {
-        String email = authentication.getName();
+    public ResponseEntity<Map<String, String>> sendTestNotification(@CurrentUser UserPrincipal user) {
         try {
             // 스케줄러의 단일 사용자 검사 로직을 '테스트 모드(true)'로 즉시 호출
-            String resultMessage = stressCheckScheduler.checkSingleUserStress(email, true);
+            String resultMessage = stressCheckScheduler.checkSingleUserStress(user.getId(), true);
 
             return ResponseEntity.ok(Map.of(
                     "message", "테스트 알림을 성공적으로 요청했습니다.",
@@ -2,10 +2,11 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.UserProfileResponse;
 import com.example.backend.dto.UserProfileUpdateRequest;
+import com.example.backend.security.CurrentUser;
+import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -21,9 +22,9 @@ public class UserController {
 
     // 인증된 사용자 본인("me")의 프로필 정보를 반환
     @GetMapping("/me")
-    public ResponseEntity<UserProfileResponse> getUserProfile(Authentication authentication) {
-        String email = authentication.getName(); // 토큰에서 이메일(username)을 가져옵니다.
-        UserProfileResponse userProfile = userService.getUserProfile(email);
+    public ResponseEntity<UserProfileResponse> getUserProfile(@CurrentUser UserPrincipal user) {
+        // [수정] 토큰에서 복원한 사용자 ID로 조회 (이메일로 다시 찾지 않음)
+        UserProfileResponse userProfile = userService.getUserProfile(user.getId());
         return ResponseEntity.ok(userProfile);
     }
 
@@ -31,10 +32,9 @@ public class UserController {
     @PatchMapping("/me")
     public ResponseEntity<UserProfileResponse> updateUserProfile(
             @RequestBody UserProfileUpdateRequest request, // 5. 요청 바디
-            Authentication authentication) {
+            @CurrentUser UserPrincipal user) {
 
-        String email = authentication.getName();
-        UserProfileResponse updatedProfile = userService.updateUserProfile(email, request);
+        UserProfileResponse updatedProfile = userService.updateUserProfile(user.getId(), request);
 
         // 6. 업데이트된 최신 프로필 정보를 반환
         return ResponseEntity.ok(updatedProfile);
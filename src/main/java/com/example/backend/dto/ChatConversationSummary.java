@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * [신규] 대화 목록 항목 (메시지/요약 컬럼 없이 목록에 필요한 값만 조회)
+ */
+@Data
+@AllArgsConstructor
+public class ChatConversationSummary {
+    private Long conversationId;
+    private String title;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * [신규] 대화 기록 화면의 메시지 1건
+ */
+@Data
+@AllArgsConstructor
+public class ChatMessageDto {
+    private Long messageId;
+    private ChatMessage.MessageRole role;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 public class ChatRequest {
     private String message;
     private Long conversationId;
+    private boolean skipCache; // true면 응답 캐시를 사용하지 않음 (항상 새 답변 생성)
 
     public String getMessage() {
         return message;
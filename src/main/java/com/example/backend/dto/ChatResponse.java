@@ -16,6 +16,8 @@ public class ChatResponse {
     private String stressCause;
     private List<Object> recommendedContents;
     private Long conversationId;
+    // [신규] Gemini 과부하로 미리 준비한 대체 답변을 보낸 경우 true (사용자 메시지만 저장됨)
+    private boolean degraded;
 
     public String getMessage() {
         return message;
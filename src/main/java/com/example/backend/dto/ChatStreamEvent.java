@@ -0,0 +1,36 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * /api/chat/stream 으로 내려가는 SSE 이벤트 한 건
+ * - delta : 지금까지 도착한 답변(reply)의 새 조각
+ * - done  : 스트림 종료, 최종 ChatResponse 포함 (감정/원인/대화 ID)
+ * - error : 처리 중 오류, 안내 메시지 포함
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatStreamEvent {
+    public static final String DELTA = "delta";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    private String type;
+    private String delta;
+    private ChatResponse response;
+
+    public static ChatStreamEvent delta(String text) {
+        return new ChatStreamEvent(DELTA, text, null);
+    }
+
+    public static ChatStreamEvent done(ChatResponse response) {
+        return new ChatStreamEvent(DONE, null, response);
+    }
+
+    public static ChatStreamEvent error(ChatResponse response) {
+        return new ChatStreamEvent(ERROR, null, response);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * [신규] 커서(keyset) 페이지 응답
+ * nextCursor를 다음 요청의 cursor 파라미터로 넘기면 이어서 조회 (더 없으면 null)
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
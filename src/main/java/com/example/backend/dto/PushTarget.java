@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 푸시 발송에 필요한 사용자 구독 정보만 담은 조회 결과
+ * (User 엔티티를 로드하면 userPreference 등 연관 엔티티까지 함께 조회되므로 대량 발송에서는 이 값을 사용)
+ */
+@Data
+@AllArgsConstructor
+public class PushTarget {
+    private Long userId;
+    private String email;
+    private String endpoint;
+    private String p256dh;
+    private String auth;
+}
@@ -5,6 +5,7 @@ import com.example.backend.model.User;
 import com.example.backend.model.UserPreference;
 import lombok.Data;
 
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +19,8 @@ public class UserProfileResponse {
     private List<String> surveyAnswers;
     private Map<String, Boolean> preferences;
     private boolean allowNotification;
+    private LocalTime notificationTime;
+    private String timezone;
 
     // 참고: 보안상 비밀번호(password)는 절대 반환하지 않습니다.
 
@@ -32,6 +35,8 @@ public class UserProfileResponse {
         // UserPreference 정보 매핑
         if (prefs != null) {
             this.allowNotification = prefs.isNotificationEnable();
+            this.notificationTime = prefs.getNotificationTime();
+            this.timezone = prefs.getTimezone();
             Map<String, Boolean> prefMap = new HashMap<>();
             prefMap.put("video", prefs.isContentTypeVideo());
             prefMap.put("text", prefs.isContentTypeText());
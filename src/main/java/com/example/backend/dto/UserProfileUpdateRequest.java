@@ -1,6 +1,8 @@
 package com.example.backend.dto;
 
 import lombok.Data;
+
+import java.time.LocalTime;
 import java.util.Map;
 
 @Data
@@ -12,4 +14,7 @@ public class UserProfileUpdateRequest {
     // UserPreference 엔티티에서 수정할 필드
     private Map<String, Boolean> preferences;
     private boolean allowNotification;
+    // [신규] 알림 받을 시각과 시간대 (null이면 변경하지 않음)
+    private LocalTime notificationTime;
+    private String timezone;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.backend.metrics;
+
+import java.util.Map;
+
+/**
+ * 운영 지표(카운터, 게이지)를 노출하는 컴포넌트
+ * Bean으로 등록된 구현체는 GET /api/metrics 응답에 name() 키로 모입니다.
+ */
+public interface MetricsSource {
+
+    String name();
+
+    Map<String, Object> snapshot();
+}
@@ -9,10 +9,12 @@ import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Entity
-@Table(name = "chat_conversation") // 테이블명 지정
+@Table(name = "chat_conversation", indexes = { // 테이블명 지정
+        // [신규] 대화 목록 커서 페이지 (사용자별 최신순)
+        @Index(name = "idx_chat_conversation_user_updated", columnList = "user_id, updated_at, conversation_id")
+})
 @Data
 @NoArgsConstructor
 public class ChatConversation {
@@ -39,6 +41,18 @@ public class ChatConversation {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "chatConversation", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<ChatMessage> messages;
+    // [신규] 대화 롤링 요약 (AnalysisService가 새 메시지만 반영해 갱신)
+    @Column(name = "rolling_summary", columnDefinition = "TEXT")
+    private String rollingSummary;
+
+    // [신규] 롤링 요약에 반영된 마지막 메시지 (createdAt, ID) - 이후 메시지만 다음 요약 대상
+    // [수정] ID만으로는 순서를 알 수 없어 (시퀀스 블록 할당) 작성 시각을 함께 저장 - SummaryWatermark
+    @Column(name = "summarized_until_message_id")
+    private Long summarizedUntilMessageId;
+
+    @Column(name = "summarized_until_created_at")
+    private LocalDateTime summarizedUntilCreatedAt;
+
+    // [삭제] messages 컬렉션(@OneToMany) 제거 - 접근하면 대화의 전체 메시지를 로드하므로
+    // 메시지는 ChatMessageRepository 커서 페이지로만 조회 (대화 삭제 시 메시지는 FK ON DELETE CASCADE로 삭제)
 }
\ No newline at end of file
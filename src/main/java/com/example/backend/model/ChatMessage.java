@@ -10,13 +10,24 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_message") // 테이블명 지정 (스키마 기준)
+@Table(name = "chat_message", indexes = { // 테이블명 지정 (스키마 기준)
+        // [신규] 메시지 커서 페이지 (대화별 시간순) - ORDER BY created_at, message_id 를 정렬 없이 인덱스로 처리
+        @Index(name = "idx_chat_message_conversation_created", columnList = "conversation_id, created_at, message_id")
+})
 @Data
 @NoArgsConstructor
 public class ChatMessage {
 
+    // [신규] ID를 시퀀스에서 한 번에 가져오는 개수 (시퀀스 INCREMENT BY와 같아야 함 - IdSequenceInitializer)
+    public static final String ID_SEQUENCE = "chat_message_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // [수정] IDENTITY → SEQUENCE (pooled)
+    // IDENTITY는 INSERT를 실행해야 ID를 알 수 있어 저장마다 즉시 INSERT(배치 불가) - 시퀀스는 50개마다 nextval 1번,
+    // INSERT는 커밋 시 JDBC 배치로 한 번에 전송
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "message_id")
     private Long id;
 
@@ -0,0 +1,94 @@
+package com.example.backend.model;
+
+import com.example.backend.dto.PushTarget;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * [신규] 웹 푸시 발송 대기열 (Outbox)
+ * 발송 요청 시점의 구독 정보를 함께 저장하므로, 발송 워커는 User를 조회하지 않습니다.
+ * PENDING 행은 next_attempt_at이 지나면 PushOutboxWorker가 발송하고 결과에 따라 상태를 바꿉니다.
+ */
+@Entity
+@Table(name = "push_outbox", indexes = {
+        @Index(name = "idx_push_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_push_outbox_endpoint", columnList = "endpoint"),
+        @Index(name = "uk_push_outbox_dedup_key", columnList = "dedup_key", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class PushOutbox {
+
+    // [신규] ID 시퀀스 (INCREMENT BY와 같아야 함 - IdSequenceInitializer)
+    public static final String ID_SEQUENCE = "push_outbox_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // [수정] IDENTITY → SEQUENCE (pooled) - 한 트랜잭션의 여러 건(saveAll)이 JDBC 배치로 전송됨
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    // 구독 해제 처리용 (FK 대신 값만 저장 - 사용자 삭제와 무관하게 대기열 정리 가능)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "endpoint", nullable = false, length = 1000)
+    private String endpoint;
+
+    @Column(name = "p256dh", nullable = false)
+    private String p256dh;
+
+    @Column(name = "auth", nullable = false)
+    private String auth;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // [신규] 같은 알림을 한 번만 등록하기 위한 키 (예: 정규 스트레스 알림은 사용자 + 현지 날짜), 없으면 null
+    @Column(name = "dedup_key", length = 100)
+    private String dedupKey;
+
+    public static PushOutbox of(PushTarget target, String payload) {
+        PushOutbox outbox = new PushOutbox();
+        outbox.setUserId(target.getUserId());
+        outbox.setEndpoint(target.getEndpoint());
+        outbox.setP256dh(target.getP256dh());
+        outbox.setAuth(target.getAuth());
+        outbox.setPayload(payload);
+        outbox.setNextAttemptAt(LocalDateTime.now());
+        return outbox;
+    }
+
+    public enum Status {
+        PENDING, // 발송 대기 (재시도 포함)
+        SENT,    // 푸시 서비스가 수락 (2xx)
+        FAILED,  // 재시도 횟수 초과 또는 재시도해도 소용없는 오류 (400, 401, 403, 413 등)
+        DEAD     // 구독 만료 (404, 410) - 사용자 구독 정보도 삭제됨
+    }
+}
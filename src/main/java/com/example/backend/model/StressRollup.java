@@ -0,0 +1,124 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * [신규] 대시보드용 사전 집계 (사용자별 일/주/월 버킷)
+ * 체크인이 생성될 때 DAY, WEEK(월요일 시작), MONTH(1일 시작) 버킷 3개를 함께 갱신합니다.
+ * 대시보드는 기간을 월/주/일 버킷으로 나눠 읽으므로, 기간이 길어져도 읽는 행 수는 버킷 수만큼입니다.
+ */
+@Entity
+@Table(name = "stress_rollup", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "period_type", "period_start"})
+})
+@Data
+@NoArgsConstructor
+public class StressRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private PeriodType periodType;
+
+    // 버킷 시작일 (DAY: 그 날, WEEK: 월요일, MONTH: 1일)
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "checkin_count", nullable = false)
+    private int checkinCount = 0;
+
+    @Column(name = "stress_sum", nullable = false)
+    private int stressSum = 0;
+
+    // 요일별 스트레스 합계/횟수 (요일별 차트)
+    @ElementCollection
+    @CollectionTable(name = "stress_rollup_weekday", joinColumns = @JoinColumn(name = "rollup_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "day_of_week", length = 10)
+    @BatchSize(size = 64)
+    private Map<DayOfWeek, WeekdayStat> weekdayStats = new EnumMap<>(DayOfWeek.class);
+
+    // 원인별 선택 횟수 (원인 분석 차트)
+    @ElementCollection
+    @CollectionTable(name = "stress_rollup_cause", joinColumns = @JoinColumn(name = "rollup_id"))
+    @MapKeyColumn(name = "cause_type", length = 50)
+    @Column(name = "cause_count", nullable = false)
+    @BatchSize(size = 64)
+    private Map<String, Integer> causeCounts = new HashMap<>();
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public StressRollup(User user, PeriodType periodType, LocalDate periodStart) {
+        this.user = user;
+        this.periodType = periodType;
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * 체크인 1건 반영
+     */
+    public void add(LocalDate checkinDate, int stressLevel, Iterable<String> causeTypes) {
+        checkinCount++;
+        stressSum += stressLevel;
+
+        WeekdayStat weekday = weekdayStats.computeIfAbsent(checkinDate.getDayOfWeek(), k -> new WeekdayStat());
+        weekday.setStressSum(weekday.getStressSum() + stressLevel);
+        weekday.setCheckinCount(weekday.getCheckinCount() + 1);
+
+        for (String causeType : causeTypes) {
+            causeCounts.merge(causeType, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * [신규] 집계 초기화 (백필이 원본 체크인으로 버킷을 다시 계산할 때)
+     */
+    public void reset() {
+        checkinCount = 0;
+        stressSum = 0;
+        weekdayStats.clear();
+        causeCounts.clear();
+    }
+
+    public enum PeriodType {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    public static class WeekdayStat {
+
+        @Column(name = "stress_sum", nullable = false)
+        private int stressSum;
+
+        @Column(name = "checkin_count", nullable = false)
+        private int checkinCount;
+    }
+}
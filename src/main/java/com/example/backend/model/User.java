@@ -92,4 +92,8 @@ public class User {
 
     @Column(name = "web_push_auth", length = 256)
     private String webPushAuth;
+
+    // [신규] 기존 체크인 전체가 집계 버킷(StressRollup)에 반영된 시각 (null이면 백필 대상)
+    @Column(name = "rollups_backfilled_at")
+    private LocalDateTime rollupsBackfilledAt;
    }
\ No newline at end of file
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "user_preference") // 스키마의 테이블명
+@Table(name = "user_preference", indexes = { // 스키마의 테이블명
+        // 분 단위 알림 대상 조회 (StressCheckScheduler)
+        @Index(name = "idx_user_preference_notification", columnList = "notification_enable, timezone, notification_time")
+})
 @Data
 @NoArgsConstructor
 public class UserPreference {
@@ -41,6 +44,10 @@ public class UserPreference {
     @Column(name = "notification_time")
     private LocalTime notificationTime;
 
+    // [신규] notificationTime을 해석할 시간대 (IANA ID, 예: Asia/Seoul)
+    @Column(name = "timezone", length = 50)
+    private String timezone = "Asia/Seoul";
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,15 +1,45 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.ChatConversationSummary;
 import com.example.backend.model.ChatConversation;
-import com.example.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChatConversationRepository extends JpaRepository<ChatConversation, Long> {
 
-    // 특정 사용자의 모든 대화 목록 조회 (최신순)
-    List<ChatConversation> findByUserOrderByUpdatedAtDesc(User user);
-}
\ No newline at end of file
+    /**
+     * [수정] 사용자의 대화 목록 첫 페이지 (최신순, pageable 크기만큼)
+     * (user_id, updated_at, conversation_id) 인덱스 순서대로 읽으므로 대화 수와 무관하게 일정한 비용
+     */
+    @Query("SELECT new com.example.backend.dto.ChatConversationSummary(c.id, c.title, c.updatedAt) " +
+            "FROM ChatConversation c WHERE c.user.id = :userId " +
+            "ORDER BY c.updatedAt DESC, c.id DESC")
+    List<ChatConversationSummary> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * [신규] 커서(updatedAt, id) 다음 페이지 - OFFSET 없이 커서보다 오래된 대화부터
+     */
+    @Query("SELECT new com.example.backend.dto.ChatConversationSummary(c.id, c.title, c.updatedAt) " +
+            "FROM ChatConversation c WHERE c.user.id = :userId " +
+            "AND (c.updatedAt < :updatedAt OR (c.updatedAt = :updatedAt AND c.id < :id)) " +
+            "ORDER BY c.updatedAt DESC, c.id DESC")
+    List<ChatConversationSummary> findPageBefore(@Param("userId") Long userId,
+                                                 @Param("updatedAt") LocalDateTime updatedAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * [신규] 새 메시지가 저장된 대화의 updatedAt 갱신 (대화를 SELECT 하지 않고 UPDATE 1번)
+     */
+    @Modifying
+    @Query("UPDATE ChatConversation c SET c.updatedAt = :updatedAt WHERE c.id = :id")
+    int touch(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+}
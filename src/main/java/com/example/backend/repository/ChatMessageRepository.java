@@ -1,18 +1,60 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.ChatMessageDto;
 import com.example.backend.model.ChatMessage;
 import com.example.backend.model.ChatConversation; // 1. User -> ChatConversation
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-    // 2. [수정] 특정 대화 ID에 속한 모든 메시지를 시간순으로 조회
-    List<ChatMessage> findByChatConversationOrderByCreatedAtAsc(ChatConversation chatConversation);
+    /**
+     * 2. [수정] 대화의 최근 메시지 페이지 (최신순, pageable 크기만큼) - 전체 메시지를 읽지 않음
+     * 대화 소유자 조건을 함께 걸어 다른 사용자의 대화면 빈 목록 (존재 여부도 드러내지 않음)
+     * (conversation_id, created_at, message_id) 인덱스 순서대로 읽음
+     */
+    @Query("SELECT new com.example.backend.dto.ChatMessageDto(m.id, m.role, m.content, m.createdAt) " +
+            "FROM ChatMessage m WHERE m.chatConversation.id = :conversationId AND m.chatConversation.user.id = :userId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessageDto> findLatestPage(@Param("userId") Long userId,
+                                        @Param("conversationId") Long conversationId,
+                                        Pageable pageable);
+
+    /**
+     * [신규] 커서(createdAt, id)보다 이전 메시지 페이지 (스크롤을 올릴 때)
+     */
+    @Query("SELECT new com.example.backend.dto.ChatMessageDto(m.id, m.role, m.content, m.createdAt) " +
+            "FROM ChatMessage m WHERE m.chatConversation.id = :conversationId AND m.chatConversation.user.id = :userId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessageDto> findPageBefore(@Param("userId") Long userId,
+                                        @Param("conversationId") Long conversationId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
 
     // 3. [수정] 특정 대화 ID의 최근 N개 메시지를 최신순으로 조회
     List<ChatMessage> findTop10ByChatConversationOrderByCreatedAtDesc(ChatConversation chatConversation);
+
+    /**
+     * 4. [수정] 롤링 요약에 아직 반영되지 않은 메시지 - 워터마크(createdAt, id) 이후, 시간순 (오래된 것부터)
+     * 메시지 ID는 인스턴스별로 시퀀스 블록에서 할당되어 시간순이 아니므로 커서 페이지와 같은 (createdAt, id) 기준
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatConversation = :conversation " +
+            "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    List<ChatMessage> findUnsummarized(@Param("conversation") ChatConversation conversation,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    // 5. [신규] 요약이 아직 없는 대화의 처음 메시지들 (시간순)
+    List<ChatMessage> findTop20ByChatConversationOrderByCreatedAtAscIdAsc(ChatConversation chatConversation);
 }
\ No newline at end of file
@@ -3,9 +3,12 @@ package com.example.backend.repository;
 import com.example.backend.model.DailyCheckIn;
 import com.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +23,48 @@ public interface DailyCheckInRepository extends JpaRepository<DailyCheckIn, Long
 
     // 특정 기간 동안의 사용자 체크인 기록 조회
     List<DailyCheckIn> findByUserAndCheckinDateBetween(User user, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    // [신규] 기간별 (날짜, 스트레스) 값만 조회 - 엔티티/원인 컬렉션을 로드하지 않음
+    @Query("SELECT c.id AS id, c.checkinDate AS checkinDate, c.stressLevel AS stressLevel " +
+            "FROM DailyCheckIn c WHERE c.user = :user AND c.checkinDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY c.checkinDate")
+    List<StressLevelView> findStressLevels(@Param("user") User user,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    // [신규] 사용자의 전체 (날짜, 스트레스) 값 조회 (집계 버킷 백필용)
+    @Query("SELECT c.id AS id, c.checkinDate AS checkinDate, c.stressLevel AS stressLevel " +
+            "FROM DailyCheckIn c WHERE c.user = :user ORDER BY c.checkinDate")
+    List<StressLevelView> findAllStressLevels(@Param("user") User user);
+
+    // [신규] 사용자 묶음의 기간 스트레스 합계/횟수 + 특정 날짜들(오늘과 같은 요일)의 합계/횟수를 한 번에 집계
+    @Query("SELECT c.user.id AS userId, SUM(c.stressLevel) AS stressSum, COUNT(c) AS checkinCount, " +
+            "SUM(CASE WHEN c.checkinDate IN :weekdayDates THEN c.stressLevel ELSE 0 END) AS weekdayStressSum, " +
+            "SUM(CASE WHEN c.checkinDate IN :weekdayDates THEN 1 ELSE 0 END) AS weekdayCheckinCount " +
+            "FROM DailyCheckIn c WHERE c.user.id IN :userIds AND c.checkinDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY c.user.id")
+    List<StressConditionView> findStressConditions(@Param("userIds") Collection<Long> userIds,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate,
+                                                   @Param("weekdayDates") Collection<LocalDate> weekdayDates);
+
+    interface StressLevelView {
+        Long getId();
+
+        LocalDate getCheckinDate();
+
+        Integer getStressLevel();
+    }
+
+    interface StressConditionView {
+        Long getUserId();
+
+        Long getStressSum();
+
+        Long getCheckinCount();
+
+        Long getWeekdayStressSum();
+
+        Long getWeekdayCheckinCount();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.PushOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PushOutboxRepository extends JpaRepository<PushOutbox, Long>, PushOutboxRepositoryCustom {
+
+    // [수정] 발송 시각이 된 대기 행 (오래 기다린 순) - 행 잠금, 다른 인스턴스가 잠근 행은 건너뜀
+    // 트랜잭션 안에서 lease와 함께 호출 (WebPushService.claimDue)
+    @Query(value = "SELECT * FROM push_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PushOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // [신규] 가져간 행의 발송 시각을 임대 만료 시각으로 미룸 (그 사이 다른 인스턴스의 조회 대상에서 빠짐)
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // [신규] 가져갔지만 보내지 않은 행 (한 배치에 같은 엔드포인트가 여럿) 돌려놓기
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.nextAttemptAt = :nextAttemptAt WHERE o.id IN :ids " +
+            "AND o.status = com.example.backend.model.PushOutbox.Status.PENDING")
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    long countByStatus(PushOutbox.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.status = com.example.backend.model.PushOutbox.Status.SENT, " +
+            "o.attempts = o.attempts + 1, o.sentAt = :sentAt, o.lastError = NULL WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt, " +
+            "o.lastError = :error WHERE o.id = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.status = com.example.backend.model.PushOutbox.Status.FAILED, " +
+            "o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    // 같은 엔드포인트의 남은 대기 행도 함께 뒤로 미룸 (푸시 서비스가 거절/과부하 중인 엔드포인트를 연달아 호출하지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.nextAttemptAt = :nextAttemptAt " +
+            "WHERE o.endpoint = :endpoint AND o.status = com.example.backend.model.PushOutbox.Status.PENDING " +
+            "AND o.nextAttemptAt < :nextAttemptAt")
+    int deferEndpoint(@Param("endpoint") String endpoint, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    // 만료된 엔드포인트의 대기 행 전부 종료
+    @Transactional
+    @Modifying
+    @Query("UPDATE PushOutbox o SET o.status = com.example.backend.model.PushOutbox.Status.DEAD, o.lastError = :error " +
+            "WHERE o.endpoint = :endpoint AND o.status = com.example.backend.model.PushOutbox.Status.PENDING")
+    int markEndpointDead(@Param("endpoint") String endpoint, @Param("error") String error);
+}
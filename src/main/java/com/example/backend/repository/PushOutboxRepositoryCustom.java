@@ -0,0 +1,17 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.PushOutbox;
+
+import java.util.List;
+
+/**
+ * [신규] PushOutboxRepository의 JDBC 구현 부분 (PushOutboxRepositoryImpl)
+ */
+public interface PushOutboxRepositoryCustom {
+
+    /**
+     * 중복 방지 키(dedupKey)가 있는 알림을 한 문장으로 등록, 이미 있는 키(다른 인스턴스가 먼저 등록한 것 포함)는 건너뜀
+     * @return 새로 등록한 행 수
+     */
+    int insertIgnoringDuplicates(List<PushOutbox> notifications);
+}
@@ -0,0 +1,66 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.PushOutbox;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * [신규] 알림 등록 - INSERT ... SELECT FROM unnest(배열) ... ON CONFLICT (dedup_key) DO NOTHING
+ * 청크 전체가 한 문장(DB 왕복 1번)이고, 유니크 인덱스(uk_push_outbox_dedup_key) 충돌은 오류 대신 건너뜁니다.
+ * ID는 행마다 nextval (Hibernate pooled 옵티마이저와 같은 시퀀스 - nextval 값은 다른 호출자의 ID 범위와 겹치지 않음)
+ */
+class PushOutboxRepositoryImpl implements PushOutboxRepositoryCustom {
+
+    private static final String INSERT_IGNORING_DUPLICATES =
+            "INSERT INTO push_outbox (outbox_id, user_id, endpoint, p256dh, auth, payload, status, attempts, " +
+                    "next_attempt_at, created_at, dedup_key) " +
+                    "SELECT nextval('" + PushOutbox.ID_SEQUENCE + "'), t.user_id, t.endpoint, t.p256dh, t.auth, t.payload, " +
+                    "'PENDING', 0, t.next_attempt_at, ?, t.dedup_key " +
+                    "FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[], ?::text[], ?::timestamp[], ?::text[]) " +
+                    "AS t(user_id, endpoint, p256dh, auth, payload, next_attempt_at, dedup_key) " +
+                    "ON CONFLICT (dedup_key) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PushOutboxRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<PushOutbox> notifications) {
+        int size = notifications.size();
+        Long[] userIds = new Long[size];
+        String[] endpoints = new String[size];
+        String[] p256dhs = new String[size];
+        String[] auths = new String[size];
+        String[] payloads = new String[size];
+        Timestamp[] nextAttemptAts = new Timestamp[size];
+        String[] dedupKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            PushOutbox notification = notifications.get(i);
+            userIds[i] = notification.getUserId();
+            endpoints[i] = notification.getEndpoint();
+            p256dhs[i] = notification.getP256dh();
+            auths[i] = notification.getAuth();
+            payloads[i] = notification.getPayload();
+            nextAttemptAts[i] = Timestamp.valueOf(notification.getNextAttemptAt());
+            dedupKeys[i] = notification.getDedupKey();
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES);
+            statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setArray(2, connection.createArrayOf("bigint", userIds));
+            statement.setArray(3, connection.createArrayOf("text", endpoints));
+            statement.setArray(4, connection.createArrayOf("text", p256dhs));
+            statement.setArray(5, connection.createArrayOf("text", auths));
+            statement.setArray(6, connection.createArrayOf("text", payloads));
+            statement.setArray(7, connection.createArrayOf("timestamp", nextAttemptAts));
+            statement.setArray(8, connection.createArrayOf("text", dedupKeys));
+            return statement;
+        });
+    }
+}
@@ -2,9 +2,13 @@ package com.example.backend.repository;
 
 import com.example.backend.model.DailyCheckIn;
 import com.example.backend.model.StressCause;
+import com.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,29 @@ public interface StressCauseRepository extends JpaRepository<StressCause, Long>
 
     // 특정 체크인 ID에 속한 모든 원인 찾기
     List<StressCause> findByDailyCheckin(DailyCheckIn dailyCheckin);
+
+    // [신규] 기간 내 원인별 선택 횟수 (SQL GROUP BY 한 번)
+    @Query("SELECT sc.causeType AS causeType, COUNT(sc) AS count FROM StressCause sc " +
+            "WHERE sc.dailyCheckin.user = :user AND sc.dailyCheckin.checkinDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY sc.causeType")
+    List<CauseCountView> countCauses(@Param("user") User user,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    // [신규] 사용자의 전체 (체크인 ID, 원인) 목록 (집계 버킷 백필용)
+    @Query("SELECT sc.dailyCheckin.id AS checkinId, sc.causeType AS causeType FROM StressCause sc " +
+            "WHERE sc.dailyCheckin.user = :user")
+    List<CheckInCauseView> findAllCauses(@Param("user") User user);
+
+    interface CauseCountView {
+        String getCauseType();
+
+        long getCount();
+    }
+
+    interface CheckInCauseView {
+        Long getCheckinId();
+
+        String getCauseType();
+    }
 }
\ No newline at end of file
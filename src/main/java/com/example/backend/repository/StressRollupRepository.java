@@ -0,0 +1,30 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.StressRollup;
+import com.example.backend.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StressRollupRepository extends JpaRepository<StressRollup, Long> {
+
+    // (user_id, period_type, period_start)로 버킷 조회 (Unique 제약조건)
+    Optional<StressRollup> findByUserAndPeriodTypeAndPeriodStart(User user, StressRollup.PeriodType periodType, LocalDate periodStart);
+
+    // 대시보드 기간을 나눈 버킷들을 유형별로 한 번에 조회
+    List<StressRollup> findByUserAndPeriodTypeAndPeriodStartIn(User user, StressRollup.PeriodType periodType, Collection<LocalDate> periodStarts);
+
+    // 사용자의 모든 버킷 (백필 시 덮어쓰기용)
+    List<StressRollup> findByUser(User user);
+
+    // [수정] 체크인이 있고 백필 완료 표시가 없는 사용자 ID (도입 이전 데이터 백필 대상)
+    // 버킷 존재 여부로 판단하면, 백필 전에 새로 체크인한 사용자의 이전 기록이 영영 반영되지 않음
+    @Query("SELECT DISTINCT c.user.id FROM DailyCheckIn c WHERE c.user.rollupsBackfilledAt IS NULL")
+    List<Long> findUserIdsPendingBackfill();
+}
@@ -1,9 +1,41 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.PushTarget;
 import com.example.backend.model.UserPreference;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalTime;
+import java.util.List;
+
 @Repository
 public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long> {
-}
\ No newline at end of file
+
+    // [신규] 알림을 켠 구독자들이 쓰는 시간대 목록 (시간대 미설정 = defaultZone)
+    // [수정] 설정 행이 없는 사용자도 기본값(알림 켬, defaultZone)으로 포함
+    @Query("SELECT DISTINCT COALESCE(p.timezone, :defaultZone) FROM User u LEFT JOIN u.userPreference p " +
+            "WHERE COALESCE(p.notificationEnable, true) = true AND u.webPushEndpoint IS NOT NULL")
+    List<String> findNotificationTimezones(@Param("defaultZone") String defaultZone);
+
+    /**
+     * [신규] 해당 시간대에서 알림 시각이 [from, to) 인 구독자 (알림 끈 사용자는 쿼리에서 제외)
+     * 알림 시각 미설정 = defaultTime, afterId 다음부터 pageable 크기만큼 ID 순
+     * [수정] User 기준 LEFT JOIN - 설정 행(UserPreference)이 없는 사용자는 기본값(알림 켬, defaultZone, defaultTime)
+     */
+    @Query("SELECT new com.example.backend.dto.PushTarget(u.id, u.email, u.webPushEndpoint, u.webPushP256dh, u.webPushAuth) " +
+            "FROM User u LEFT JOIN u.userPreference p " +
+            "WHERE COALESCE(p.notificationEnable, true) = true AND u.webPushEndpoint IS NOT NULL " +
+            "AND COALESCE(p.timezone, :defaultZone) = :zone " +
+            "AND COALESCE(p.notificationTime, :defaultTime) >= :from AND COALESCE(p.notificationTime, :defaultTime) < :to " +
+            "AND u.id > :afterId ORDER BY u.id")
+    List<PushTarget> findDueTargets(@Param("zone") String zone,
+                                    @Param("defaultZone") String defaultZone,
+                                    @Param("defaultTime") LocalTime defaultTime,
+                                    @Param("from") LocalTime from,
+                                    @Param("to") LocalTime to,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+}
@@ -1,8 +1,15 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.PushTarget;
 import com.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository // 스프링 빈으로 등록
@@ -17,4 +24,35 @@ public interface UserRepository extends JpaRepository<User, Long> { // 사용자
 
     // 이메일 존재 여부 확인
     boolean existsByEmail(String email);
+
+    // [신규] 구독 정보 저장 (사용자 엔티티를 로드하지 않음)
+    @Modifying
+    @Query("UPDATE User u SET u.webPushEndpoint = :endpoint, u.webPushP256dh = :p256dh, u.webPushAuth = :auth " +
+            "WHERE u.id = :userId")
+    int updateWebPushSubscription(@Param("userId") Long userId, @Param("endpoint") String endpoint,
+                                  @Param("p256dh") String p256dh, @Param("auth") String auth);
+
+    // [신규] 단건 알림 검사용 - 발송에 필요한 컬럼만 조회 (userPreference/initialSurvey EAGER 로딩 없음)
+    @Query("SELECT new com.example.backend.dto.PushTarget(u.id, u.email, u.webPushEndpoint, u.webPushP256dh, u.webPushAuth) " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<PushTarget> findPushTarget(@Param("userId") Long userId);
+
+    // [신규] 만료된 구독 삭제 (그 사이 새로 구독했다면 엔드포인트가 달라 지워지지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.webPushEndpoint = NULL, u.webPushP256dh = NULL, u.webPushAuth = NULL " +
+            "WHERE u.id = :userId AND u.webPushEndpoint = :endpoint")
+    int clearWebPushSubscription(@Param("userId") Long userId, @Param("endpoint") String endpoint);
+
+    // [신규] 사용자 행 잠금 - 같은 사용자의 집계 버킷 갱신(체크인 기록 / 백필, 여러 인스턴스)을 직렬화
+    // FOR NO KEY UPDATE: 체크인 INSERT의 외래 키 확인(KEY SHARE)과는 충돌하지 않음
+    // @return 백필 완료 여부 (사용자가 없으면 null)
+    @Query(value = "SELECT rollups_backfilled_at IS NOT NULL FROM users WHERE user_id = :userId FOR NO KEY UPDATE",
+            nativeQuery = true)
+    Boolean lockForRollup(@Param("userId") Long userId);
+
+    // [신규] 집계 버킷 백필 완료 표시
+    @Modifying
+    @Query("UPDATE User u SET u.rollupsBackfilledAt = :backfilledAt WHERE u.id = :userId")
+    int markRollupsBackfilled(@Param("userId") Long userId, @Param("backfilledAt") LocalDateTime backfilledAt);
 }
@@ -0,0 +1,279 @@
+package com.example.backend.scheduler;
+
+import com.example.backend.metrics.MetricsSource;
+import com.example.backend.model.PushOutbox;
+import com.example.backend.repository.PushOutboxRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.WebPushService;
+import org.asynchttpclient.Response;
+import org.jose4j.lang.JoseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.MalformedURLException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [신규] 웹 푸시 발송 대기열(push_outbox) 처리기
+ * - 발송 시각이 된 행을 batchSize씩 가져와 PushAsyncService로 동시에 전송 (한 배치 = 최대 동시 전송 수)
+ * - [수정] 가져갈 때 행을 잠그고 임대(lease-seconds)하므로 여러 인스턴스가 같은 행을 중복 발송하지 않음
+ * - 한 배치에서 같은 엔드포인트는 한 건만 보냄 (나머지는 임대를 풀어 다음 배치)
+ * - 2xx: SENT / 404, 410: DEAD + 사용자 구독 삭제 / 429, 5xx, 네트워크 오류: 지수 백오프 재시도 / 그 외 4xx: FAILED
+ * - [수정] 보내기 전 로컬 오류 (구독 키 파싱, 암호화/서명 실패 등): 재시도해도 같으므로 바로 FAILED
+ * 결과 반영(DB)은 응답 스레드가 아닌 이 스케줄러 스레드에서 배치가 끝난 뒤 처리합니다.
+ */
+@Component
+public class PushOutboxWorker implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushOutboxWorker.class);
+
+    // 응답 없이 끝난 전송의 상태 코드
+    static final int NETWORK_FAILURE = 0;  // 연결 실패, 타임아웃 등 - 재시도
+    static final int LOCAL_FAILURE = -1;   // 요청을 만들지 못함 (잘못된 구독 키, 암호화/서명 실패) - 재시도하지 않음
+
+    private final PushOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final WebPushService webPushService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration retryMax;
+    private final Duration lease;
+
+    private final AtomicLong totalSent = new AtomicLong();
+    private final AtomicLong totalRetried = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+    private final AtomicLong totalDead = new AtomicLong();
+    private volatile RunReport lastReport;
+
+    public PushOutboxWorker(PushOutboxRepository outboxRepository,
+                            UserRepository userRepository,
+                            WebPushService webPushService,
+                            @Value("${push.outbox.batch-size:100}") int batchSize,
+                            @Value("${push.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+                            @Value("${push.outbox.max-attempts:5}") int maxAttempts,
+                            @Value("${push.outbox.retry-base-seconds:30}") long retryBaseSeconds,
+                            @Value("${push.outbox.retry-max-seconds:3600}") long retryMaxSeconds,
+                            @Value("${push.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.webPushService = webPushService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.retryBase = Duration.ofSeconds(retryBaseSeconds);
+        this.retryMax = Duration.ofSeconds(retryMaxSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * 대기열 비우기 (이전 실행이 끝난 뒤 poll-interval 만큼 쉬고 다시 실행)
+     * @return 이번 실행 결과 (처리한 행이 없으면 null)
+     */
+    @Scheduled(fixedDelayString = "${push.outbox.poll-interval-ms:5000}")
+    public RunReport drain() {
+        long startedAt = System.nanoTime();
+        RunStats stats = new RunStats();
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<PushOutbox> due = webPushService.claimDue(batchSize, lease);
+            if (due.isEmpty()) {
+                break;
+            }
+
+            Set<String> endpoints = new HashSet<>();
+            List<CompletableFuture<Outcome>> inFlight = new ArrayList<>();
+            List<Long> skippedIds = new ArrayList<>();
+            for (PushOutbox outbox : due) {
+                if (endpoints.add(outbox.getEndpoint())) {
+                    inFlight.add(send(outbox));
+                } else {
+                    skippedIds.add(outbox.getId());
+                }
+            }
+            if (!skippedIds.isEmpty()) {
+                // 재시도로 엔드포인트가 미뤄지면 아래 apply의 deferEndpoint가 다시 뒤로 미룸
+                outboxRepository.release(skippedIds, LocalDateTime.now());
+            }
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+
+            List<Long> sentIds = new ArrayList<>();
+            for (CompletableFuture<Outcome> future : inFlight) {
+                apply(future.join(), sentIds, stats);
+            }
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+        }
+
+        if (stats.attempted == 0) {
+            return null;
+        }
+        RunReport report = stats.toReport(System.nanoTime() - startedAt);
+        lastReport = report;
+        logger.info("푸시 대기열 처리 완료. {}", report);
+        return report;
+    }
+
+    private CompletableFuture<Outcome> send(PushOutbox outbox) {
+        long sendStartedAt = System.nanoTime();
+        CompletableFuture<Response> delivery;
+        try {
+            delivery = webPushService.deliver(outbox);
+        } catch (RuntimeException e) {
+            // 구독 키 디코딩 등에서 바로 던진 예외도 이 행의 실패로 처리 (배치 전체를 중단하지 않음)
+            delivery = CompletableFuture.failedFuture(e);
+        }
+        return delivery.handle((response, error) -> {
+            long latencyNanos = System.nanoTime() - sendStartedAt;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                int status = isLocalFailure(cause) ? LOCAL_FAILURE : NETWORK_FAILURE;
+                return new Outcome(outbox, status, null, cause.getClass().getSimpleName() + ": " + cause.getMessage(), latencyNanos);
+            }
+            return new Outcome(outbox, response.getStatusCode(), response.getHeader("Retry-After"),
+                    response.getStatusCode() + " " + response.getStatusText(), latencyNanos);
+        });
+    }
+
+    private void apply(Outcome outcome, List<Long> sentIds, RunStats stats) {
+        PushOutbox outbox = outcome.outbox();
+        stats.record(outcome.latencyNanos());
+        int status = outcome.statusCode();
+
+        if (status >= 200 && status < 300) {
+            sentIds.add(outbox.getId());
+            stats.sent++;
+            totalSent.incrementAndGet();
+            stats.maxQueueDelayMillis = Math.max(stats.maxQueueDelayMillis,
+                    Duration.between(outbox.getCreatedAt(), LocalDateTime.now()).toMillis());
+        } else if (status == 404 || status == 410) {
+            // 구독 만료: 사용자 구독 정보 삭제 + 같은 엔드포인트 대기 행 종료 → 다음 날 다시 시도하지 않음
+            outboxRepository.markEndpointDead(outbox.getEndpoint(), truncate(outcome.error()));
+            userRepository.clearWebPushSubscription(outbox.getUserId(), outbox.getEndpoint());
+            stats.dead++;
+            totalDead.incrementAndGet();
+            logger.info("만료된 푸시 구독 삭제 (userId: {}, {})", outbox.getUserId(), outcome.error());
+        } else if (isRetryable(status) && outbox.getAttempts() + 1 < maxAttempts) {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(outbox.getAttempts() + 1, outcome.retryAfter()));
+            outboxRepository.scheduleRetry(outbox.getId(), nextAttemptAt, truncate(outcome.error()));
+            outboxRepository.deferEndpoint(outbox.getEndpoint(), nextAttemptAt);
+            stats.retried++;
+            totalRetried.incrementAndGet();
+        } else {
+            outboxRepository.markFailed(outbox.getId(), truncate(outcome.error()));
+            stats.failed++;
+            totalFailed.incrementAndGet();
+            logger.warn("푸시 알림 전송 실패 (userId: {}, 시도 {}회): {}",
+                    outbox.getUserId(), outbox.getAttempts() + 1, outcome.error());
+        }
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == NETWORK_FAILURE || status == 429 || status >= 500;
+    }
+
+    /**
+     * 요청을 보내기 전에 실패했는지 (같은 구독 정보로 다시 시도해도 같은 결과)
+     */
+    private static boolean isLocalFailure(Throwable cause) {
+        return cause instanceof GeneralSecurityException
+                || cause instanceof JoseException
+                || cause instanceof MalformedURLException
+                || cause instanceof IllegalArgumentException;
+    }
+
+    /**
+     * 재시도 대기 시간: retryBase * 2^(attempt-1), 최대 retryMax
+     * 푸시 서비스가 Retry-After(초)를 주면 그 값을 우선 (역시 retryMax 이내)
+     */
+    Duration backoff(int attempt, String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                Duration requested = Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+                return requested.compareTo(retryMax) > 0 ? retryMax : requested;
+            } catch (NumberFormatException ignored) {
+                // HTTP 날짜 형식은 지수 백오프로 대체
+            }
+        }
+        Duration delay = retryBase.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    @Override
+    public String name() {
+        return "pushOutbox";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("sent", totalSent.get());
+        snapshot.put("retried", totalRetried.get());
+        snapshot.put("failed", totalFailed.get());
+        snapshot.put("dead", totalDead.get());
+        snapshot.put("lastRun", lastReport);
+        return snapshot;
+    }
+
+    private record Outcome(PushOutbox outbox, int statusCode, String retryAfter, String error, long latencyNanos) {
+    }
+
+    private static class RunStats {
+        int attempted;
+        int sent;
+        int retried;
+        int failed;
+        int dead;
+        long latencyNanosSum;
+        long latencyNanosMax;
+        long maxQueueDelayMillis;
+
+        void record(long latencyNanos) {
+            attempted++;
+            latencyNanosSum += latencyNanos;
+            latencyNanosMax = Math.max(latencyNanosMax, latencyNanos);
+        }
+
+        RunReport toReport(long durationNanos) {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            double throughput = durationNanos > 0 ? attempted * 1_000_000_000.0 / durationNanos : 0.0;
+            return new RunReport(LocalDateTime.now(), attempted, sent, retried, failed, dead, durationMillis,
+                    Math.round(throughput * 10) / 10.0,
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanosSum / attempted),
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanosMax),
+                    maxQueueDelayMillis);
+        }
+    }
+
+    /**
+     * 대기열 처리 1회 결과
+     * @param throughputPerSecond 초당 전송 시도 수
+     * @param avgLatencyMillis    전송 요청 → 푸시 서비스 응답 평균
+     * @param maxQueueDelayMillis 대기열 등록 → 발송 성공까지 가장 오래 걸린 시간
+     */
+    public record RunReport(LocalDateTime finishedAt, int attempted, int sent, int retried, int failed, int dead,
+                            long durationMillis, double throughputPerSecond, long avgLatencyMillis,
+                            long maxLatencyMillis, long maxQueueDelayMillis) {
+    }
+}
@@ -1,64 +1,313 @@
 package com.example.backend.scheduler;
 
 import com.example.backend.dto.DashboardDataResponse;
+import com.example.backend.dto.PushTarget;
 import com.example.backend.dto.WeeklyStressDto;
-import com.example.backend.model.User;
+import com.example.backend.metrics.MetricsSource;
+import com.example.backend.model.PushOutbox;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.UserPreferenceRepository;
 import com.example.backend.repository.UserRepository;
-import com.example.backend.service.AnalyticsService;
+import com.example.backend.service.DashboardCache;
 import com.example.backend.service.WebPushService;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
-public class StressCheckScheduler {
+public class StressCheckScheduler implements MetricsSource {
 
     private static final Logger logger = LoggerFactory.getLogger(StressCheckScheduler.class);
 
+    private static final BigDecimal ALERT_THRESHOLD = BigDecimal.valueOf(4);
+    private static final int CHECK_PERIOD_DAYS = 7;
+    // 스케줄러가 멈췄다 돌아왔을 때 따라잡을 최대 분 수
+    private static final int MAX_CATCH_UP_MINUTES = 60;
+
     private final UserRepository userRepository;
-    private final AnalyticsService analyticsService;
+    private final UserPreferenceRepository preferenceRepository;
+    private final DailyCheckInRepository checkInRepository;
+    private final DashboardCache dashboardCache;
     private final WebPushService webPushService;
+    private final int chunkSize;
+    private final int maxUsersPerMinute;
+    private final String defaultZone;
+    private final LocalTime defaultTime;
+    private final Clock clock;
+
+    // 처리 대기 중인 (시간대, 분) 슬롯 - 스케줄러 스레드에서만 접근
+    // [수정] MAX_CATCH_UP_MINUTES보다 오래된 슬롯은 버림 (시간대 수 × 61분 이하로 유지)
+    private final Deque<Slot> backlog = new ArrayDeque<>();
+    private Instant lastScheduledMinute;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong slotsDropped = new AtomicLong();
+    // [신규] DB에 저장된 잘못된 시간대 (건너뛰고 한 번만 경고)
+    private final Set<String> invalidZones = ConcurrentHashMap.newKeySet();
+    private volatile int backlogSize;
+    private volatile RunReport lastReport;
+
+    @Autowired
+    public StressCheckScheduler(UserRepository userRepository,
+                                UserPreferenceRepository preferenceRepository,
+                                DailyCheckInRepository checkInRepository,
+                                DashboardCache dashboardCache,
+                                WebPushService webPushService,
+                                @Value("${stress-alert.chunk-size:500}") int chunkSize,
+                                @Value("${stress-alert.max-users-per-minute:2000}") int maxUsersPerMinute,
+                                @Value("${stress-alert.default-zone:Asia/Seoul}") String defaultZone,
+                                @Value("${stress-alert.default-time:09:00}") String defaultTime) {
+        this(userRepository, preferenceRepository, checkInRepository, dashboardCache, webPushService,
+                chunkSize, maxUsersPerMinute, defaultZone, LocalTime.parse(defaultTime), Clock.systemUTC());
+    }
+
+    StressCheckScheduler(UserRepository userRepository,
+                         UserPreferenceRepository preferenceRepository,
+                         DailyCheckInRepository checkInRepository,
+                         DashboardCache dashboardCache,
+                         WebPushService webPushService,
+                         int chunkSize, int maxUsersPerMinute, String defaultZone, LocalTime defaultTime, Clock clock) {
+        this.userRepository = userRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.checkInRepository = checkInRepository;
+        this.dashboardCache = dashboardCache;
+        this.webPushService = webPushService;
+        this.chunkSize = chunkSize;
+        this.maxUsersPerMinute = maxUsersPerMinute;
+        this.defaultZone = defaultZone;
+        this.defaultTime = defaultTime;
+        this.clock = clock;
+        // 시작 직전 분까지는 처리한 것으로 간주 (재시작 시 과거 알림을 몰아서 보내지 않음)
+        this.lastScheduledMinute = clock.instant().truncatedTo(ChronoUnit.MINUTES).minus(1, ChronoUnit.MINUTES);
+    }
 
     /**
      * [1. 정규 스케줄러]
-     * 매일 오전 9시에 모든 사용자를 대상으로 실행됩니다.
+     * [수정] 매분 실행 - 각 사용자의 시간대 기준 알림 시각(UserPreference.notificationTime, 미설정 시 default-time)이
+     * 이번 분에 해당하는 사용자만 검사합니다. (알림을 끈 사용자는 조회 단계에서 제외)
+     * 한 번에 검사하는 사용자 수는 max-users-per-minute 이하이며, 넘치는 만큼은 다음 분으로 넘겨 부하를 고르게 나눕니다.
+     * 대상자 알림은 청크 단위로 발송 대기열에 등록 (실제 전송은 PushOutboxWorker)
+     * [수정] 일광 절약 시간(DST) 전환
+     * - 시계가 앞으로 건너뛰면(예: 02:00 → 03:00) 건너뛴 현지 시각의 사용자는 직후 슬롯에서 함께 조회
+     * - 시계가 뒤로 돌아가 같은 현지 분이 두 번 오면, 대기열 등록이 사용자 + 현지 날짜로 한 번만 되므로 다시 보내지 않음
+     * [수정] 잘못된 시간대 값은 슬롯을 만들 때 걸러냄 (한 행 때문에 전체 알림이 멈추지 않도록),
+     * 한도 때문에 밀린 슬롯도 MAX_CATCH_UP_MINUTES가 지나면 버림
      */
-    @Scheduled(cron = "0 0 9 * * *") // cron 표현식 : 왼쪽부터 초, 분, 시, 일, 월, 요일
-    @Transactional(readOnly = true)
-    public void checkAllUsersStress() {
-        logger.info("오전 9시 스트레스 알림 스케줄러 시작...");
+    @Scheduled(cron = "0 * * * * *") // cron 표현식 : 왼쪽부터 초, 분, 시, 일, 월, 요일
+    public RunReport dispatchDueAlerts() {
+        long startedAt = System.nanoTime();
+        Instant currentMinute = clock.instant().truncatedTo(ChronoUnit.MINUTES);
+
+        // 1. 지난 실행 이후 새로 도래한 분마다 (시간대, 분) 슬롯 추가
+        Instant minute = lastScheduledMinute.plus(1, ChronoUnit.MINUTES);
+        if (Duration.between(minute, currentMinute).toMinutes() > MAX_CATCH_UP_MINUTES) {
+            logger.warn("스트레스 알림 스케줄러가 {} 이후 실행되지 않아 최근 {}분만 처리합니다.", minute, MAX_CATCH_UP_MINUTES);
+            minute = currentMinute.minus(MAX_CATCH_UP_MINUTES, ChronoUnit.MINUTES);
+        }
+        if (!minute.isAfter(currentMinute)) {
+            Map<String, ZoneId> zones = resolveZones(preferenceRepository.findNotificationTimezones(defaultZone));
+            for (; !minute.isAfter(currentMinute); minute = minute.plus(1, ChronoUnit.MINUTES)) {
+                for (Map.Entry<String, ZoneId> zone : zones.entrySet()) {
+                    backlog.addLast(new Slot(zone.getKey(), zone.getValue(), minute));
+                }
+            }
+            lastScheduledMinute = currentMinute;
+        }
+        trimBacklog(currentMinute.minus(MAX_CATCH_UP_MINUTES, ChronoUnit.MINUTES));
+
+        // 2. 앞 슬롯부터 이번 분 한도만큼 검사
+        int budget = maxUsersPerMinute;
+        int usersScanned = 0;
+        int chunks = 0;
+        int slotsCompleted = 0;
+        int alertsQueued = 0;
+        long queryNanos = 0;
+        long enqueueNanos = 0;
+
+        while (budget > 0 && !backlog.isEmpty()) {
+            Slot slot = backlog.peekFirst();
+            ZonedDateTime local = slot.minute().atZone(slot.zoneId());
+            LocalTime from = windowStart(slot.minute(), local);
+            LocalTime current = local.toLocalTime();
+            // 23:59 슬롯은 자정을 넘지 않도록 하루 끝까지
+            LocalTime to = current.equals(LocalTime.of(23, 59)) ? LocalTime.MAX : current.plusMinutes(1);
+            int pageSize = Math.min(chunkSize, budget);
+
+            long queryStartedAt = System.nanoTime();
+            List<PushTarget> targets = preferenceRepository.findDueTargets(slot.zone(), defaultZone, defaultTime,
+                    from, to, slot.afterId(), PageRequest.of(0, pageSize));
+            queryNanos += System.nanoTime() - queryStartedAt;
+            if (targets.isEmpty()) {
+                backlog.pollFirst();
+                slotsCompleted++;
+                continue;
+            }
+
+            ChunkResult result = evaluateChunk(targets, local.toLocalDate());
+            queryNanos += result.queryNanos();
+            enqueueNanos += result.enqueueNanos();
+            alertsQueued += result.alertsQueued();
+            usersScanned += targets.size();
+            chunks++;
+            budget -= targets.size();
+
+            if (targets.size() < pageSize) {
+                backlog.pollFirst();
+                slotsCompleted++;
+            } else {
+                slot.setAfterId(targets.get(targets.size() - 1).getUserId());
+            }
+        }
+        backlogSize = backlog.size();
+
+        RunReport report = new RunReport(LocalDateTime.now(clock), slotsCompleted, backlog.size(), usersScanned, chunks,
+                alertsQueued,
+                TimeUnit.NANOSECONDS.toMillis(queryNanos),
+                TimeUnit.NANOSECONDS.toMillis(enqueueNanos),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        runs.incrementAndGet();
+        if (usersScanned > 0) {
+            lastReport = report;
+            logger.info("스트레스 알림 처리. {}", report);
+        }
+        return report;
+    }
+
+    /**
+     * 시간대 문자열 → ZoneId (잘못된 값은 경고 후 제외)
+     * 새 값은 UserService에서 검증하지만, 기존 행이나 직접 수정한 행은 검증되지 않았을 수 있음
+     */
+    private Map<String, ZoneId> resolveZones(List<String> zones) {
+        Map<String, ZoneId> resolved = new LinkedHashMap<>();
+        for (String zone : zones) {
+            try {
+                resolved.put(zone, ZoneId.of(zone));
+            } catch (DateTimeException e) {
+                if (invalidZones.add(zone)) {
+                    logger.warn("잘못된 시간대 '{}' 사용자는 스트레스 알림에서 제외합니다: {}", zone, e.getMessage());
+                }
+            }
+        }
+        return resolved;
+    }
 
-        List<User> allUsers = userRepository.findAll();
-        for (User user : allUsers) {
-            // [수정] 분리된 로직 호출
-            checkSingleUserStress(user.getEmail(), false);
+    /**
+     * oldest보다 이전 분의 슬롯 제거 (슬롯은 분 순서로 쌓이므로 앞에서부터)
+     */
+    private void trimBacklog(Instant oldest) {
+        int dropped = 0;
+        while (!backlog.isEmpty() && backlog.peekFirst().minute().isBefore(oldest)) {
+            backlog.pollFirst();
+            dropped++;
+        }
+        if (dropped > 0) {
+            slotsDropped.addAndGet(dropped);
+            logger.warn("스트레스 알림 슬롯 {}개가 {}분 넘게 밀려 처리하지 않고 버립니다.", dropped, MAX_CATCH_UP_MINUTES);
+        }
+    }
+
+    /**
+     * 슬롯이 맡는 현지 시각 구간의 시작
+     * 보통은 슬롯의 현지 분이지만, 직전 분과의 사이에 시계가 앞으로 건너뛰었으면 건너뛴 구간의 시작(같은 날짜 안에서)
+     */
+    static LocalTime windowStart(Instant minute, ZonedDateTime local) {
+        LocalDateTime gapStart = minute.minus(1, ChronoUnit.MINUTES).atZone(local.getZone())
+                .toLocalDateTime().plusMinutes(1);
+        if (!gapStart.isBefore(local.toLocalDateTime())) {
+            return local.toLocalTime();
+        }
+        return gapStart.toLocalDate().equals(local.toLocalDate()) ? gapStart.toLocalTime() : LocalTime.MIN;
+    }
+
+    /**
+     * 구독자 한 청크의 알림 조건을 집계 쿼리 1번으로 판정하고, 대상자 알림을 대기열에 한 번에 등록
+     * @param today 사용자 시간대 기준 오늘
+     */
+    private ChunkResult evaluateChunk(List<PushTarget> targets, LocalDate today) {
+        LocalDate startDate = today.minusDays(CHECK_PERIOD_DAYS - 1);
+        String todayKorean = today.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.KOREAN);
+        // 기간 안에서 오늘과 같은 요일인 날짜들 (대시보드 요일 차트의 오늘 값과 같은 범위)
+        List<LocalDate> weekdayDates = new ArrayList<>();
+        for (LocalDate day = today; !day.isBefore(startDate); day = day.minusWeeks(1)) {
+            weekdayDates.add(day);
+        }
+
+        Map<Long, PushTarget> targetsById = new HashMap<>();
+        for (PushTarget target : targets) {
+            targetsById.put(target.getUserId(), target);
+        }
+        long queryStartedAt = System.nanoTime();
+        List<DailyCheckInRepository.StressConditionView> conditions =
+                checkInRepository.findStressConditions(targetsById.keySet(), startDate, today, weekdayDates);
+        long queryNanos = System.nanoTime() - queryStartedAt;
+
+        List<PushOutbox> notifications = new ArrayList<>();
+        for (DailyCheckInRepository.StressConditionView condition : conditions) {
+            String body = alertBody(averageStress(condition), weekdayAverage(condition), todayKorean);
+            if (body == null) {
+                continue;
+            }
+            PushTarget target = targetsById.get(condition.getUserId());
+            logger.info("알림 발송 대상: {} (이유: {})", target.getEmail(), body);
+            PushOutbox notification = PushOutbox.of(target, buildPayload("🧘 SoftDay 스트레스 알림", body));
+            notification.setDedupKey(dedupKey(target.getUserId(), today));
+            notifications.add(notification);
+        }
+        long enqueueNanos = 0;
+        int queued = 0;
+        if (!notifications.isEmpty()) {
+            long enqueueStartedAt = System.nanoTime();
+            queued = webPushService.enqueueAll(notifications);
+            enqueueNanos = System.nanoTime() - enqueueStartedAt;
         }
-        logger.info("스트레스 알림 스케줄러 종료.");
+        return new ChunkResult(queued, queryNanos, enqueueNanos);
     }
 
     /**
      * [2. 핵심 로직 (분리됨)]
      * 한 명의 사용자를 검사하고, 조건이 맞으면 알림을 전송합니다.
-     * @param email 검사할 사용자의 이메일
+     * [수정] 사용자 ID로 발송 정보(PushTarget)만 한 번 조회하고, 통계 조회에도 같은 ID를 넘김 (users 재조회 없음)
+     * @param userId 검사할 사용자의 ID
      * @param isTestCall 테스트 API를 통해 호출되었는지 여부
      * @return 알림으로 보낸 메시지 내용 (또는 "조건 미충족")
      */
     @Transactional(readOnly = true)
-    public String checkSingleUserStress(String email, boolean isTestCall) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null) {
-            logger.warn("알림 로직 실패: 사용자를 찾을 수 없음 {}", email);
+    public String checkSingleUserStress(Long userId, boolean isTestCall) {
+        PushTarget target = userRepository.findPushTarget(userId).orElse(null);
+        if (target == null) {
+            logger.warn("알림 로직 실패: 사용자를 찾을 수 없음 {}", userId);
             return "사용자를 찾을 수 없습니다.";
         }
 
@@ -66,33 +315,20 @@ public class StressCheckScheduler {
         DayOfWeek todayOfWeek = today.getDayOfWeek();
         String todayKorean = todayOfWeek.getDisplayName(TextStyle.SHORT, Locale.KOREAN);
 
-        // 1. 통계 데이터 조회
-        DashboardDataResponse data = analyticsService.getDashboardData(user.getEmail(), 7);
-        String notificationBody = null;
+        // 1. 통계 데이터 조회 ([수정] 오늘 대시보드를 이미 열었으면 캐시된 응답 사용)
+        DashboardDataResponse data = dashboardCache.get(target.getUserId(), CHECK_PERIOD_DAYS).response();
 
-        // 2. [조건 1] 7일 평균 스트레스 4 이상
-        if (data.getAverageStress().compareTo(BigDecimal.valueOf(4)) >= 0) {
-            notificationBody = String.format(
-                    "최근 7일간 평균 스트레스가 %.1f로 높습니다. 오늘 하루 마음을 챙겨보세요.",
-                    data.getAverageStress()
-            );
-        }
-
-        // 3. [조건 2] 오늘 요일 평균 스트레스 4 이상
-        if (notificationBody == null) {
-            for (WeeklyStressDto weeklyDto : data.getWeeklyStress()) {
-                if (weeklyDto.getDay().equals(todayKorean) && weeklyDto.getValue() >= 4.0) {
-                    notificationBody = String.format(
-                            "최근 %s요일마다 스트레스가 높았습니다 (평균 %.1f). 오늘은 조금 천천히 가보시는 건 어떨까요?",
-                            todayKorean,
-                            weeklyDto.getValue()
-                    );
-                    break;
-                }
+        // 2. [조건 1] 7일 평균 스트레스 4 이상 / [조건 2] 오늘 요일 평균 스트레스 4 이상
+        double todayWeekdayAverage = 0.0;
+        for (WeeklyStressDto weeklyDto : data.getWeeklyStress()) {
+            if (weeklyDto.getDay().equals(todayKorean)) {
+                todayWeekdayAverage = weeklyDto.getValue();
+                break;
             }
         }
+        String notificationBody = alertBody(data.getAverageStress(), todayWeekdayAverage, todayKorean);
 
-        // 4. [테스트용 보정] 조건이 안 맞아도 테스트 호출이면 무조건 알림
+        // 3. [테스트용 보정] 조건이 안 맞아도 테스트 호출이면 무조건 알림
         String title = "🧘 SoftDay 스트레스 알림";
         if (notificationBody == null && isTestCall) {
             title = "🧘 SoftDay 테스트 알림";
@@ -103,20 +339,129 @@ public class StressCheckScheduler {
             );
         }
 
-        // 5. 알림 발송
+        // 4. 알림 발송
         if (notificationBody != null) {
-            logger.info("알림 발송 대상: {} (이유: {})", user.getEmail(), notificationBody);
+            logger.info("알림 발송 대상: {} (이유: {})", target.getEmail(), notificationBody);
 
-            String payloadJson = String.format(
-                    "{\"title\": \"%s\", \"body\": \"%s\", \"url\": \"/statistics\"}",
-                    title,
-                    notificationBody.replace("\"", "\\\"") // JSON 이스케이프
-            );
-
-            webPushService.sendNotification(user, payloadJson);
+            webPushService.enqueue(target, buildPayload(title, notificationBody));
             return notificationBody;
         }
 
         return "알림 조건 미충족";
     }
-}
\ No newline at end of file
+
+    /**
+     * 알림 조건 판정 (정규 스케줄러와 단건 검사가 같은 기준을 사용)
+     * @return 알림 문구 (조건 미충족 시 null)
+     */
+    private String alertBody(BigDecimal averageStress, double todayWeekdayAverage, String todayKorean) {
+        // [조건 1] 7일 평균 스트레스 4 이상
+        if (averageStress.compareTo(ALERT_THRESHOLD) >= 0) {
+            return String.format(
+                    "최근 7일간 평균 스트레스가 %.1f로 높습니다. 오늘 하루 마음을 챙겨보세요.",
+                    averageStress
+            );
+        }
+        // [조건 2] 오늘 요일 평균 스트레스 4 이상
+        if (todayWeekdayAverage >= 4.0) {
+            return String.format(
+                    "최근 %s요일마다 스트레스가 높았습니다 (평균 %.1f). 오늘은 조금 천천히 가보시는 건 어떨까요?",
+                    todayKorean,
+                    todayWeekdayAverage
+            );
+        }
+        return null;
+    }
+
+    // 대시보드 평균과 같은 계산 (소수 둘째 자리 반올림)
+    private static BigDecimal averageStress(DailyCheckInRepository.StressConditionView condition) {
+        if (condition.getCheckinCount() == null || condition.getCheckinCount() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(condition.getStressSum())
+                .divide(BigDecimal.valueOf(condition.getCheckinCount()), 2, RoundingMode.HALF_UP);
+    }
+
+    private static double weekdayAverage(DailyCheckInRepository.StressConditionView condition) {
+        Long count = condition.getWeekdayCheckinCount();
+        return (count != null && count > 0) ? (double) condition.getWeekdayStressSum() / count : 0.0;
+    }
+
+    // 정규 스트레스 알림은 사용자 시간대 기준 하루 한 번
+    static String dedupKey(Long userId, LocalDate localDate) {
+        return "stress-alert:" + userId + ":" + localDate;
+    }
+
+    private static String buildPayload(String title, String body) {
+        return String.format(
+                "{\"title\": \"%s\", \"body\": \"%s\", \"url\": \"/statistics\"}",
+                title,
+                body.replace("\"", "\\\"") // JSON 이스케이프
+        );
+    }
+
+    @Override
+    public String name() {
+        return "stressCheckScheduler";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("runs", runs.get());
+        snapshot.put("backlogSlots", backlogSize);
+        snapshot.put("slotsDropped", slotsDropped.get());
+        snapshot.put("invalidZones", List.copyOf(invalidZones));
+        snapshot.put("lastRun", lastReport);
+        return snapshot;
+    }
+
+    /**
+     * 정규 스케줄러 1회(1분) 실행 결과
+     * @param slotsCompleted 이번 실행에서 끝난 (시간대, 분) 슬롯 수
+     * @param backlogSlots   한도 초과로 다음 분으로 넘긴 슬롯 수
+     * @param alertsQueued   조건을 충족해 발송 대기열에 등록한 수 (전송 결과는 PushOutboxWorker 지표)
+     * @param queryMillis    구독자 조회 + 조건 집계에 쓴 시간 합계
+     * @param enqueueMillis  대기열 등록에 쓴 시간 합계
+     */
+    public record RunReport(LocalDateTime finishedAt, int slotsCompleted, int backlogSlots, int usersScanned,
+                            int chunks, int alertsQueued, long queryMillis, long enqueueMillis, long totalMillis) {
+    }
+
+    private record ChunkResult(int alertsQueued, long queryNanos, long enqueueNanos) {
+    }
+
+    // 같은 시간대 + 같은 분에 알림 받을 사용자 묶음 (afterId: 한도 때문에 나눠 처리할 때 이어서 읽을 위치)
+    private static final class Slot {
+        private final String zone;
+        private final ZoneId zoneId;
+        private final Instant minute;
+        private long afterId;
+
+        Slot(String zone, ZoneId zoneId, Instant minute) {
+            this.zone = zone;
+            this.zoneId = zoneId;
+            this.minute = minute;
+        }
+
+        String zone() {
+            return zone;
+        }
+
+        ZoneId zoneId() {
+            return zoneId;
+        }
+
+        Instant minute() {
+            return minute;
+        }
+
+        long afterId() {
+            return afterId;
+        }
+
+        void setAfterId(long afterId) {
+            this.afterId = afterId;
+        }
+    }
+}
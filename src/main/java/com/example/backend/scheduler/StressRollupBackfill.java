@@ -0,0 +1,51 @@
+package com.example.backend.scheduler;
+
+import com.example.backend.repository.StressRollupRepository;
+import com.example.backend.service.StressRollupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * [신규] 서버 시작 시 백필 완료 표시가 없는 사용자의 기존 체크인을 버킷으로 백필
+ * 버킷은 체크인 생성 시에만 갱신되므로, 도입 이전에 쌓인 체크인은 여기서 한 번 반영합니다.
+ * [수정] 사용자별 백필은 다시 계산 후 덮어쓰기 + 사용자 행 잠금이라, 여러 인스턴스가 동시에 시작해도 안전합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StressRollupBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(StressRollupBackfill.class);
+
+    private final StressRollupRepository rollupRepository;
+    private final StressRollupService rollupService;
+
+    @Value("${analytics.rollup.backfill-on-startup:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingRollups() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> userIds = rollupRepository.findUserIdsPendingBackfill();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        logger.info("집계 버킷 백필 시작: 대상 사용자 {}명", userIds.size());
+        for (Long userId : userIds) {
+            try {
+                int checkIns = rollupService.backfill(userId); // 사용자별 트랜잭션
+                logger.info("유저 {} 체크인 {}건 백필 완료", userId, checkIns);
+            } catch (Exception e) {
+                logger.error("유저 {} 집계 버킷 백필 실패: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * [신규] 컨트롤러 파라미터에 현재 인증된 사용자(UserPrincipal)를 주입
+ * 인증 필터가 만든 principal을 그대로 쓰므로 DB 조회가 없습니다. 서비스에는 principal의 ID를 넘깁니다.
+ * 예) public ResponseEntity<?> me(@CurrentUser UserPrincipal user)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -3,6 +3,9 @@ package com.example.backend.security;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,6 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 // Spring Security가 사용자를 인증할 때, 실제 데이터베이스에서 사용자 정보를 조회하는 역할
 @Service
@@ -18,15 +26,25 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    // [신규] 관리자 권한(ROLE_ADMIN)을 받을 이메일 목록 (쉼표 구분, 대소문자 무시)
+    private Set<String> adminEmails = Set.of();
+
+    @Value("${security.admin-emails:}")
+    void setAdminEmails(String[] emails) {
+        this.adminEmails = Arrays.stream(emails)
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org
-                .springframework.security.core.userdetails.User(user.getEmail(),
-                user.getPassword(), new ArrayList<>());
+        return toPrincipal(user);
     }
 
     @Transactional
@@ -34,8 +52,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findById(id).orElseThrow(
                 () -> new UsernameNotFoundException("User not found with id: " + id)
         );
-        return new org
-                .springframework.security.core.userdetails.User(user.getEmail(),
-                user.getPassword(), new ArrayList<>());
+        return toPrincipal(user);
+    }
+
+    // [수정] 사용자 ID를 담은 principal 반환 (JWT uid 클레임, 컨트롤러의 ID 기반 호출에 사용)
+    // 관리자 이메일이면 ROLE_ADMIN도 부여 (roles 클레임에 담기므로 다음 로그인부터 반영)
+    UserPrincipal toPrincipal(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority(UserPrincipal.ROLE_USER));
+        if (user.getEmail() != null && adminEmails.contains(user.getEmail().toLowerCase(Locale.ROOT))) {
+            authorities.add(new SimpleGrantedAuthority(UserPrincipal.ROLE_ADMIN));
+        }
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), authorities);
     }
 }
@@ -1,5 +1,6 @@
 package com.example.backend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,17 +26,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // OncePerRe
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws
             ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request); // Authorization 헤더에서 "Bearer" 접두사를 제거하고 토큰을 추출
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-
-                UserDetails userDetails =
-                        customUserDetailsService.loadUserByUsername(username);
+            // [수정] 검증과 클레임 추출을 한 번의 파싱으로 처리
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt).orElse(null) : null;
+            if (claims != null) {
+                // [신규] uid/roles 클레임이 있는 토큰은 DB 조회 없이 인증
+                UserDetails userDetails = tokenProvider.getPrincipal(claims);
+                if (userDetails == null) {
+                    // 기존 형식 토큰: [수정] 짧은 시간 동안은 캐시된 사용자 정보 사용 (요청마다 users 조회하지 않음)
+                    userDetails = principalCache.get(claims.getSubject(), customUserDetailsService::loadUserByUsername);
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
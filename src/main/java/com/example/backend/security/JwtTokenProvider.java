@@ -2,59 +2,90 @@ package com.example.backend.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 // JWT 토큰을 생성하고 검증하며, 토큰에서 정보를 추출하는 유틸리티 클래스
+// [수정] 서명 키와 파서는 시작 시 한 번만 만들고 재사용 (JwtParser는 불변 객체라 스레드 간 공유 가능)
 @Component
 public class JwtTokenProvider {
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
 
-    @Value("${app.jwtExpirationInMs}")
-    private int jwtExpirationInMs;
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationInMs;
+    // [신규] true면 토큰에 uid/roles 클레임을 넣고, 필터가 DB 조회 없이 클레임만으로 인증
+    private final boolean stateless;
+
+    public JwtTokenProvider(@Value("${app.jwtSecret}") String jwtSecret,
+                            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs,
+                            @Value("${security.jwt.stateless:true}") boolean stateless) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.stateless = stateless;
     }
 
     // 인증이 성공한 사용자 정보를 받아 JWT 토큰을 생성
+    // [수정] principal이 UserPrincipal이면 사용자 ID(uid)와 권한(roles)도 클레임으로 담음
     public String generateToken(Authentication authentication) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName())
                 .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(expiryDate);
+        if (stateless && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            builder.claim(CLAIM_USER_ID, principal.getId())
+                    .claim(CLAIM_ROLES, principal.roles());
+        }
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    // 토큰 문자열을 파싱하여 토큰에 저장된 사용자 이메일을 반환
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+    /**
+     * [신규] 서명/만료 검증과 클레임 추출을 한 번의 파싱으로 처리
+     * @return 유효한 토큰이면 클레임, 아니면(서명 불일치, 만료, 형식 오류) empty
+     */
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // MalformedJwtException, ExpiredJwtException, UnsupportedJwtException, SignatureException
+            logger.debug("유효하지 않은 JWT: {}", ex.getMessage());
+            return Optional.empty();
+        }
     }
 
-    // 토큰이 유효한지(서명이 올바른지, 만료되지 않았는지) 검사
-    public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (Exception ex) {
-            // MalformedJwtException, ExpiredJwtException,UnsupportedJwtException, IllegalArgumentException
-            // 위 예외들을 로깅하는 것이 좋습니다.
+    /**
+     * [신규] uid/roles 클레임으로 인증 사용자 복원 (DB 조회 없음)
+     * 클레임이 없는 기존 형식의 토큰이거나 stateless 모드가 꺼져 있으면 null → 호출 측에서 DB 조회로 대체
+     * 주의: 토큰이 만료될 때까지는 탈퇴/권한 변경이 반영되지 않으므로 토큰 유효 기간(app.jwtExpirationInMs)을 짧게 유지합니다.
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        if (!stateless) {
+            return null;
+        }
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            return null;
         }
-        return false;
+        return UserPrincipal.fromClaims(userId.longValue(), claims.getSubject(),
+                roles.stream().map(String::valueOf).toList());
     }
 }
@@ -0,0 +1,78 @@
+package com.example.backend.security;
+
+import com.example.backend.cache.TtlLruCache;
+import com.example.backend.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * [신규] JwtAuthenticationFilter용 인증 사용자(principal) 캐시
+ * 토큰 subject(이메일) → UserDetails 를 짧은 TTL 동안 보관해 요청마다 users 테이블을 조회하지 않습니다.
+ * (User 엔티티 로드 시 userPreference, initialSurvey 까지 함께 조회되므로 적중 1번 = 쿼리 여러 개 절약)
+ * 프로필이 바뀌면 UserService가 invalidate 합니다.
+ * [수정] uid/roles 클레임이 있는 토큰은 캐시 없이 클레임만으로 인증하므로, 이 캐시는 클레임이 없는 기존 토큰에만 쓰입니다.
+ */
+@Component
+public class PrincipalCache implements MetricsSource {
+
+    private final boolean enabled;
+    private final TtlLruCache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.enabled:true}") boolean enabled,
+                          @Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+                          @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new TtlLruCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 loader로 조회해 저장
+     * 비밀번호 해시는 인증 이후 필요 없으므로 지운 사본을 보관합니다.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        UserDetails cached = cache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = loader.apply(username);
+        UserDetails principal = loaded instanceof UserPrincipal userPrincipal
+                ? userPrincipal.withoutPassword()
+                : new User(loaded.getUsername(), "", loaded.isEnabled(), loaded.isAccountNonExpired(),
+                        loaded.isCredentialsNonExpired(), loaded.isAccountNonLocked(), loaded.getAuthorities());
+        cache.put(username, principal);
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    @Override
+    public String name() {
+        return "principalCache";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("size", cache.size());
+        snapshot.put("hits", cache.hits());
+        snapshot.put("misses", cache.misses());
+        snapshot.put("hitRatio", cache.hitRatio());
+        // 적중한 요청마다 사용자 조회(loadUserByUsername)를 한 번 건너뜀
+        snapshot.put("dbLookupsSaved", cache.hits());
+        snapshot.put("evictions", cache.evictions());
+        snapshot.put("expirations", cache.expirations());
+        return snapshot;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * [신규] 인증된 사용자 (SecurityContext의 principal)
+ * 이메일뿐 아니라 사용자 ID도 담고 있어서, 컨트롤러/서비스가 이메일로 users를 다시 조회하지 않고 ID를 바로 쓸 수 있습니다.
+ * getUsername()은 기존과 같이 이메일을 반환하므로 authentication.getName()을 쓰는 코드는 그대로 동작합니다.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    public static final String ROLE_USER = "ROLE_USER";
+    // [신규] 운영 지표(/api/metrics) 등 내부 정보 조회 권한
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * JWT 클레임(uid, sub, roles)으로 복원 - 비밀번호 없음
+     */
+    public static UserPrincipal fromClaims(Long id, String email, Collection<String> roles) {
+        return new UserPrincipal(id, email, "", roles.stream().map(SimpleGrantedAuthority::new).toList());
+    }
+
+    /**
+     * 인증 이후에는 비밀번호 해시가 필요 없으므로 지운 사본 (캐시 보관용)
+     */
+    public UserPrincipal withoutPassword() {
+        return new UserPrincipal(id, email, "", authorities);
+    }
+
+    public List<String> roles() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.backend.service;
+
+import com.example.backend.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 대화 분석 요청을 모아서(debounce) 실행
+ * - 채팅 턴마다 바로 분석하지 않고, 마지막 요청 후 debounce-seconds 동안 조용하면 한 번만 실행
+ * - 연속 입력이 max-turns 턴 쌓이면 기다리지 않고 바로 실행
+ * - 새 요청이 오면 대기 중이던 이전 요청은 버림 (가장 최근 대화 기준으로 분석)
+ * - 같은 사용자의 분석은 동시에 하나만 실행 (실행 중 요청이 오면 끝난 뒤 한 번 더 실행)
+ *   → 같은 UserAnalysis 행을 두고 분석끼리 경쟁하지 않음
+ */
+@Component
+public class AnalysisDebouncer implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisDebouncer.class);
+
+    private final AnalysisService analysisService;
+    private final long debounceMs;
+    private final int maxTurns;
+
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<Long, UserState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AnalysisDebouncer(AnalysisService analysisService,
+                             @Value("${analysis.debounce-seconds:10}") long debounceSeconds,
+                             @Value("${analysis.max-turns:5}") int maxTurns) {
+        this.analysisService = analysisService;
+        this.debounceMs = debounceSeconds * 1000;
+        this.maxTurns = maxTurns;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "analysis-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 채팅 한 턴이 저장된 뒤 호출 (즉시 반환)
+     */
+    public void requestAnalysis(Long userId, Long conversationId) {
+        requested.incrementAndGet();
+        states.compute(userId, (id, state) -> {
+            if (state == null) {
+                state = new UserState();
+            }
+            synchronized (state) {
+                if (state.pendingGeneration != 0) {
+                    dropped.incrementAndGet(); // 아직 실행되지 않은 이전 요청은 대체됨
+                }
+                state.conversationId = conversationId;
+                state.turns++;
+                long delayMs = state.turns >= maxTurns ? 0 : debounceMs;
+                schedule(userId, state, delayMs);
+            }
+            return state;
+        });
+    }
+
+    /**
+     * state 잠금을 잡은 상태에서 호출
+     */
+    private void schedule(Long userId, UserState state, long delayMs) {
+        long generation = ++state.lastGeneration;
+        state.pendingGeneration = generation;
+        scheduler.schedule(() -> fire(userId, state, generation), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(Long userId, UserState state, long generation) {
+        Long conversationId;
+        synchronized (state) {
+            if (state.pendingGeneration != generation) {
+                return; // 더 최근 요청으로 대체됨
+            }
+            if (state.running) {
+                // 이전 분석이 끝나면 최신 대화로 한 번 더 실행
+                state.pendingGeneration = 0;
+                state.rerun = true;
+                deferred.incrementAndGet();
+                return;
+            }
+            state.pendingGeneration = 0;
+            state.turns = 0;
+            state.running = true;
+            conversationId = state.conversationId;
+        }
+
+        dispatched.incrementAndGet();
+        try {
+            analysisService.analyzeConversationAsync(userId, conversationId)
+                    .whenComplete((result, e) -> finished(userId, state, e));
+        } catch (RuntimeException e) {
+            // 분석 실행기가 작업을 거부한 경우 등
+            finished(userId, state, e);
+        }
+    }
+
+    private void finished(Long userId, UserState state, Throwable error) {
+        if (error != null) {
+            failed.incrementAndGet();
+            logger.warn("대화 분석 실행 실패 (User ID: {}): {}", userId, error.getMessage());
+        }
+        synchronized (state) {
+            state.running = false;
+            if (state.rerun) {
+                state.rerun = false;
+                schedule(userId, state, 0);
+            }
+        }
+        // 할 일이 없으면 상태 제거 (requestAnalysis의 compute와 같은 키 잠금으로 직렬화)
+        states.computeIfPresent(userId, (id, current) -> {
+            synchronized (current) {
+                return current.isIdle() ? null : current;
+            }
+        });
+    }
+
+    /**
+     * 실행을 기다리는 분석 요청 수 (사용자 기준)
+     */
+    public int queueDepth() {
+        int depth = 0;
+        for (UserState state : states.values()) {
+            synchronized (state) {
+                if (state.pendingGeneration != 0 || state.rerun) {
+                    depth++;
+                }
+            }
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        int pending = queueDepth();
+        if (pending > 0) {
+            logger.info("종료 시점에 대기 중이던 대화 분석 {}건은 실행하지 않습니다.", pending);
+        }
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "analysisDebouncer";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("queueDepth", queueDepth());
+        snapshot.put("requested", requested.get());
+        snapshot.put("dispatched", dispatched.get());
+        snapshot.put("dropped", dropped.get());
+        snapshot.put("deferred", deferred.get());
+        snapshot.put("failed", failed.get());
+        return snapshot;
+    }
+
+    /**
+     * 사용자별 상태 (모든 필드는 state 잠금 안에서만 접근)
+     */
+    private static class UserState {
+        private Long conversationId;
+        private int turns;
+        private long lastGeneration;
+        private long pendingGeneration; // 0이면 대기 중인 요청 없음
+        private boolean running;
+        private boolean rerun;
+
+        private boolean isIdle() {
+            return pendingGeneration == 0 && !running && !rerun;
+        }
+    }
+}
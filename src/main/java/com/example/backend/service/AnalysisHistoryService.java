@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChatConversation;
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.User;
+import com.example.backend.model.UserAnalysis;
+import com.example.backend.repository.ChatConversationRepository;
+import com.example.backend.repository.ChatMessageRepository;
+import com.example.backend.repository.UserAnalysisRepository;
+import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [신규] 대화 분석의 DB 작업을 짧은 트랜잭션 두 개로 나눠 담당 (ChatHistoryService와 같은 구조)
+ * 1. prepare : 사용자/대화 확인, 분석할 메시지 로드
+ * 2. save    : 분석 결과(UserAnalysis) 및 대화 롤링 요약 저장
+ * Gemini 분석 호출은 두 트랜잭션 사이에서 이뤄지므로, 모델 응답을 기다리는 동안 DB 커넥션을 잡지 않습니다.
+ */
+@Service
+public class AnalysisHistoryService {
+
+    private final UserRepository userRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final UserAnalysisRepository userAnalysisRepository;
+    private final ChatConversationRepository chatConversationRepository;
+
+    // 한 번에 요약에 반영하는 최대 메시지 수
+    private static final int SUMMARY_BATCH_SIZE = 20;
+
+    // 롤링 요약 모드 (ChatPromptBuilder와 같은 설정)
+    private final boolean summaryMode;
+
+    public AnalysisHistoryService(UserRepository userRepository,
+                                  ChatMessageRepository chatMessageRepository,
+                                  UserAnalysisRepository userAnalysisRepository,
+                                  ChatConversationRepository chatConversationRepository,
+                                  @Value("${chat.context.summary-mode:true}") boolean summaryMode) {
+        this.userRepository = userRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.userAnalysisRepository = userAnalysisRepository;
+        this.chatConversationRepository = chatConversationRepository;
+        this.summaryMode = summaryMode;
+    }
+
+    /**
+     * 분석할 메시지 로드 (오래된 -> 최신)
+     * 롤링 요약 모드에서는 기존 요약 + 요약에 아직 반영되지 않은 메시지만
+     */
+    @Transactional(readOnly = true)
+    public AnalysisInput prepare(Long userId, Long conversationId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+        ChatConversation conversation = chatConversationRepository.findById(conversationId)
+                .orElseThrow(() -> new RuntimeException("Conversation not found: " + conversationId));
+
+        List<ChatMessage> history;
+        String previousSummary = null;
+        if (summaryMode) {
+            previousSummary = conversation.getRollingSummary();
+            SummaryWatermark watermark = SummaryWatermark.of(conversation);
+            history = watermark == null
+                    ? chatMessageRepository.findTop20ByChatConversationOrderByCreatedAtAscIdAsc(conversation)
+                    : chatMessageRepository.findUnsummarized(conversation, watermark.createdAt(), watermark.messageId(),
+                    PageRequest.of(0, SUMMARY_BATCH_SIZE));
+        } else {
+            history = chatMessageRepository.findTop10ByChatConversationOrderByCreatedAtDesc(conversation);
+            Collections.reverse(history);
+        }
+        return new AnalysisInput(user.getEmail(), previousSummary, history);
+    }
+
+    /**
+     * 분석 결과 저장 (UserAnalysis + 롤링 요약 모드면 대화 요약/워터마크)
+     * @param analyzed prepare에서 받은 메시지 (워터마크 = 마지막 메시지의 (createdAt, id))
+     */
+    @Transactional
+    public void save(Long userId, Long conversationId, AnalysisResult result, List<ChatMessage> analyzed) {
+        User user = userRepository.getReferenceById(userId);
+        UserAnalysis analysis = userAnalysisRepository.findByUser(user)
+                .orElse(new UserAnalysis(user));
+        analysis.setConversationSummary(result.summary());
+        analysis.setCurrentSentiment(result.sentiment());
+        userAnalysisRepository.save(analysis);
+
+        if (summaryMode) {
+            // 대화 롤링 요약 갱신 (변경 감지로 저장)
+            ChatConversation conversation = chatConversationRepository.findById(conversationId)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found: " + conversationId));
+            conversation.setRollingSummary(result.summary());
+            SummaryWatermark.of(analyzed.get(analyzed.size() - 1)).applyTo(conversation);
+        }
+    }
+
+    /**
+     * 분석 한 번에 필요한 로드 결과 (트랜잭션 밖에서 사용하므로 지연 로딩 없는 값만)
+     * @param previousSummary 롤링 요약 모드의 기존 요약 (없으면 null)
+     * @param history 분석할 메시지 (오래된 -> 최신)
+     */
+    public record AnalysisInput(String userEmail, String previousSummary, List<ChatMessage> history) {
+    }
+}
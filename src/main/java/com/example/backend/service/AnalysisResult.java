@@ -0,0 +1,18 @@
+package com.example.backend.service;
+
+import com.example.backend.client.ResponseSchema;
+
+/**
+ * [신규] 대화 분석 모델 응답 (구조화 출력 스키마와 같은 필드)
+ */
+public record AnalysisResult(String summary, String sentiment) {
+
+    public static final ResponseSchema<AnalysisResult> SCHEMA = ResponseSchema.builder(AnalysisResult::fromFields)
+            .field("summary", "대화 전체의 핵심 내용 2줄 요약")
+            .field("sentiment", "사용자의 주된 감정", "긍정", "부정", "중립", "복합")
+            .build();
+
+    private static AnalysisResult fromFields(String[] fields) {
+        return new AnalysisResult(fields[0], fields[1]);
+    }
+}
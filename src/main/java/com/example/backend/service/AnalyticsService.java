@@ -4,26 +4,20 @@ import com.example.backend.dto.DailyStressDto;
 import com.example.backend.dto.DashboardDataResponse;
 import com.example.backend.dto.StressCauseDto;
 import com.example.backend.dto.WeeklyStressDto;
-import com.example.backend.model.DailyCheckIn;
 import com.example.backend.model.DailyStatistics;
-import com.example.backend.model.StressCause;
+import com.example.backend.model.StressRollup;
 import com.example.backend.model.User;
-import com.example.backend.repository.DailyCheckInRepository;
 import com.example.backend.repository.DailyStatisticsRepository;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,7 +25,7 @@ public class AnalyticsService {
 
     private final UserRepository userRepository;
     private final DailyStatisticsRepository statsRepository;
-    private final DailyCheckInRepository checkInRepository; // StressCause 집계를 위해 필요
+    private final StressRollupService rollupService; // [수정] 요일별/원인 집계는 사전 집계 버킷에서 읽음
 
     // 프론트 Mock 데이터와 동일한 색상 매핑
     private static final Map<String, String> CAUSE_COLORS = Map.of(
@@ -43,29 +37,44 @@ public class AnalyticsService {
     );
     private static final String DEFAULT_COLOR = "#6B7280"; // 잿빛
 
+    // [수정] 요청마다 만들던 요일 이름을 상수로
+    private static final DayOfWeek[] DAYS_IN_ORDER = DayOfWeek.values();
+    private static final String[] DAY_NAMES = new String[DAYS_IN_ORDER.length];
+
+    static {
+        for (DayOfWeek day : DAYS_IN_ORDER) {
+            // "월", "화" 등으로 변환
+            DAY_NAMES[day.ordinal()] = day.getDisplayName(TextStyle.SHORT, Locale.KOREAN);
+        }
+    }
+
+    /**
+     * [수정] 인증 principal의 사용자 ID로 조회 - 사용자는 프록시 참조(FK 조건)로만 쓰므로 users 조회 없음
+     */
     @Transactional(readOnly = true)
-    public DashboardDataResponse getDashboardData(String email, int period) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+    public DashboardDataResponse getDashboardData(Long userId, int period) {
+        User user = userRepository.getReferenceById(userId);
 
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(period - 1);
 
-        // 1. DailyStatistics 데이터 조회 (요약 카드 + 일별 차트)
+        // 1. DailyStatistics 데이터 조회 (일별 차트 - 날짜마다 점 하나)
         List<DailyStatistics> statsList = statsRepository.findByUserAndStatDateBetweenOrderByStatDateDesc(user, startDate, endDate);
 
-        // 2. DailyCheckIn 데이터 조회 (요일별 차트 + 원인 분석)
-        // (DailyCheckInRepository에 findByUserAndCheckinDateBetween이 정의되어 있어야 함)
-        List<DailyCheckIn> checkInList = checkInRepository.findByUserAndCheckinDateBetween(user, startDate, endDate);
+        // 2. [수정] 사전 집계 버킷 조회 (요약 카드 + 요일별 차트 + 원인 분석)
+        // 기간을 월/주/일 버킷으로 나눠 읽으므로 기간이 길어도 버킷 수만큼만 읽음 (체크인/원인 행을 읽지 않음)
+        List<StressRollup> rollups = rollupService.findCovering(user, startDate, endDate);
 
         DashboardDataResponse response = new DashboardDataResponse();
         response.setTotalDays(period);
 
-        // 3. 요약 카드 및 일별 차트 데이터 집계 (statsList 사용)
-        populateSummaryAndDailyChart(response, statsList);
+        // 3. [수정] 버킷을 한 번만 순회해 int/long 배열에 누적 (요약 카드, 요일별 차트, 원인 분석이 같은 결과를 사용)
+        StressAggregator aggregator = StressAggregator.ofRollups(rollups);
+        populateSummary(response, aggregator);
+        populateDailyChart(response, statsList);
 
-        // 4. 요일별 차트 및 원인 분석 집계 (checkInList 사용)
-        populateWeeklyChartAndCauses(response, checkInList);
+        // 4. 요일별 차트 및 원인 분석 (BigDecimal/DTO 변환은 여기서 한 번만)
+        populateWeeklyChartAndCauses(response, aggregator);
 
         // 5. 콘텐츠 시청 (요청대로 빈 리스트 반환)
         response.setContentViews(Collections.emptyList());
@@ -76,94 +85,44 @@ public class AnalyticsService {
         return response;
     }
 
-    private void populateSummaryAndDailyChart(DashboardDataResponse response, List<DailyStatistics> statsList) {
-        int totalCheckIns = 0;
-        BigDecimal stressSum = BigDecimal.ZERO;
-        int stressCount = 0;
-        List<DailyStressDto> dailyStressData = new ArrayList<>();
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("M월 d일");
+    // [수정] 아래 populate* 메서드는 DB 접근 없는 순수 집계라 static 공개 (src/jmh AnalyticsServiceBenchmark에서 직접 호출)
+    public static void populateSummary(DashboardDataResponse response, StressAggregator aggregator) {
+        response.setCheckInCount((int) aggregator.checkinCount());
 
-        for (DailyStatistics stat : statsList) {
-            totalCheckIns += stat.getCheckinCount();
+        // 평균 스트레스 계산 (하루 한 번 체크인이므로 일별 평균의 평균과 같음)
+        response.setAverageStress(aggregator.average(2));
+    }
 
+    public static void populateDailyChart(DashboardDataResponse response, List<DailyStatistics> statsList) {
+        // [수정] 차트는 시간순(오름차순)이어야 하므로 내림차순 조회 결과를 뒤에서부터 담음 (reverse 없이 크기 고정 리스트 1개)
+        List<DailyStressDto> dailyStressData = new ArrayList<>(statsList.size());
+        for (int i = statsList.size() - 1; i >= 0; i--) {
+            DailyStatistics stat = statsList.get(i);
             BigDecimal avgStress = stat.getAvgStressLevel();
-            if (avgStress != null && avgStress.compareTo(BigDecimal.ZERO) > 0) {
-                stressSum = stressSum.add(avgStress);
-                stressCount++;
-            }
-
-            // 차트 데이터 추가 (날짜 포맷)
-            String formattedDate = stat.getStatDate().format(dateFormatter);
+            // 차트 데이터 추가 ("M월 d일" - DateTimeFormatter 대신 숫자를 바로 이어 붙임)
+            LocalDate date = stat.getStatDate();
+            String formattedDate = date.getMonthValue() + "월 " + date.getDayOfMonth() + "일";
             dailyStressData.add(new DailyStressDto(formattedDate, avgStress != null ? avgStress : BigDecimal.ZERO));
         }
-
-        response.setCheckInCount(totalCheckIns);
-
-        // 평균 스트레스 계산
-        if (stressCount > 0) {
-            BigDecimal avgStress = stressSum.divide(new BigDecimal(stressCount), 2, RoundingMode.HALF_UP);
-            response.setAverageStress(avgStress);
-        } else {
-            response.setAverageStress(BigDecimal.ZERO);
-        }
-
-        // 차트는 시간순(오름차순)이어야 하므로 역순 정렬
-        Collections.reverse(dailyStressData);
         response.setDailyStress(dailyStressData);
     }
 
-    private void populateWeeklyChartAndCauses(DashboardDataResponse response, List<DailyCheckIn> checkInList) {
-        // [요일, [스트레스 합계, 카운트]]
-        Map<DayOfWeek, double[]> weeklyStressMap = new EnumMap<>(DayOfWeek.class);
-        // [원인 타입, 카운트]
-        Map<String, Long> causeCounts = new HashMap<>();
-        long totalCauses = 0;
-
-        for (DailyCheckIn checkIn : checkInList) {
-            // 1. 요일별 스트레스 집계
-            DayOfWeek day = checkIn.getCheckinDate().getDayOfWeek();
-            double[] stats = weeklyStressMap.computeIfAbsent(day, k -> new double[2]);
-            stats[0] += checkIn.getStressLevel(); // 합계
-            stats[1]++; // 카운트
-
-            // 2. 원인별 집계
-            if (checkIn.getStressCauses() != null) {
-                for (StressCause cause : checkIn.getStressCauses()) {
-                    causeCounts.merge(cause.getCauseType(), 1L, Long::sum);
-                    totalCauses++;
-                }
-            }
-        }
-
-        // 요일별 차트 DTO 생성 (월~일 순서 고정)
-        List<WeeklyStressDto> weeklyStressData = new ArrayList<>();
-        List<DayOfWeek> daysInOrder = List.of(
-                DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
-                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY
-        );
-
-        for (DayOfWeek day : daysInOrder) {
-            double[] stats = weeklyStressMap.getOrDefault(day, new double[2]);
-            double avg = (stats[1] > 0) ? (stats[0] / stats[1]) : 0.0;
-            // "월", "화" 등으로 변환
-            String dayName = day.getDisplayName(TextStyle.SHORT, Locale.KOREAN);
-            weeklyStressData.add(new WeeklyStressDto(dayName, avg));
+    public static void populateWeeklyChartAndCauses(DashboardDataResponse response, StressAggregator aggregator) {
+        // 요일별 차트 DTO 생성 (월~일 순서 고정, DayOfWeek.values() 순서)
+        List<WeeklyStressDto> weeklyStressData = new ArrayList<>(DAYS_IN_ORDER.length);
+        for (DayOfWeek day : DAYS_IN_ORDER) {
+            weeklyStressData.add(new WeeklyStressDto(DAY_NAMES[day.ordinal()], aggregator.weekdayAverage(day)));
         }
         response.setWeeklyStress(weeklyStressData);
 
-        // 원인 분석 DTO 생성 (백분율 계산)
-        long finalTotalCauses = totalCauses;
-        List<StressCauseDto> stressCauseData = causeCounts.entrySet().stream()
-                .map(entry -> {
-                    String name = entry.getKey();
-                    long count = entry.getValue();
-                    int percentage = (finalTotalCauses > 0) ? (int) Math.round(((double) count / finalTotalCauses) * 100) : 0;
-                    String color = CAUSE_COLORS.getOrDefault(name, DEFAULT_COLOR);
-                    return new StressCauseDto(name, percentage, color);
-                })
-                .sorted((c1, c2) -> Integer.compare(c2.getValue(), c1.getValue())) // 높은 순 정렬
-                .collect(Collectors.toList());
-
+        // 원인 분석 DTO 생성 (높은 순, 백분율 계산)
+        int[] causeIds = aggregator.causeIdsByCount();
+        List<StressCauseDto> stressCauseData = new ArrayList<>(causeIds.length);
+        for (int causeId : causeIds) {
+            String name = aggregator.causeName(causeId);
+            String color = CAUSE_COLORS.getOrDefault(name, DEFAULT_COLOR);
+            stressCauseData.add(new StressCauseDto(name, aggregator.causePercentage(causeId), color));
+        }
         response.setStressCauses(stressCauseData);
     }
-}
\ No newline at end of file
+}
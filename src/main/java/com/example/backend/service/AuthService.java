@@ -17,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -66,6 +67,8 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
         user.setIndustry(signUpRequest.getIndustry());
         user.setCareerYears(signUpRequest.getCareerYears());
+        // [신규] 새 사용자는 이전 체크인이 없으므로 집계 버킷 백필 대상이 아님
+        user.setRollupsBackfilledAt(LocalDateTime.now());
 
         // User 저장 (UserRepository 필요)
         User savedUser = userRepository.save(user);
@@ -0,0 +1,171 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ChatConversationSummary;
+import com.example.backend.dto.ChatMessageDto;
+import com.example.backend.dto.CursorPage;
+import com.example.backend.model.ChatConversation;
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.User;
+import com.example.backend.model.UserAnalysis;
+import com.example.backend.repository.ChatConversationRepository;
+import com.example.backend.repository.ChatMessageRepository;
+import com.example.backend.repository.UserAnalysisRepository;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 채팅 한 턴의 DB 작업을 짧은 트랜잭션 두 개로 나눠 담당
+ * 1. prepareTurn : 사용자/대화/분석/최근 기록 로드 (필요하면 새 대화 생성)
+ * 2. saveTurn    : USER/ASSISTANT 메시지 쌍 저장 (Gemini 과부하 시에는 saveUserMessage로 사용자 메시지만)
+ * Gemini 호출은 두 트랜잭션 사이에서 이뤄지므로, 모델 응답을 기다리는 동안 DB 커넥션을 잡지 않습니다.
+ * [신규] 대화 목록/메시지 기록 조회 - 커서(keyset) 페이지 (OFFSET 없이 인덱스에서 size+1 행만 읽음)
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryService {
+
+    private final UserRepository userRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final UserAnalysisRepository userAnalysisRepository;
+    private final ChatConversationRepository chatConversationRepository;
+
+    private static final int MAX_PAGE_SIZE = 100; // 커서 페이지 최대 크기
+
+    /**
+     * [수정] 인증 principal의 사용자 ID로 바로 시작 (이메일로 users를 다시 조회하지 않음)
+     * 사용자는 프록시 참조만 사용하므로 users 테이블 SELECT 없이 대화/분석 조회의 FK 조건으로만 쓰입니다.
+     */
+    @Transactional
+    public ChatTurn prepareTurn(Long userId, String userMessage, Long conversationId) {
+        // --- 3. 사용자 정보 및 과거 분석/대화 로드 ---
+        User user = userRepository.getReferenceById(userId);
+
+        // --- 10. [신규] 대화 세션(Conversation) 로드 또는 생성 ---
+        ChatConversation conversation = loadOrCreateConversation(user, conversationId, userMessage);
+
+        UserAnalysis analysis = userAnalysisRepository.findByUser(user)
+                .orElse(new UserAnalysis(user)); // 없으면 새 분석 객체 준비
+
+        List<ChatMessage> history = chatMessageRepository.findTop10ByChatConversationOrderByCreatedAtDesc(conversation);
+        Collections.reverse(history); // 시간순(오래된->최신)으로 뒤집기
+
+        return new ChatTurn(user.getId(), conversation.getId(), analysis, history,
+                conversation.getRollingSummary(), SummaryWatermark.of(conversation));
+    }
+
+    /**
+     * 메시지 쌍을 한 트랜잭션에서 저장 (대화 엔티티는 프록시 참조만 사용)
+     * [수정] 메시지 ID는 시퀀스에서 미리 할당받으므로 saveAll 시점에는 SQL이 없고,
+     * 두 INSERT는 JDBC 배치 하나로 전송됩니다 (hibernate.jdbc.batch_size, order_inserts)
+     * 대화 목록 정렬용 updatedAt은 JPQL 벌크 UPDATE라 배치에 묶이지 않는 별도 문장
+     * → DB 왕복은 INSERT 배치 1번 + UPDATE 1번 (대화를 SELECT 하지 않음)
+     */
+    @Transactional
+    public void saveTurn(Long conversationId, String userMessage, String aiReply) {
+        ChatConversation conversation = chatConversationRepository.getReferenceById(conversationId);
+        chatMessageRepository.saveAll(List.of(
+                new ChatMessage(conversation, ChatMessage.MessageRole.USER, userMessage),
+                new ChatMessage(conversation, ChatMessage.MessageRole.ASSISTANT, aiReply)
+        ));
+        chatConversationRepository.touch(conversationId, LocalDateTime.now());
+    }
+
+    /**
+     * [신규] 모델 답변 없이 사용자 메시지만 저장 (Gemini 과부하로 대체 응답을 보낸 턴)
+     * 대체 응답은 저장하지 않으므로 다음 턴의 대화 맥락에 섞이지 않습니다.
+     */
+    @Transactional
+    public void saveUserMessage(Long conversationId, String userMessage) {
+        ChatConversation conversation = chatConversationRepository.getReferenceById(conversationId);
+        chatMessageRepository.save(new ChatMessage(conversation, ChatMessage.MessageRole.USER, userMessage));
+        chatConversationRepository.touch(conversationId, LocalDateTime.now());
+    }
+
+    /**
+     * [신규] 대화 목록 (최신순)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ChatConversationSummary> listConversations(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        // 한 건 더 읽어 다음 페이지가 있는지 판단 (COUNT 쿼리 없음)
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ChatConversationSummary> rows = after == null
+                ? chatConversationRepository.findFirstPage(userId, limit)
+                : chatConversationRepository.findPageBefore(userId, after.timestamp(), after.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatConversationSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        ChatConversationSummary last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String nextCursor = hasMore ? new KeysetCursor(last.getUpdatedAt(), last.getConversationId()).encode() : null;
+        return new CursorPage<>(new ArrayList<>(items), nextCursor);
+    }
+
+    /**
+     * [신규] 대화 메시지 기록 - 최근 메시지부터 페이지 단위로 거슬러 올라감
+     * 페이지 안의 메시지는 화면에 그대로 그릴 수 있도록 시간순(오래된 것 → 최신), nextCursor는 더 이전 메시지
+     * 본인 대화가 아니면 빈 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ChatMessageDto> loadMessages(Long userId, Long conversationId, String cursor, int size) {
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ChatMessageDto> rows = before == null
+                ? chatMessageRepository.findLatestPage(userId, conversationId, limit)
+                : chatMessageRepository.findPageBefore(userId, conversationId, before.timestamp(), before.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessageDto> items = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            ChatMessageDto oldest = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(oldest.getCreatedAt(), oldest.getMessageId()).encode();
+        }
+        Collections.reverse(items); // 최신순 조회 → 시간순
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 기존 대화를 로드(본인 소유인지 확인)하거나, 없으면 첫 메시지로 제목을 만들어 새로 생성
+     */
+    private ChatConversation loadOrCreateConversation(User user, Long conversationId, String userMessage) {
+        if (conversationId != null) {
+            // 기존 대화 ID가 있으면 로드
+            ChatConversation conversation = chatConversationRepository.findById(conversationId)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found"));
+            // (보안 강화) 이 대화가 현재 사용자의 것인지 확인
+            if (!conversation.getUser().getId().equals(user.getId())) {
+                throw new SecurityException("User not authorized for this conversation");
+            }
+            return conversation;
+        }
+        // 대화 ID가 없으면 새로 생성
+        ChatConversation conversation = new ChatConversation();
+        conversation.setUser(user);
+        // (임시) 첫 메시지 30자로 제목 생성
+        String title = userMessage.length() > 30 ? userMessage.substring(0, 30) + "..." : userMessage;
+        conversation.setTitle(title);
+        return chatConversationRepository.save(conversation); // DB에 저장하여 ID 획득
+    }
+
+    /**
+     * prepareTurn 결과 (트랜잭션 밖에서 프롬프트 생성에 사용, 지연 로딩 필드는 사용하지 않음)
+     */
+    public record ChatTurn(Long userId, Long conversationId, UserAnalysis analysis, List<ChatMessage> history,
+                           String conversationSummary, SummaryWatermark summarizedUntil) {
+    }
+}
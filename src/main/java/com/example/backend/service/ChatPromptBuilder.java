@@ -0,0 +1,200 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.UserAnalysis;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 채팅 프롬프트 / Gemini 요청 바디 생성 (ChatService에서 분리)
+ *
+ * [신규] 롤링 요약 모드 (chat.context.summary-mode=true)
+ * 최근 10개 메시지를 매번 다시 보내는 대신, 대화별 롤링 요약 + 최근 N턴만 보냅니다.
+ * - 최근 recent-turns 턴은 항상 포함
+ * - 그보다 오래된 메시지는 아직 요약에 반영되지 않은 것만, token-budget 안에서 포함
+ *
+ * [신규] 구조화 출력 모드 (gemini.structured-output.enabled=true)
+ * generationConfig에 ChatReply 스키마를 넣어 모델이 마크다운/설명 없이 JSON 객체만 생성하도록 제한합니다.
+ */
+@Component
+public class ChatPromptBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatPromptBuilder.class);
+
+    private final boolean summaryMode;
+    private final int recentTurns;
+    private final int tokenBudget;
+    private final boolean structuredOutput;
+
+    public ChatPromptBuilder(@Value("${chat.context.summary-mode:true}") boolean summaryMode,
+                             @Value("${chat.context.recent-turns:2}") int recentTurns,
+                             @Value("${chat.context.token-budget:1000}") int tokenBudget,
+                             @Value("${gemini.structured-output.enabled:true}") boolean structuredOutput) {
+        this.summaryMode = summaryMode;
+        this.recentTurns = recentTurns;
+        this.tokenBudget = tokenBudget;
+        this.structuredOutput = structuredOutput;
+    }
+
+    /**
+     * @param history 최근 메시지 (오래된 -> 최신)
+     * @param conversationSummary 대화 롤링 요약 (없으면 null)
+     * @param summarizedUntil 요약에 반영된 마지막 메시지 위치 (없으면 null)
+     */
+    public String buildRequestBody(UserAnalysis analysis, List<ChatMessage> history, String conversationSummary,
+                                   SummaryWatermark summarizedUntil, String newMessage) {
+        List<ChatMessage> context = selectContext(history, summarizedUntil);
+        String personalizedPrompt = buildPersonalizedPrompt(analysis, conversationSummary, newMessage);
+        return buildRequestBodyWithContext(context, personalizedPrompt);
+    }
+
+    /**
+     * 요청에 실제로 넣을 대화 기록 선택 (오래된 -> 최신 순서 유지)
+     */
+    List<ChatMessage> selectContext(List<ChatMessage> history, SummaryWatermark summarizedUntil) {
+        if (!summaryMode) {
+            return history;
+        }
+        int alwaysKeep = recentTurns * 2; // 1턴 = USER + ASSISTANT
+        int usedTokens = 0;
+        List<ChatMessage> selected = new ArrayList<>();
+
+        // 최신 메시지부터 거꾸로
+        for (int i = history.size() - 1; i >= 0; i--) {
+            ChatMessage msg = history.get(i);
+            int tokens = estimateTokens(msg.getContent());
+            boolean recent = history.size() - 1 - i < alwaysKeep;
+
+            if (!recent) {
+                boolean summarized = summarizedUntil != null && summarizedUntil.covers(msg);
+                if (summarized || usedTokens + tokens > tokenBudget) {
+                    break; // 이미 요약에 들어 있거나 예산 초과
+                }
+            }
+            selected.add(msg);
+            usedTokens += tokens;
+        }
+        Collections.reverse(selected);
+        return selected;
+    }
+
+    /**
+     * 대략적인 토큰 수 (영문/숫자 약 4자당 1토큰, 한글 등 그 외 문자는 1자당 1토큰으로 보수적으로 계산)
+     */
+    static int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+
+    /**
+     * 프롬프트에 들어가는 사용자별 요약 (대화 롤링 요약 우선, 없으면 사용자 분석 요약, 둘 다 없으면 null)
+     * ChatResponseCache 키에도 같은 값을 넣어, 다른 사용자의 요약으로 만든 답변을 재사용하지 않도록 합니다.
+     */
+    public String effectiveSummary(UserAnalysis analysis, String conversationSummary) {
+        String summary = summaryMode && conversationSummary != null && !conversationSummary.isEmpty()
+                ? conversationSummary
+                : analysis.getConversationSummary();
+        return summary != null && !summary.isEmpty() ? summary : null;
+    }
+
+    /**
+     * [신규] 맞춤형 응답을 위한 프롬프트 생성
+     */
+    private String buildPersonalizedPrompt(UserAnalysis analysis, String conversationSummary, String newMessage) {
+        StringBuilder sb = new StringBuilder();
+
+        // 시스템 명령어: AI의 역할을 정의 (공감 및 위로)
+        sb.append("너는 매우 공감 능력이 뛰어나고 다정한 친구이자 심리 상담사야.\n");
+        sb.append("사용자의 기분을 파악하고, 위로와 지지를 보내주는 것이 너의 역할이야. " +
+                "절대로 사용자를 비난하거나 판단하지 마.\n\n");
+        sb.append("이제 [사용자의 새 메시지]에 대해 아래 3가지 항목을 포함하는 JSON 객체 '하나만' 응답해줘.\n");
+        sb.append("1. 'reply': 사용자의 메시지에 대한 다정한 공감/위로 답변 (줄바꿈이 필요하면 \\n 사용)\n");
+        sb.append("2. 'emotion': 사용자의 감정 상태 (예: 'stressed', 'anxious', 'tired', 'neutral', 'positive')\n");
+        sb.append("3. 'stressCause': 사용자의 스트레스 원인 (예: '업무 과다', '회의', '마감일', '불안', '기타')\n\n");
+        sb.append("중요: 절대로 JSON 객체 외의 다른 텍스트(예: '```json', '답변입니다:')를 포함하지 마.\n\n");
+
+        // (기억 1) 이 대화의 롤링 요약이 있으면 우선 사용, 없으면 사용자 분석 정보 주입
+        String summary = effectiveSummary(analysis, conversationSummary);
+        if (summary != null && !summary.isEmpty()) {
+            sb.append("[네가 기억해야 할 사용자 정보]\n");
+            sb.append(" - 이전 대화 요약: ").append(summary).append("\n");
+            sb.append(" - 사용자의 현재 감정 상태: ").append(analysis.getCurrentSentiment()).append("\n");
+            sb.append("이 정보를 바탕으로 사용자를 위로하고 공감해줘.\n\n");
+        }
+
+        // (기억 2) 대화 기록은 buildRequestBodyWithContext에서 처리
+
+        // (기억 3) 새 메시지
+        sb.append("[사용자의 새 메시지]\n");
+        sb.append(newMessage).append("\n\n");
+        sb.append("JSON 응답: "); // AI의 JSON 답변을 유도
+
+        return sb.toString();
+    }
+
+    /**
+     * [수정] Gemini API가 대화 맥락(history)을 이해하도록 요청 바디 수정
+     * (기존 buildRequestBody 대체)
+     * [수정] 구조화 출력 모드면 ChatReply 스키마(generationConfig) 추가
+     */
+    private String buildRequestBodyWithContext(List<ChatMessage> history, String personalizedPrompt) {
+        try {
+            JsonArray contentsArray = new JsonArray();
+
+            // 1. 대화 기록(history)을 JSON에 추가
+            for (ChatMessage msg : history) {
+                JsonObject parts = new JsonObject();
+                parts.addProperty("text", msg.getContent()); // [수정] .getMessage() -> .getContent()
+                JsonArray partsArray = new JsonArray();
+                partsArray.add(parts);
+
+                JsonObject contents = new JsonObject();
+                contents.add("parts", partsArray);
+                // [수정] .getSender() -> .getRole().name()
+                contents.addProperty("role", msg.getRole() == ChatMessage.MessageRole.ASSISTANT ? "model" : "user");
+                contentsArray.add(contents);
+            }
+
+            // 2. 시스템 프롬프트와 새 메시지를 마지막 "user" 턴으로 추가
+            JsonObject lastParts = new JsonObject();
+            lastParts.addProperty("text", personalizedPrompt);
+            JsonArray lastPartsArray = new JsonArray();
+            lastPartsArray.add(lastParts);
+
+            JsonObject lastContents = new JsonObject();
+            lastContents.add("parts", lastPartsArray);
+            lastContents.addProperty("role", "user");
+            contentsArray.add(lastContents);
+
+            JsonObject requestJson = new JsonObject();
+            requestJson.add("contents", contentsArray);
+            if (structuredOutput) {
+                requestJson.add("generationConfig", ChatReply.SCHEMA.toGenerationConfig());
+            }
+
+            return requestJson.toString();
+        } catch (Exception e) {
+            logger.error("JSON 요청 바디 생성 오류", e);
+            throw new RuntimeException("JSON 요청 바디 생성 실패", e);
+        }
+    }
+}
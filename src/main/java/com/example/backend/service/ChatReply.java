@@ -0,0 +1,34 @@
+package com.example.backend.service;
+
+import com.example.backend.client.ResponseSchema;
+
+/**
+ * [신규] 채팅 모델 응답 (구조화 출력 스키마와 같은 필드, ChatResponseCache에도 그대로 저장)
+ */
+public record ChatReply(String reply, String emotion, String stressCause) {
+
+    public static final ResponseSchema<ChatReply> SCHEMA = ResponseSchema.builder(ChatReply::fromFields)
+            .field("reply", "사용자의 메시지에 대한 다정한 공감/위로 답변")
+            .field("emotion", "사용자의 감정 상태 (예: stressed, anxious, tired, neutral, positive)")
+            .field("stressCause", "사용자의 스트레스 원인 (예: 업무 과다, 회의, 마감일, 불안, 기타)")
+            .build();
+
+    // JSON이 아닌 일반 문장 답변을 살릴 때 쓰는 기본값
+    static final String FALLBACK_EMOTION = "neutral";
+    static final String FALLBACK_STRESS_CAUSE = "기타";
+
+    private static ChatReply fromFields(String[] fields) {
+        return new ChatReply(fields[0], fields[1], fields[2]);
+    }
+
+    /**
+     * 모델이 JSON 없이 답변 문장만 보낸 경우 그 문장을 reply로 사용 (감정/원인은 기본값)
+     * @return 살릴 수 없으면 null (빈 응답, 깨진 JSON 객체 - 사용자에게 JSON 조각을 보여주지 않음)
+     */
+    static ChatReply fromPlainText(String modelText) {
+        if (modelText == null || modelText.isBlank() || modelText.indexOf('{') >= 0) {
+            return null;
+        }
+        return new ChatReply(modelText.strip(), FALLBACK_EMOTION, FALLBACK_STRESS_CAUSE);
+    }
+}
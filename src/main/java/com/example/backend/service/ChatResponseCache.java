@@ -0,0 +1,117 @@
+package com.example.backend.service;
+
+import com.example.backend.cache.TtlLruCache;
+import com.example.backend.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 새 대화의 첫 메시지처럼 자주 반복되는 요청에 대한 Gemini 응답 캐시
+ * 키(fingerprint) = 정규화된 메시지 + 사용자 감정 상태 버킷 + 대화 기록 유무 + 프롬프트에 들어간 사용자별 요약의 해시
+ * ("오늘 너무 힘들어요", "오늘 너무  힘들어요!!" 는 같은 키)
+ * [수정] 프롬프트에 사용자 요약이 들어가면 답변도 그 사용자 맞춤이므로, 요약이 같을 때만(보통 같은 사용자) 공유됩니다.
+ * 요약이 없는 사용자(첫 대화)끼리만 답변을 공유합니다.
+ */
+@Component
+public class ChatResponseCache implements MetricsSource {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}\\s]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final int maxMessageLength;
+    private final TtlLruCache<String, ChatReply> cache;
+
+    public ChatResponseCache(@Value("${chat.cache.enabled:true}") boolean enabled,
+                             @Value("${chat.cache.max-entries:500}") int maxEntries,
+                             @Value("${chat.cache.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${chat.cache.max-message-length:100}") int maxMessageLength) {
+        this.enabled = enabled;
+        this.maxMessageLength = maxMessageLength;
+        this.cache = new TtlLruCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * 캐시할 수 있는 요청인지 (대화 기록이 없는 짧은 메시지만 대상)
+     */
+    public boolean isCacheable(String userMessage, boolean hasHistory) {
+        return enabled && !hasHistory && userMessage != null && userMessage.length() <= maxMessageLength;
+    }
+
+    /**
+     * @param personalSummary 프롬프트에 들어가는 사용자별 요약 (ChatPromptBuilder.effectiveSummary, 없으면 null)
+     */
+    public String fingerprint(String userMessage, String currentSentiment, String personalSummary, boolean hasHistory) {
+        return normalize(userMessage) + "|" + sentimentBucket(currentSentiment) + "|" + (hasHistory ? "h" : "n")
+                + "|" + summaryHash(personalSummary);
+    }
+
+    public ChatReply get(String fingerprint) {
+        return cache.get(fingerprint);
+    }
+
+    public void put(String fingerprint, ChatReply reply) {
+        cache.put(fingerprint, reply);
+    }
+
+    /**
+     * 유니코드 정규화(NFKC) → 소문자 → 문장부호/이모지 제거 → 공백 하나로 압축
+     */
+    static String normalize(String message) {
+        String text = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase();
+        text = NON_WORD.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 요약 원문 대신 SHA-256 해시를 키에 넣음 (키 길이 고정, 충돌로 다른 사용자 답변이 섞이지 않음)
+     */
+    static String summaryHash(String personalSummary) {
+        if (personalSummary == null || personalSummary.isEmpty()) {
+            return "none";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(personalSummary.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * UserAnalysis.currentSentiment ('긍정', '부정', '중립', '복합') → 버킷 (분석 전이면 none)
+     */
+    static String sentimentBucket(String currentSentiment) {
+        if (currentSentiment == null || currentSentiment.isBlank()) {
+            return "none";
+        }
+        return currentSentiment.trim();
+    }
+
+    @Override
+    public String name() {
+        return "chatResponseCache";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("size", cache.size());
+        snapshot.put("hits", cache.hits());
+        snapshot.put("misses", cache.misses());
+        snapshot.put("hitRatio", cache.hitRatio());
+        snapshot.put("evictions", cache.evictions());
+        snapshot.put("expirations", cache.expirations());
+        return snapshot;
+    }
+}
@@ -11,7 +11,6 @@ import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger; // [추가]
 import org.slf4j.LoggerFactory; // [추가]
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,16 +30,17 @@ public class DailyCheckInService {
     private final DailyCheckInRepository checkInRepository;
     private final UserRepository userRepository;
     private final DailyStatisticsRepository statsRepository; // [추가] DailyStatisticsRepository 주입
+    private final StressRollupService rollupService; // [추가] 대시보드 사전 집계
+    private final DashboardCache dashboardCache; // [신규] 체크인하면 오늘 대시보드 캐시 제거
 
     /**
      * 오늘 날짜의 체크인 기록을 조회합니다.
-     * @param userEmail (String) 현재 인증된 사용자의 이메일
+     * @param userId 현재 인증된 사용자의 ID
      */
     @Transactional(readOnly = true)
-    public Optional<DailyCheckIn> getTodayCheckIn(String userEmail) {
-        // [수정] 이메일로 User 엔티티를 직접 조회
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail));
+    public Optional<DailyCheckIn> getTodayCheckIn(Long userId) {
+        // [수정] 사용자 ID로 프록시 참조만 생성 (users SELECT 없음)
+        User user = userRepository.getReferenceById(userId);
 
         LocalDate today = LocalDate.now();
         return checkInRepository.findByUserAndCheckinDate(user, today);
@@ -48,13 +48,12 @@ public class DailyCheckInService {
 
     /**
      * 새로운 체크인을 생성합니다.
-     * @param userEmail (String) 현재 인증된 사용자의 이메일
+     * @param userId 현재 인증된 사용자의 ID
      */
     @Transactional
-    public DailyCheckIn createCheckIn(CheckInRequest request, String userEmail) {
-        // [수정] 이메일로 User 엔티티를 직접 조회
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail));
+    public DailyCheckIn createCheckIn(CheckInRequest request, Long userId) {
+        // [수정] 사용자 ID로 프록시 참조만 생성 - 체크인/통계/집계 버킷의 FK로만 쓰이므로 users SELECT 없음
+        User user = userRepository.getReferenceById(userId);
 
         LocalDate today = LocalDate.now();
 
@@ -107,9 +106,16 @@ public class DailyCheckInService {
         } catch (Exception e) {
             // (중요) 통계 업데이트가 실패하더라도 메인 기능인 체크인은 성공해야 하므로,
             // 여기서는 예외를 로깅만 하고 다시 던지지 않습니다.
-            logger.error("Failed to update daily statistics for user: {}: {}", user.getEmail(), e.getMessage());
+            logger.error("Failed to update daily statistics for user: {}: {}", userId, e.getMessage());
         }
 
+        // --- [추가] 대시보드 집계 버킷(일/주/월) 갱신 ---
+        // 체크인과 같은 트랜잭션에서 처리하므로 집계가 원본 체크인과 어긋나지 않음
+        rollupService.record(user, savedCheckIn);
+
+        // [신규] 대시보드 응답 캐시 무효화 (커밋 후 한 번 더)
+        dashboardCache.invalidate(userId);
+
         // [수정] 저장된 엔티티 반환
         return savedCheckIn;
     }
@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.cache.TtlLruCache;
+import com.example.backend.dto.DashboardDataResponse;
+import com.example.backend.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [신규] 사용자별 대시보드 응답 캐시 (AnalyticsController, StressCheckScheduler 공용)
+ * 대시보드 데이터는 체크인(하루 한 번)과 날짜가 바뀔 때만 달라지므로
+ * (사용자, 날짜) → {기간 → 응답} 으로 보관하고,
+ * - 새 체크인: DailyCheckInService가 invalidate (트랜잭션 커밋 후 한 번 더)
+ * - 날짜 변경: 키에 오늘 날짜가 들어 있어 자정이 지나면 적중하지 않음 (자정에 전체 비움)
+ * 적중하면 트랜잭션/DB 접근 없이 반환합니다. 캐시된 응답 객체는 공유되므로 호출 측에서 수정하지 않습니다.
+ * [수정] 화면에서 쓰는 기간(7/30/365일)만 캐시 - period는 요청 파라미터라 임의 값을 모두 담으면 사용자별 맵이 끝없이 커짐
+ */
+@Component
+public class DashboardCache implements MetricsSource {
+
+    // 캐시하는 기간 (대시보드 기간 선택지, 알림 스케줄러의 7일) - 그 외 기간은 매번 계산
+    static final Set<Integer> CACHED_PERIODS = Set.of(7, 30, 365);
+
+    private final AnalyticsService analyticsService;
+    private final boolean enabled;
+    private final TtlLruCache<Key, Map<Integer, CachedDashboard>> cache;
+
+    // 조회 중 무효화가 일어났는지 판단용 (조회 시작 후 값이 바뀌었으면 결과를 캐시하지 않음)
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DashboardCache(AnalyticsService analyticsService,
+                          @Value("${analytics.dashboard-cache.enabled:true}") boolean enabled,
+                          @Value("${analytics.dashboard-cache.max-entries:10000}") int maxEntries,
+                          @Value("${analytics.dashboard-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.analyticsService = analyticsService;
+        this.enabled = enabled;
+        this.cache = new TtlLruCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 AnalyticsService로 계산해 저장
+     */
+    public CachedDashboard get(Long userId, int period) {
+        LocalDate today = LocalDate.now();
+        if (!enabled || !CACHED_PERIODS.contains(period)) {
+            return CachedDashboard.of(analyticsService.getDashboardData(userId, period), period, today);
+        }
+
+        Key key = new Key(userId, today);
+        Map<Integer, CachedDashboard> byPeriod = cache.get(key);
+        CachedDashboard cached = byPeriod != null ? byPeriod.get(period) : null;
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long generation = invalidations.get();
+        CachedDashboard loaded = CachedDashboard.of(analyticsService.getDashboardData(userId, period), period, today);
+        if (invalidations.get() == generation) {
+            if (byPeriod == null) {
+                byPeriod = new ConcurrentHashMap<>();
+                cache.put(key, byPeriod);
+            }
+            byPeriod.put(period, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 사용자의 오늘 대시보드(모든 기간) 제거
+     * 트랜잭션 안에서 호출되면 커밋 후에 한 번 더 제거 (커밋 전 데이터로 다시 채워진 항목 정리)
+     */
+    public void invalidate(Long userId) {
+        Key key = new Key(userId, LocalDate.now());
+        invalidations.incrementAndGet();
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * 날짜가 바뀌면 어제 키는 더 이상 적중하지 않으므로 메모리만 정리
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void evictPreviousDays() {
+        cache.clear();
+    }
+
+    @Override
+    public String name() {
+        return "dashboardCache";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("users", cache.size());
+        snapshot.put("hits", hitCount);
+        snapshot.put("misses", misses.get());
+        snapshot.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        snapshot.put("invalidations", invalidations.get());
+        snapshot.put("evictions", cache.evictions());
+        snapshot.put("expirations", cache.expirations());
+        return snapshot;
+    }
+
+    private record Key(Long userId, LocalDate date) {
+    }
+
+    /**
+     * 캐시되는 대시보드 응답과 ETag (응답 내용의 해시 - 인스턴스/재시작과 무관하게 같은 내용이면 같은 값)
+     */
+    public record CachedDashboard(DashboardDataResponse response, String etag) {
+
+        static CachedDashboard of(DashboardDataResponse response, int period, LocalDate date) {
+            return new CachedDashboard(response,
+                    "\"d" + period + "-" + date + "-" + Integer.toHexString(response.hashCode()) + "\"");
+        }
+
+        /**
+         * If-None-Match 헤더 값(쉼표로 구분된 목록, 약한 ETag W/, *)과 일치하는지
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * [신규] 커서 페이지의 위치 (정렬 키 시각 + 동률 처리용 ID)
+ * 클라이언트에는 "시각|ID" 를 base64url로 감싼 문자열로 주고받습니다. (형식은 클라이언트가 해석하지 않음)
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return cursor가 비어 있으면 null (첫 페이지)
+     * @throws IllegalArgumentException 형식이 잘못된 커서
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
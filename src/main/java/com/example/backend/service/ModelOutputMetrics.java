@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiApiException;
+import com.example.backend.client.ResponseSchema;
+import com.example.backend.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [신규] Gemini 모델 응답 파싱 지표 (채팅 / 대화 분석)
+ * - parseFailures : 응답을 스키마 레코드로 읽지 못한 횟수
+ * - recovered     : 파싱은 실패했지만 답변 문장을 살려 사용자에게 보낸 횟수 (채팅만)
+ * - wastedCalls   : 모델 호출 결과를 버리고 오류로 끝난 횟수
+ * 구조화 출력 모드(gemini.structured-output.enabled)를 켜고 끈 뒤 parseFailureRate를 비교하는 용도입니다.
+ */
+@Component
+public class ModelOutputMetrics implements MetricsSource {
+
+    public enum Call { CHAT, ANALYSIS }
+
+    private final boolean structuredOutput;
+    private final Map<Call, Counters> counters = new EnumMap<>(Call.class);
+
+    public ModelOutputMetrics(@Value("${gemini.structured-output.enabled:true}") boolean structuredOutput) {
+        this.structuredOutput = structuredOutput;
+        for (Call call : Call.values()) {
+            counters.put(call, new Counters());
+        }
+    }
+
+    /**
+     * schema.parse + 호출/실패 집계 (실패하면 예외를 그대로 던짐 - 복구 여부는 호출 측에서 기록)
+     */
+    public <T> T parse(Call call, ResponseSchema<T> schema, String modelText) {
+        Counters counter = counters.get(call);
+        counter.calls.incrementAndGet();
+        try {
+            return schema.parse(modelText);
+        } catch (GeminiApiException e) {
+            counter.parseFailures.incrementAndGet();
+            throw e;
+        }
+    }
+
+    public void recordRecovered(Call call) {
+        counters.get(call).recovered.incrementAndGet();
+    }
+
+    public void recordWasted(Call call) {
+        counters.get(call).wastedCalls.incrementAndGet();
+    }
+
+    @Override
+    public String name() {
+        return "modelOutput";
+    }
+
+    @Override
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("structuredOutput", structuredOutput);
+        counters.forEach((call, counter) -> snapshot.put(call.name().toLowerCase(), counter.snapshot()));
+        return snapshot;
+    }
+
+    private static final class Counters {
+
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong parseFailures = new AtomicLong();
+        private final AtomicLong recovered = new AtomicLong();
+        private final AtomicLong wastedCalls = new AtomicLong();
+
+        private Map<String, Object> snapshot() {
+            long total = calls.get();
+            long failures = parseFailures.get();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("calls", total);
+            snapshot.put("parseFailures", failures);
+            snapshot.put("parseFailureRate", total == 0 ? 0.0 : (double) failures / total);
+            snapshot.put("recovered", recovered.get());
+            snapshot.put("wastedCalls", wastedCalls.get());
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+/**
+ * Gemini 스트리밍 응답은 {"reply": "...", "emotion": ..., "stressCause": ...} JSON이 조각(chunk) 단위로 도착합니다.
+ * 이 클래스는 조각을 이어 붙이면서 'reply' 문자열 값만 앞에서부터 꺼내어,
+ * 새로 완성된 부분(이스케이프 해제된 텍스트)을 돌려줍니다.
+ * (```json 마크다운 등 앞뒤 잡음은 'reply' 키를 찾을 때까지 무시)
+ */
+class ReplyStreamExtractor {
+
+    private static final String KEY = "\"reply\"";
+
+    private enum State { SEEK_KEY, SEEK_VALUE, IN_VALUE, DONE }
+
+    private final StringBuilder buffer = new StringBuilder();
+    private State state = State.SEEK_KEY;
+    private int cursor = 0;
+
+    /**
+     * 새 조각을 추가하고, 이번에 새로 확정된 reply 텍스트를 반환 (없으면 빈 문자열)
+     */
+    String append(String chunk) {
+        buffer.append(chunk);
+        StringBuilder out = new StringBuilder();
+
+        while (cursor < buffer.length() && state != State.DONE) {
+            switch (state) {
+                case SEEK_KEY -> {
+                    int idx = buffer.indexOf(KEY, cursor);
+                    if (idx == -1) {
+                        // 키가 조각 경계에 걸쳐 있을 수 있으므로 끝부분은 남겨둠
+                        cursor = Math.max(cursor, buffer.length() - KEY.length() + 1);
+                        return out.toString();
+                    }
+                    cursor = idx + KEY.length();
+                    state = State.SEEK_VALUE;
+                }
+                case SEEK_VALUE -> {
+                    char c = buffer.charAt(cursor++);
+                    if (c == '"') {
+                        state = State.IN_VALUE;
+                    }
+                    // ':' 와 공백은 건너뜀
+                }
+                case IN_VALUE -> {
+                    char c = buffer.charAt(cursor);
+                    if (c == '"') {
+                        cursor++;
+                        state = State.DONE;
+                    } else if (c == '\\') {
+                        int consumed = appendEscape(out);
+                        if (consumed == 0) {
+                            return out.toString(); // 이스케이프가 아직 다 도착하지 않음
+                        }
+                        cursor += consumed;
+                    } else {
+                        out.append(c);
+                        cursor++;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    /**
+     * 지금까지 누적된 원본 텍스트 (스트림 종료 후 전체 JSON 파싱에 사용)
+     */
+    String fullText() {
+        return buffer.toString();
+    }
+
+    /**
+     * cursor 위치의 이스케이프 시퀀스를 해제하여 out에 추가하고 소비한 글자 수를 반환
+     * (아직 글자가 모자라면 0)
+     */
+    private int appendEscape(StringBuilder out) {
+        if (cursor + 1 >= buffer.length()) {
+            return 0;
+        }
+        char e = buffer.charAt(cursor + 1);
+        switch (e) {
+            case 'n' -> out.append('\n');
+            case 't' -> out.append('\t');
+            case 'r' -> out.append('\r');
+            case 'b' -> out.append('\b');
+            case 'f' -> out.append('\f');
+            case 'u' -> {
+                if (cursor + 6 > buffer.length()) {
+                    return 0;
+                }
+                out.append((char) Integer.parseInt(buffer.substring(cursor + 2, cursor + 6), 16));
+                return 6;
+            }
+            default -> out.append(e); // \" \\ \/
+        }
+        return 2;
+    }
+}
@@ -1,27 +1,19 @@
 package com.example.backend.service;
 
 import com.example.backend.dto.RoutineRecommendationResponse;
-import com.example.backend.model.DailyCheckIn;
 import com.example.backend.model.RecoveryRoutine;
-import com.example.backend.model.StressCause;
 import com.example.backend.model.User;
 import com.example.backend.repository.DailyCheckInRepository;
 import com.example.backend.repository.RecoveryRoutineRepository;
+import com.example.backend.repository.StressCauseRepository;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,18 +22,20 @@ public class RoutineService {
     private final UserRepository userRepository;
     private final DailyCheckInRepository checkInRepository;
     private final RecoveryRoutineRepository routineRepository;
+    private final StressCauseRepository causeRepository;
 
     private static final int ANALYSIS_DAYS = 7; // 분석 기간 (7일)
 
     @Transactional(readOnly = true)
-    public RoutineRecommendationResponse getRecommendedRoutines(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+    public RoutineRecommendationResponse getRecommendedRoutines(Long userId) {
+        // [수정] 사용자 ID로 프록시 참조만 생성 (조회 쿼리는 FK 조건으로만 사용하므로 users SELECT 없음)
+        User user = userRepository.getReferenceById(userId);
 
         // 1. 지난 7일간의 체크인 데이터 조회
         LocalDate endDate = LocalDate.now().minusDays(1);
         LocalDate startDate = endDate.minusDays(ANALYSIS_DAYS -1); // 오늘 포함 7일
-        List<DailyCheckIn> checkInList = checkInRepository.findByUserAndCheckinDateBetween(user, startDate, endDate);
+        // [수정] 엔티티 대신 (날짜, 스트레스) 값만 조회 (원인 컬렉션 지연 로딩 없음)
+        List<DailyCheckInRepository.StressLevelView> checkInList = checkInRepository.findStressLevels(user, startDate, endDate);
 
         // [수정] 반환할 DTO 객체 생성
         RoutineRecommendationResponse response = new RoutineRecommendationResponse();
@@ -57,38 +51,10 @@ public class RoutineService {
             return response;
         }
 
-        // 2. [신규] 평균 스트레스 계산
-        double stressSum = checkInList.stream()
-                .mapToInt(DailyCheckIn::getStressLevel)
-                .sum();
-        BigDecimal avgStress = BigDecimal.valueOf(stressSum / checkInList.size())
-                .setScale(1, RoundingMode.HALF_UP);
-        response.setAverageStress(avgStress);
-
-        // 3. [신규] 체크인 완료율 계산
-        int checkInRate = (int) Math.round(((double) checkInList.size() / ANALYSIS_DAYS) * 100);
-        response.setCheckInRate(checkInRate);
-
-        // 2. 스트레스 원인 집계 (AnalyticsService와 유사)
-        Map<String, Long> causeCounts = checkInList.stream()
-                .flatMap(checkIn -> checkIn.getStressCauses().stream())
-                .map(StressCause::getCauseType)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-        long totalCauses = causeCounts.values().stream().mapToLong(Long::longValue).sum();
-
-        // 3. 가장 빈번한 스트레스 원인 찾기
-        String topCause = causeCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("기타"); // 원인이 집계되지 않으면 '기타'
-
-        // 5. [신규] 주요 원인 (비율 포함)
-        int topCausePercentage = 0;
-        if (totalCauses > 0) {
-            topCausePercentage = (int) Math.round(((double) causeCounts.getOrDefault(topCause, 0L) / totalCauses) * 100);
-        }
-        response.setMainCause(String.format("%s (%d%%)", topCause, topCausePercentage));
+        // 2~5. 평균 스트레스, 체크인 완료율, 주요 원인
+        // [수정] 스트레스 원인 집계 (체크인마다 원인을 조회하지 않고 SQL GROUP BY 한 번)
+        String topCause = populateStressSummary(response, checkInList,
+                causeRepository.countCauses(user, startDate, endDate));
 
         // 6. [신규] 피크 시간 (현재 DB 스키마로는 알 수 없으므로 Placeholder)
         response.setPeakTime("데이터 없음"); // DailyCheckIn에 시간 정보가 없음
@@ -109,6 +75,41 @@ public class RoutineService {
         return response;
     }
 
+    /**
+     * [신규] 조회 결과로 요약 항목(평균 스트레스, 체크인 완료율, 주요 원인)을 채움 - DB 접근 없는 순수 집계
+     * (src/jmh RoutineServiceBenchmark에서 직접 호출)
+     * @return 가장 빈번한 스트레스 원인
+     */
+    public static String populateStressSummary(RoutineRecommendationResponse response,
+                                               List<DailyCheckInRepository.StressLevelView> checkInList,
+                                               List<StressCauseRepository.CauseCountView> causeCountViews) {
+        // [수정] 스트레스 값과 원인 카운트를 int/long으로 누적 (Stream/boxed Map 없음)
+        StressAggregator aggregator = new StressAggregator();
+        for (DailyCheckInRepository.StressLevelView checkIn : checkInList) {
+            aggregator.addStress(checkIn.getStressLevel());
+        }
+        // 2. 스트레스 원인 집계 (SQL GROUP BY 결과)
+        for (StressCauseRepository.CauseCountView causeCount : causeCountViews) {
+            aggregator.addCause(causeCount.getCauseType(), causeCount.getCount());
+        }
+
+        // 2. [신규] 평균 스트레스 계산
+        response.setAverageStress(aggregator.average(1));
+
+        // 3. [신규] 체크인 완료율 계산
+        int checkInRate = (int) Math.round(((double) checkInList.size() / ANALYSIS_DAYS) * 100);
+        response.setCheckInRate(checkInRate);
+
+        // 3. 가장 빈번한 스트레스 원인 찾기 (원인이 집계되지 않으면 '기타')
+        int topCauseId = aggregator.topCauseId();
+        String topCause = topCauseId >= 0 ? aggregator.causeName(topCauseId) : "기타";
+
+        // 5. [신규] 주요 원인 (비율 포함)
+        int topCausePercentage = topCauseId >= 0 ? aggregator.causePercentage(topCauseId) : 0;
+        response.setMainCause(String.format("%s (%d%%)", topCause, topCausePercentage));
+        return topCause;
+    }
+
     /**
      * 스트레스 원인(String)을 루틴 카테고리(String)로 변환합니다.
      * (이 부분은 비즈니스 로직에 맞게 수정이 필요합니다)
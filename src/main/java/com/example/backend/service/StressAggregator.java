@@ -0,0 +1,187 @@
+package com.example.backend.service;
+
+import com.example.backend.model.StressRollup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [신규] 대시보드/루틴 추천용 스트레스 집계기 (int/long 누적, 박싱 없음)
+ * - 요일별 합계/횟수: DayOfWeek.ordinal() 인덱스 배열
+ * - 원인: 고정된 원인 목록을 정수 ID로 바꿔 long[] 에 카운트 (목록 밖 원인만 보조 배열 사용)
+ * BigDecimal, DTO 변환은 응답을 만들 때(average, weekdayAverage 등) 한 번만 합니다.
+ * 요청마다 새로 만들어 쓰는 단일 스레드용 객체입니다.
+ */
+public final class StressAggregator {
+
+    /**
+     * 체크인 화면에서 고를 수 있는 원인 (ID = 목록 인덱스)
+     */
+    public static final List<String> KNOWN_CAUSES = List.of("업무 과다", "회의", "마감일", "소통 문제", "기타");
+
+    private static final Map<String, Integer> CAUSE_IDS = new HashMap<>();
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    static {
+        for (int i = 0; i < KNOWN_CAUSES.size(); i++) {
+            CAUSE_IDS.put(KNOWN_CAUSES.get(i), i);
+        }
+    }
+
+    private long stressSum;
+    private long checkinCount;
+    private final long[] weekdayStressSum = new long[7];
+    private final long[] weekdayCount = new long[7];
+
+    // 원인 ID별 카운트 (0 ~ KNOWN_CAUSES.size()-1 = 고정 원인, 그 뒤 = 목록 밖 원인)
+    private long[] causeCounts = new long[KNOWN_CAUSES.size()];
+    private String[] extraCauses = new String[0];
+    private long totalCauses;
+
+    /**
+     * 사전 집계 버킷들을 합산
+     */
+    public static StressAggregator ofRollups(List<StressRollup> rollups) {
+        StressAggregator aggregator = new StressAggregator();
+        for (int i = 0, n = rollups.size(); i < n; i++) {
+            aggregator.addRollup(rollups.get(i));
+        }
+        return aggregator;
+    }
+
+    public void addRollup(StressRollup rollup) {
+        stressSum += rollup.getStressSum();
+        checkinCount += rollup.getCheckinCount();
+
+        Map<DayOfWeek, StressRollup.WeekdayStat> weekdayStats = rollup.getWeekdayStats();
+        for (DayOfWeek day : DAYS) {
+            StressRollup.WeekdayStat stat = weekdayStats.get(day);
+            if (stat != null) {
+                weekdayStressSum[day.ordinal()] += stat.getStressSum();
+                weekdayCount[day.ordinal()] += stat.getCheckinCount();
+            }
+        }
+        for (Map.Entry<String, Integer> entry : rollup.getCauseCounts().entrySet()) {
+            addCause(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 체크인 1건의 스트레스 값 반영 (루틴 추천)
+     */
+    public void addStress(int stressLevel) {
+        stressSum += stressLevel;
+        checkinCount++;
+    }
+
+    public void addCause(String causeType, long count) {
+        // causeId()가 배열을 늘릴 수 있으므로 인덱스를 먼저 구함
+        int causeId = causeId(causeType);
+        causeCounts[causeId] += count;
+        totalCauses += count;
+    }
+
+    private int causeId(String causeType) {
+        Integer known = CAUSE_IDS.get(causeType);
+        if (known != null) {
+            return known;
+        }
+        for (int i = 0; i < extraCauses.length; i++) {
+            if (extraCauses[i].equals(causeType)) {
+                return KNOWN_CAUSES.size() + i;
+            }
+        }
+        // 목록 밖 원인 (드묾) - 배열을 한 칸 늘림
+        extraCauses = Arrays.copyOf(extraCauses, extraCauses.length + 1);
+        extraCauses[extraCauses.length - 1] = causeType;
+        causeCounts = Arrays.copyOf(causeCounts, causeCounts.length + 1);
+        return causeCounts.length - 1;
+    }
+
+    public long checkinCount() {
+        return checkinCount;
+    }
+
+    public long totalCauses() {
+        return totalCauses;
+    }
+
+    /**
+     * 평균 스트레스 (체크인이 없으면 0)
+     */
+    public BigDecimal average(int scale) {
+        if (checkinCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(stressSum).divide(BigDecimal.valueOf(checkinCount), scale, RoundingMode.HALF_UP);
+    }
+
+    public double weekdayAverage(DayOfWeek day) {
+        long count = weekdayCount[day.ordinal()];
+        return count > 0 ? (double) weekdayStressSum[day.ordinal()] / count : 0.0;
+    }
+
+    public int causeTypeCount() {
+        return causeCounts.length;
+    }
+
+    public String causeName(int causeId) {
+        return causeId < KNOWN_CAUSES.size() ? KNOWN_CAUSES.get(causeId) : extraCauses[causeId - KNOWN_CAUSES.size()];
+    }
+
+    public long causeCount(int causeId) {
+        return causeCounts[causeId];
+    }
+
+    /**
+     * 전체 원인 중 비율 (0~100, 반올림)
+     */
+    public int causePercentage(int causeId) {
+        return totalCauses > 0 ? (int) Math.round((double) causeCounts[causeId] / totalCauses * 100) : 0;
+    }
+
+    /**
+     * 가장 많이 나온 원인 ID (동률이면 ID가 작은 쪽, 원인이 없으면 -1)
+     */
+    public int topCauseId() {
+        int top = -1;
+        for (int i = 0; i < causeCounts.length; i++) {
+            if (causeCounts[i] > 0 && (top == -1 || causeCounts[i] > causeCounts[top])) {
+                top = i;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * 한 번이라도 나온 원인 ID를 카운트 내림차순으로 (동률이면 ID 순)
+     */
+    public int[] causeIdsByCount() {
+        int size = 0;
+        for (long count : causeCounts) {
+            if (count > 0) {
+                size++;
+            }
+        }
+        // 원인 종류가 몇 개뿐이라 삽입 정렬 (박싱/Comparator 없음)
+        int[] ids = new int[size];
+        int filled = 0;
+        for (int id = 0; id < causeCounts.length; id++) {
+            if (causeCounts[id] == 0) {
+                continue;
+            }
+            int pos = filled++;
+            while (pos > 0 && causeCounts[ids[pos - 1]] < causeCounts[id]) {
+                ids[pos] = ids[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+        }
+        return ids;
+    }
+}
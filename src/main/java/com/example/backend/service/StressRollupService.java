@@ -0,0 +1,176 @@
+package com.example.backend.service;
+
+import com.example.backend.model.DailyCheckIn;
+import com.example.backend.model.StressCause;
+import com.example.backend.model.StressRollup;
+import com.example.backend.model.StressRollup.PeriodType;
+import com.example.backend.model.User;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.example.backend.repository.StressRollupRepository;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [신규] 대시보드 사전 집계(StressRollup) 관리
+ * - record   : 체크인 생성 시 DAY/WEEK/MONTH 버킷 갱신
+ * - findCovering : 조회 기간을 겹치지 않는 월/주/일 버킷으로 나눠 조회
+ * - backfill : 기존 체크인 전체로 버킷을 다시 계산 (도입 이전 데이터)
+ * [수정] record/backfill 모두 사용자 행을 잠근 뒤 버킷을 갱신하므로,
+ *        백필 중 새 체크인이나 여러 인스턴스의 동시 백필이 같은 버킷을 덮어쓰거나 Unique 제약조건에서 충돌하지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class StressRollupService {
+
+    private final StressRollupRepository rollupRepository;
+    private final DailyCheckInRepository checkInRepository;
+    private final StressCauseRepository causeRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 체크인 1건을 세 버킷에 반영 (DailyCheckInService.createCheckIn 트랜잭션 안에서 호출)
+     */
+    @Transactional
+    public void record(User user, DailyCheckIn checkIn) {
+        // 같은 사용자의 백필이 진행 중이면 끝난 뒤(커밋된 버킷 위에) 반영
+        userRepository.lockForRollup(user.getId());
+        List<String> causeTypes = causeTypes(checkIn);
+        for (PeriodType type : PeriodType.values()) {
+            LocalDate periodStart = periodStart(type, checkIn.getCheckinDate());
+            StressRollup rollup = rollupRepository.findByUserAndPeriodTypeAndPeriodStart(user, type, periodStart)
+                    .orElseGet(() -> new StressRollup(user, type, periodStart));
+            rollup.add(checkIn.getCheckinDate(), checkIn.getStressLevel(), causeTypes);
+            rollupRepository.save(rollup);
+        }
+    }
+
+    /**
+     * startDate ~ endDate(포함)를 정확히 한 번씩 덮는 버킷들 조회 (유형별 IN 쿼리 최대 3번)
+     */
+    @Transactional(readOnly = true)
+    public List<StressRollup> findCovering(User user, LocalDate startDate, LocalDate endDate) {
+        Map<PeriodType, List<LocalDate>> startsByType = new EnumMap<>(PeriodType.class);
+        for (Bucket bucket : decompose(startDate, endDate)) {
+            startsByType.computeIfAbsent(bucket.type(), k -> new ArrayList<>()).add(bucket.start());
+        }
+
+        List<StressRollup> rollups = new ArrayList<>();
+        startsByType.forEach((type, starts) ->
+                rollups.addAll(rollupRepository.findByUserAndPeriodTypeAndPeriodStartIn(user, type, starts)));
+        return rollups;
+    }
+
+    /**
+     * [수정] 사용자의 체크인 전체로 버킷을 다시 계산해 덮어쓴다 (백필용)
+     * - 백필 완료 표시로 대상 판단 (백필 전에 체크인해서 버킷이 이미 있는 사용자도 이전 기록까지 반영)
+     * - 기존 버킷은 갱신, 없는 버킷만 생성하므로 여러 번 실행해도 결과가 같음
+     * @return 반영한 체크인 수 (이미 백필되었거나 사용자가 없으면 0)
+     */
+    @Transactional
+    public int backfill(Long userId) {
+        // 다른 인스턴스가 먼저 끝냈으면 잠금을 얻은 뒤 완료 표시를 보고 건너뜀
+        if (!Boolean.FALSE.equals(userRepository.lockForRollup(userId))) {
+            return 0;
+        }
+        User user = userRepository.getReferenceById(userId);
+        // 체크인 값과 원인을 쿼리 두 번으로 로드 (체크인마다 원인 컬렉션을 조회하지 않음)
+        List<DailyCheckInRepository.StressLevelView> checkIns = checkInRepository.findAllStressLevels(user);
+        Map<Long, List<String>> causesByCheckIn = new HashMap<>();
+        for (StressCauseRepository.CheckInCauseView cause : causeRepository.findAllCauses(user)) {
+            causesByCheckIn.computeIfAbsent(cause.getCheckinId(), k -> new ArrayList<>()).add(cause.getCauseType());
+        }
+
+        Map<Bucket, StressRollup> rollups = new HashMap<>();
+        for (StressRollup existing : rollupRepository.findByUser(user)) {
+            existing.reset();
+            rollups.put(new Bucket(existing.getPeriodType(), existing.getPeriodStart()), existing);
+        }
+        for (DailyCheckInRepository.StressLevelView checkIn : checkIns) {
+            List<String> causeTypes = causesByCheckIn.getOrDefault(checkIn.getId(), List.of());
+            for (PeriodType type : PeriodType.values()) {
+                Bucket bucket = new Bucket(type, periodStart(type, checkIn.getCheckinDate()));
+                rollups.computeIfAbsent(bucket, b -> new StressRollup(user, b.type(), b.start()))
+                        .add(checkIn.getCheckinDate(), checkIn.getStressLevel(), causeTypes);
+            }
+        }
+        rollupRepository.saveAll(rollups.values());
+        userRepository.markRollupsBackfilled(userId, LocalDateTime.now());
+        return checkIns.size();
+    }
+
+    /**
+     * 기간을 겹치지 않는 버킷으로 분해
+     * 달 전체가 들어가면 MONTH, 월요일부터 일주일이 들어가면 WEEK, 나머지는 DAY
+     * (365일 ≈ 월 11개 + 주/일 몇 개)
+     */
+    static List<Bucket> decompose(LocalDate startDate, LocalDate endDate) {
+        List<Bucket> buckets = new ArrayList<>();
+        LocalDate cursor = startDate;
+        while (!cursor.isAfter(endDate)) {
+            if (cursor.getDayOfMonth() == 1 && !periodEnd(PeriodType.MONTH, cursor).isAfter(endDate)) {
+                buckets.add(new Bucket(PeriodType.MONTH, cursor));
+                cursor = cursor.plusMonths(1);
+            } else if (cursor.getDayOfWeek() == DayOfWeek.MONDAY
+                    && !periodEnd(PeriodType.WEEK, cursor).isAfter(endDate)
+                    && !crossesFullMonth(cursor, endDate)) {
+                buckets.add(new Bucket(PeriodType.WEEK, cursor));
+                cursor = cursor.plusWeeks(1);
+            } else {
+                buckets.add(new Bucket(PeriodType.DAY, cursor));
+                cursor = cursor.plusDays(1);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * 이 주 중간에 통째로 기간 안에 들어가는 달이 시작되면, 그 달을 MONTH로 읽기 위해 주 버킷을 쓰지 않음
+     */
+    private static boolean crossesFullMonth(LocalDate monday, LocalDate endDate) {
+        LocalDate nextMonth = monday.with(TemporalAdjusters.firstDayOfNextMonth());
+        return !nextMonth.isAfter(periodEnd(PeriodType.WEEK, monday))
+                && !periodEnd(PeriodType.MONTH, nextMonth).isAfter(endDate);
+    }
+
+    static LocalDate periodStart(PeriodType type, LocalDate date) {
+        return switch (type) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    static LocalDate periodEnd(PeriodType type, LocalDate periodStart) {
+        return switch (type) {
+            case DAY -> periodStart;
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    private List<String> causeTypes(DailyCheckIn checkIn) {
+        List<String> causeTypes = new ArrayList<>();
+        if (checkIn.getStressCauses() != null) {
+            for (StressCause cause : checkIn.getStressCauses()) {
+                causeTypes.add(cause.getCauseType());
+            }
+        }
+        return causeTypes;
+    }
+
+    record Bucket(PeriodType type, LocalDate start) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChatConversation;
+import com.example.backend.model.ChatMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * [신규] 대화 롤링 요약에 반영된 마지막 메시지 위치 (createdAt, id)
+ * 메시지 ID는 인스턴스마다 시퀀스에서 50개씩 미리 받아 쓰므로 저장 순서와 ID 순서가 다를 수 있습니다.
+ * 메시지 커서 페이지와 같이 (createdAt, id) 순서로 비교합니다.
+ */
+public record SummaryWatermark(LocalDateTime createdAt, Long messageId) {
+
+    /**
+     * @return 대화에 저장된 워터마크 (요약이 없으면 null)
+     */
+    public static SummaryWatermark of(ChatConversation conversation) {
+        if (conversation.getSummarizedUntilCreatedAt() == null || conversation.getSummarizedUntilMessageId() == null) {
+            return null;
+        }
+        return new SummaryWatermark(conversation.getSummarizedUntilCreatedAt(), conversation.getSummarizedUntilMessageId());
+    }
+
+    public static SummaryWatermark of(ChatMessage message) {
+        return new SummaryWatermark(message.getCreatedAt(), message.getId());
+    }
+
+    /**
+     * 메시지가 이미 요약에 반영되었는지 (워터마크와 같거나 이전)
+     */
+    public boolean covers(ChatMessage message) {
+        if (message.getCreatedAt() == null || message.getId() == null) {
+            return false;
+        }
+        int order = message.getCreatedAt().compareTo(createdAt);
+        return order < 0 || (order == 0 && message.getId() <= messageId);
+    }
+
+    public void applyTo(ChatConversation conversation) {
+        conversation.setSummarizedUntilCreatedAt(createdAt);
+        conversation.setSummarizedUntilMessageId(messageId);
+    }
+}
@@ -5,11 +5,14 @@ import com.example.backend.dto.UserProfileUpdateRequest;
 import com.example.backend.model.User;
 import com.example.backend.model.UserPreference;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.Map;
 
 @Service
@@ -18,20 +21,24 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Transactional(readOnly = true)
-    public UserProfileResponse getUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    public UserProfileResponse getUserProfile(Long userId) {
+        // [수정] 이메일 대신 토큰의 사용자 ID로 조회
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
 
         // @Transactional 내부이므로 user.get... 호출 시 Lazy Loading이 동작합니다.
         return new UserProfileResponse(user, user.getUserPreference(), user.getInitialSurvey());
     }
 
     @Transactional
-    public UserProfileResponse updateUserProfile(String email, UserProfileUpdateRequest request) {
+    public UserProfileResponse updateUserProfile(Long userId, UserProfileUpdateRequest request) {
         // 1. 사용자 조회 (영속성 컨텍스트에 포함됨)
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
 
         // 2. User 엔티티 필드 업데이트 (Dirty Checking)
         user.setIndustry(request.getIndustry());
@@ -41,6 +48,16 @@ public class UserService {
         UserPreference prefs = user.getUserPreference();
         if (prefs != null) {
             prefs.setNotificationEnable(request.isAllowNotification());
+            if (request.getNotificationTime() != null) {
+                prefs.setNotificationTime(request.getNotificationTime());
+            }
+            if (request.getTimezone() != null) {
+                try {
+                    prefs.setTimezone(ZoneId.of(request.getTimezone()).getId());
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("지원하지 않는 시간대입니다: " + request.getTimezone());
+                }
+            }
 
             Map<String, Boolean> prefMap = request.getPreferences();
             if (prefMap != null) {
@@ -49,6 +66,8 @@ public class UserService {
                 prefs.setContentTypeText(prefMap.getOrDefault("text", false));
             }
         }
+        // [신규] 인증 필터가 캐시한 사용자 정보 제거 (다음 요청에서 새로 조회)
+        principalCache.invalidate(user.getEmail());
         return new UserProfileResponse(user, user.getUserPreference(), user.getInitialSurvey());
     }
 }
\ No newline at end of file
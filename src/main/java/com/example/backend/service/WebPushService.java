@@ -1,25 +1,24 @@
 package com.example.backend.service;
 
+import com.example.backend.client.WebPushSender;
+import com.example.backend.dto.PushTarget;
 import com.example.backend.dto.WebPushSubscriptionDto;
-import com.example.backend.model.User;
+import com.example.backend.model.PushOutbox;
+import com.example.backend.repository.PushOutboxRepository;
 import com.example.backend.repository.UserRepository;
-import nl.martijndwars.webpush.Notification;
-import nl.martijndwars.webpush.PushService;
-import nl.martijndwars.webpush.Subscription;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
-import org.jose4j.lang.JoseException;
+import org.asynchttpclient.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.annotation.PostConstruct;
-
-import java.io.IOException;
-import java.security.GeneralSecurityException;
-import java.util.concurrent.ExecutionException;
-import java.security.Security;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class WebPushService {
@@ -28,59 +27,88 @@ public class WebPushService {
 
     @Value("${vapid.public.key}")
     private String vapidPublicKey;
-    @Value("${vapid.private.key}")
-    private String vapidPrivateKey;
-    @Value("${vapid.subject}") // 예: mailto:admin@softday.com
-    private String vapidSubject;
 
     private final UserRepository userRepository;
-    private PushService pushService;
+    private final PushOutboxRepository outboxRepository;
+    // [수정] VAPID 키/서명, 구독 키 파싱을 재사용하는 전송 클라이언트
+    private final WebPushSender pushSender;
 
-    public WebPushService(UserRepository userRepository) {
+    public WebPushService(UserRepository userRepository, PushOutboxRepository outboxRepository, WebPushSender pushSender) {
         this.userRepository = userRepository;
-    }
-
-    @PostConstruct // 서비스 시작 시 VAPID 키로 PushService 초기화
-    private void init() throws GeneralSecurityException {
-        Security.addProvider(new BouncyCastleProvider());
-        this.pushService = new PushService(vapidPublicKey, vapidPrivateKey, vapidSubject);
+        this.outboxRepository = outboxRepository;
+        this.pushSender = pushSender;
     }
 
     // [구독 저장] React가 보낸 구독 정보를 User DB에 저장
+    // [수정] 사용자를 조회하지 않고 UPDATE 한 번으로 저장
     @Transactional
-    public void saveSubscription(String email, WebPushSubscriptionDto subDto) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found: " + email));
-
-        user.setWebPushEndpoint(subDto.getEndpoint());
-        user.setWebPushP256dh(subDto.getKeys().getP256dh());
-        user.setWebPushAuth(subDto.getKeys().getAuth());
-
-        userRepository.save(user);
-        logger.info("WebPush 구독 정보 저장 완료: {}", email);
+    public void saveSubscription(Long userId, WebPushSubscriptionDto subDto) {
+        int updated = userRepository.updateWebPushSubscription(userId, subDto.getEndpoint(),
+                subDto.getKeys().getP256dh(), subDto.getKeys().getAuth());
+        if (updated == 0) {
+            throw new RuntimeException("User not found: " + userId);
+        }
+        logger.info("WebPush 구독 정보 저장 완료: {}", userId);
     }
 
-    // [알림 발송] 스케줄러가 이 메서드를 호출
-    public void sendNotification(User user, String payloadJson) {
-        if (user.getWebPushEndpoint() == null) {
-            logger.warn("푸시 알림 실패: 유저 {}의 구독 정보가 없습니다.", user.getEmail());
-            return;
+    /**
+     * [수정] 알림을 발송 대기열(push_outbox)에 등록 - 실제 전송은 PushOutboxWorker가 비동기로 처리
+     * @return 등록 여부 (구독 정보가 없으면 false)
+     */
+    @Transactional
+    public boolean enqueue(PushTarget target, String payloadJson) {
+        if (target.getEndpoint() == null) {
+            logger.warn("푸시 알림 등록 실패: 유저 {}의 구독 정보가 없습니다.", target.getEmail());
+            return false;
         }
+        outboxRepository.save(PushOutbox.of(target, payloadJson));
+        return true;
+    }
 
-        // DB에 저장된 정보로 Subscription 객체 생성
-        Subscription sub = new Subscription(
-                user.getWebPushEndpoint(),
-                new Subscription.Keys(user.getWebPushP256dh(), user.getWebPushAuth())
-        );
+    /**
+     * 여러 건을 한 트랜잭션으로 등록 (정규 스케줄러의 청크 단위 등록)
+     * [수정] 중복 방지 키(dedupKey)가 있는 알림은 INSERT ... ON CONFLICT DO NOTHING 한 문장으로 등록
+     * (여러 인스턴스가 같은 분을 처리해도 유니크 인덱스 위반으로 청크 전체가 롤백되지 않음)
+     * 키가 없는 알림은 saveAll (시퀀스 ID라 JDBC 배치)
+     * @return 새로 등록한 수 (이미 등록된 키는 제외)
+     */
+    @Transactional
+    public int enqueueAll(List<PushOutbox> notifications) {
+        Map<Boolean, List<PushOutbox>> byKey = notifications.stream()
+                .collect(Collectors.partitioningBy(notification -> notification.getDedupKey() != null));
+        int queued = 0;
+        if (!byKey.get(true).isEmpty()) {
+            queued += outboxRepository.insertIgnoringDuplicates(byKey.get(true));
+        }
+        if (!byKey.get(false).isEmpty()) {
+            outboxRepository.saveAll(byKey.get(false));
+            queued += byKey.get(false).size();
+        }
+        return queued;
+    }
 
-        try {
-            // PushService를 통해 알림 전송
-            pushService.send(new Notification(sub, payloadJson));
-            logger.info("푸시 알림 전송 성공: {}", user.getEmail());
-        } catch (JoseException | GeneralSecurityException | IOException | ExecutionException | InterruptedException e) {
-            logger.error("푸시 알림 전송 실패 (User: {}): {}", user.getEmail(), e.getMessage());
-            // TODO: 구독이 만료(410 Gone)되었으면 DB에서 user.setWebPushEndpoint(null) 등으로 삭제 처리 필요
+    /**
+     * [신규] 발송할 대기 행을 가져가고 leaseDuration 동안 임대
+     * 잠금(FOR UPDATE SKIP LOCKED) + 발송 시각 미루기를 한 트랜잭션에서 처리하므로,
+     * 여러 인스턴스의 발송 워커가 같은 행을 동시에 보내지 않습니다.
+     * 워커가 결과를 반영하지 못하고 종료되면 임대가 끝난 뒤 다시 발송됩니다.
+     */
+    @Transactional
+    public List<PushOutbox> claimDue(int limit, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PushOutbox> due = outboxRepository.findDueForUpdate(now, limit);
+        if (!due.isEmpty()) {
+            outboxRepository.lease(due.stream().map(PushOutbox::getId).toList(), now.plus(leaseDuration));
         }
+        return due;
+    }
+
+    /**
+     * 대기열 1건 전송 (비동기)
+     * 암호화/서명 단계의 예외도 실패한 future로 돌려주므로, 호출자는 응답 코드와 예외만 처리하면 됩니다.
+     */
+    public CompletableFuture<Response> deliver(PushOutbox outbox) {
+        return pushSender.send(outbox.getEndpoint(), outbox.getP256dh(), outbox.getAuth(), outbox.getPayload());
     }
 
     // VAPID 공개키를 프론트엔드에 전달 (React .env를 사용하지 않을 경우)
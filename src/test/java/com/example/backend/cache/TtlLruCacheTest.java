@@ -0,0 +1,35 @@
+package com.example.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesWhenFull() {
+        TtlLruCache<Integer, String> cache = new TtlLruCache<>(10, 60_000);
+        IntStream.range(0, 10).forEach(i -> cache.put(i, "v" + i));
+        IntStream.range(0, 5).forEach(cache::get);
+
+        cache.put(10, "v10");
+
+        // 10%(1개) 여유를 두고 정리하므로 11개 중 2개 제거
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.evictions()).isEqualTo(2);
+        IntStream.range(0, 5).forEach(i -> assertThat(cache.get(i)).isEqualTo("v" + i));
+        assertThat(cache.get(10)).isEqualTo("v10");
+    }
+
+    @Test
+    void expiredEntryIsAMiss() {
+        TtlLruCache<String, String> cache = new TtlLruCache<>(10, 0);
+        cache.put("key", "value");
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.expirations()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 적응형 동시 호출 제한: 제한 초과 시 즉시 거절, 지연 시간이 늘거나 과부하 신호가 오면 제한 감소
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(800);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(4000);
+
+    @Test
+    void shedsCallsBeyondLimitWithoutQueueing() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.snapshot()).containsEntry("inFlight", 2).containsEntry("shed", 1L);
+    }
+
+    @Test
+    void shrinksOnSlowResponsesAndOverloadThenGrowsBackWhenBusy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 64, 2.0);
+        limiter.onSuccess(FAST); // 기준 지연 시간
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onSuccess(SLOW);
+        }
+        int afterSlow = limiter.limit();
+        assertThat(afterSlow).isLessThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onOverload();
+        }
+        assertThat(limiter.limit()).isEqualTo(2); // 최소값 아래로는 줄지 않음
+
+        // 제한만큼 사용 중이고 응답이 빠르면 다시 증가
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess(FAST);
+        }
+        assertThat(limiter.limit()).isGreaterThan(2);
+    }
+}
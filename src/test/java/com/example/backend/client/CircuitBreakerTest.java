@@ -0,0 +1,81 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서킷 브레이커 상태 전이 검증 (가짜 시계 사용)
+ * CLOSED → (실패율 초과) OPEN → (대기 후) HALF_OPEN → (시험 호출 성공) CLOSED / (실패) OPEN
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 30_000, 2, now::get);
+
+    @Test
+    void opensAfterFailureRateAndRejectsUntilOpenDurationPasses() {
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED); // 최소 시도 수 전
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.allowsRetry()).isFalse();
+
+        advanceSeconds(29);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.snapshot()).containsEntry("opened", 1L).containsEntry("rejected", 2L);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedTrialsThenClosesOnSuccess() {
+        open();
+        advanceSeconds(30);
+
+        CircuitBreaker.Permit first = breaker.tryAcquire();
+        CircuitBreaker.Permit second = breaker.tryAcquire();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(breaker.tryAcquire()).isNull(); // 시험 호출 2개까지만
+
+        breaker.onSuccess();
+        breaker.release(first);
+        breaker.onSuccess();
+        breaker.release(second);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowsRetry()).isTrue();
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        open();
+        advanceSeconds(30);
+
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+        breaker.onFailure();
+        breaker.release(trial);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.snapshot()).containsEntry("opened", 2L).containsEntry("halfOpened", 1L);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend.client;
+
+import com.example.backend.config.GeminiConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스트리밍 호출의 마감 시간/재시도가 generate와 같은 기준인지 검증 (WebClient 교환 함수로 Gemini SSE 응답 흉내)
+ * - 마감 시간은 이벤트 간격이 아닌 총 시간: 조각이 꾸준히 와도 deadline이 지나면 과부하 실패
+ * - 첫 이벤트 전의 네트워크 오류는 재시도
+ */
+class GeminiClientStreamTest {
+
+    private GeminiClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void deadlineBoundsTotalStreamTimeNotTheGapBetweenEvents() {
+        // 100ms마다 한 조각씩 20개 (총 2초) - 이벤트 간격은 deadline(500ms)보다 짧음
+        client = client(500, request -> Mono.just(sse(Flux.interval(Duration.ofMillis(100)).take(20)
+                .map(i -> event("조각" + i)))));
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> client.streamGenerate("{}").doOnNext(received::add).blockLast(Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(GeminiApiException.class, e -> assertThat(e.isOverload()).isTrue());
+        assertThat(received).hasSizeLessThan(20);
+    }
+
+    @Test
+    void retriesNetworkFailureBeforeFirstEvent() {
+        AtomicInteger attempts = new AtomicInteger();
+        client = client(5000, request -> attempts.incrementAndGet() == 1
+                ? Mono.error(new WebClientRequestException(new ConnectException("connection refused"),
+                        request.method(), request.url(), HttpHeaders.EMPTY))
+                : Mono.just(sse(Flux.just(event("많이 "), event("힘드셨겠어요")))));
+
+        List<String> texts = client.streamGenerate("{}").collectList().block(Duration.ofSeconds(5));
+
+        assertThat(texts).containsExactly("많이 ", "힘드셨겠어요");
+        assertThat(attempts).hasValue(2);
+    }
+
+    private static GeminiClient client(long deadlineMs, ExchangeFunction exchange) {
+        GeminiConfig config = new GeminiConfig();
+        config.apiKey = "test-key";
+        config.streamUrl = "http://localhost/stream";
+        config.deadlineMs = deadlineMs;
+        config.attemptTimeoutMs = deadlineMs;
+        config.connectTimeoutMs = 1000;
+        config.maxAttempts = 3;
+        config.initialBackoffMs = 10;
+        config.maxBackoffMs = 20;
+        config.maxIdleConnections = 1;
+        config.keepAliveSeconds = 30;
+        config.maxConcurrentRequests = 4;
+        config.breakerWindowSize = 10;
+        config.breakerMinimumCalls = 10;
+        config.breakerFailureRateThreshold = 0.5;
+        config.breakerOpenSeconds = 30;
+        config.breakerHalfOpenCalls = 1;
+        config.limiterInitialLimit = 4;
+        config.limiterMinLimit = 1;
+        config.limiterLatencyTolerance = 2.0;
+        return new GeminiClient(config, WebClient.builder().exchangeFunction(exchange));
+    }
+
+    private static ClientResponse sse(Flux<String> events) {
+        Flux<DataBuffer> body = events.map(event ->
+                DefaultDataBufferFactory.sharedInstance.wrap(event.getBytes(StandardCharsets.UTF_8)));
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static String event(String text) {
+        return "data: {\"candidates\": [{\"content\": {\"parts\": [{\"text\": \"" + text + "\"}]}}]}\n\n";
+    }
+}
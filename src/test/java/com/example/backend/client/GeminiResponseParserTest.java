@@ -0,0 +1,55 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gemini 응답 봉투/모델 JSON 스트리밍 파싱 검증 (기존 Gson 방식이 허용하던 입력을 그대로 처리하는지)
+ */
+class GeminiResponseParserTest {
+
+    @Test
+    void extractsFirstCandidateTextSkippingOtherFields() {
+        String body = """
+                {"candidates": [{"finishReason": "STOP", "safetyRatings": [{"category": "HARM", "probability": "LOW"}],
+                  "content": {"role": "model", "parts": [{"text": "첫 번째 \\"조각\\"\\n"}, {"text": "두 번째"}]}},
+                  {"content": {"parts": [{"text": "다른 후보"}]}}],
+                 "usageMetadata": {"promptTokenCount": 10}, "modelVersion": "gemini-2.5-flash"}""";
+
+        assertThat(GeminiResponseParser.extractText(body)).isEqualTo("첫 번째 \"조각\"\n");
+    }
+
+    @Test
+    void returnsNullWhenCandidateHasNoText() {
+        assertThat(GeminiResponseParser.extractText("{\"usageMetadata\": {\"totalTokenCount\": 3}}")).isNull();
+        assertThat(GeminiResponseParser.extractText("{\"candidates\": [{\"finishReason\": \"SAFETY\"}]}")).isNull();
+    }
+
+    @Test
+    void throwsApiErrorMessage() {
+        assertThatThrownBy(() -> GeminiResponseParser.extractText(
+                "{\"error\": {\"code\": 429, \"message\": \"Resource exhausted\", \"status\": \"RESOURCE_EXHAUSTED\"}}"))
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("Resource exhausted");
+    }
+
+    @Test
+    void readsModelFieldsInsideMarkdownFence() {
+        String modelText = "```json\n{\"reply\": \"많이 힘드셨겠어요.\n오늘은 푹 쉬어요 {괄호}\", "
+                + "\"extra\": {\"nested\": [1, 2]}, \"emotion\": \"tired\", \"stressCause\": '업무 과다',}\n```";
+
+        String[] fields = GeminiResponseParser.readStringFields(modelText, "reply", "emotion", "stressCause", "missing");
+
+        assertThat(fields).containsExactly("많이 힘드셨겠어요.\n오늘은 푹 쉬어요 {괄호}", "tired", "업무 과다", null);
+    }
+
+    @Test
+    void rejectsTextWithoutJsonObject() {
+        assertThatThrownBy(() -> GeminiResponseParser.readStringFields("죄송해요, 다시 말씀해 주세요.", "reply"))
+                .isInstanceOf(GeminiApiException.class);
+        assertThatThrownBy(() -> GeminiResponseParser.readStringFields("{\"reply\": \"끝나지 않은", "reply"))
+                .isInstanceOf(GeminiApiException.class);
+    }
+}
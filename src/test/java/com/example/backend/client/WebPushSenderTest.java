@@ -0,0 +1,94 @@
+package com.example.backend.client;
+
+import nl.martijndwars.webpush.Utils;
+import org.asynchttpclient.AsyncHttpClient;
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.interfaces.ECPrivateKey;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * VAPID JWT를 origin별로 한 번만 서명하고, 서명 결과가 푸시 서비스에서 검증 가능한 형태인지 확인
+ */
+class WebPushSenderTest {
+
+    private static KeyPair vapidKeys;
+    private static String p256dh;
+    private static String auth;
+
+    private WebPushSender sender;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        Security.addProvider(new BouncyCastleProvider());
+        vapidKeys = generateKeyPair();
+        p256dh = encode(Utils.encode((ECPublicKey) generateKeyPair().getPublic()));
+        byte[] authBytes = new byte[16];
+        new SecureRandom().nextBytes(authBytes);
+        auth = encode(authBytes);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sender = new WebPushSender(
+                encode(Utils.encode((ECPublicKey) vapidKeys.getPublic())),
+                encode(((ECPrivateKey) vapidKeys.getPrivate()).getD().toByteArray()),
+                "mailto:admin@softday.com", 43200, 3600, 2419200, 100, mock(AsyncHttpClient.class));
+    }
+
+    @Test
+    void signsVapidJwtOncePerOrigin() throws Exception {
+        WebPushSender.PreparedPush first = sender.prepare("https://fcm.googleapis.com/fcm/send/a", p256dh, auth, "{\"title\":\"1\"}");
+        WebPushSender.PreparedPush second = sender.prepare("https://fcm.googleapis.com/fcm/send/b", p256dh, auth, "{\"title\":\"2\"}");
+        sender.prepare("https://updates.push.services.mozilla.com/wpush/v2/c", p256dh, auth, "{\"title\":\"3\"}");
+
+        assertThat(sender.jwtSigned()).isEqualTo(2);
+        assertThat(second.headers().get("Authorization")).isEqualTo(first.headers().get("Authorization"));
+        // 암호화는 메시지마다 새로 (임시 키/salt)
+        assertThat(second.body()).isNotEqualTo(first.body());
+        assertThat(first.url()).isEqualTo("https://fcm.googleapis.com/wp/a");
+    }
+
+    @Test
+    void vapidHeaderVerifiesAgainstPublicKey() throws Exception {
+        WebPushSender.PreparedPush push = sender.prepare("https://fcm.googleapis.com/fcm/send/a", p256dh, auth, "{}");
+
+        String authorization = push.headers().get("Authorization");
+        assertThat(authorization).startsWith("vapid t=").contains(", k=");
+        String token = authorization.substring("vapid t=".length(), authorization.indexOf(", k="));
+
+        JwtConsumer consumer = new JwtConsumerBuilder()
+                .setVerificationKey(vapidKeys.getPublic())
+                .setExpectedAudience("https://fcm.googleapis.com")
+                .setRequireExpirationTime()
+                .build();
+        JwtClaims claims = consumer.processToClaims(token);
+        assertThat(claims.getSubject()).isEqualTo("mailto:admin@softday.com");
+        assertThat(push.headers()).containsEntry("Content-Encoding", "aes128gcm").containsKey("TTL");
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("ECDH", "BC");
+        generator.initialize(ECNamedCurveTable.getParameterSpec("prime256v1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대기열이 가득 찼을 때의 정책 검증
+ * - drop-oldest : 버릴 작업이 없으면(대기열 크기 0) 재귀 없이 새 작업을 버림
+ * - caller-runs : 제출한 스레드가 아닌 보조 스레드에서 실행
+ */
+class AnalysisTaskExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AnalysisTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void dropOldestDropsNewTaskWhenNothingIsQueued() {
+        executor = executor(AnalysisTaskExecutor.RejectionPolicy.DROP_OLDEST, 0);
+        executor.submitCompletable(this::block);
+
+        CompletableFuture<String> rejected = executor.submitCompletable(() -> "실행되면 안 됨");
+
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(executor.snapshot()).containsEntry("rejected", 1L).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void dropOldestReplacesOldestQueuedTask() throws Exception {
+        executor = executor(AnalysisTaskExecutor.RejectionPolicy.DROP_OLDEST, 1);
+        executor.submitCompletable(this::block);
+        CompletableFuture<String> oldest = executor.submitCompletable(() -> "오래된 작업");
+
+        CompletableFuture<String> newest = executor.submitCompletable(() -> "새 작업");
+
+        assertThatThrownBy(() -> oldest.get(1, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        release.countDown();
+        assertThat(newest.get(1, TimeUnit.SECONDS)).isEqualTo("새 작업");
+        assertThat(executor.snapshot()).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void callerRunsUsesFallbackThreadInsteadOfCaller() throws Exception {
+        executor = executor(AnalysisTaskExecutor.RejectionPolicy.CALLER_RUNS, 0);
+        executor.submitCompletable(this::block);
+
+        CompletableFuture<String> overflow = executor.submitCompletable(() -> Thread.currentThread().getName());
+
+        assertThat(overflow.get(1, TimeUnit.SECONDS)).isEqualTo("analysis-fallback");
+        assertThat(executor.snapshot()).containsEntry("callerRuns", 1L);
+    }
+
+    private String block() throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return "done";
+    }
+
+    private static AnalysisTaskExecutor executor(AnalysisTaskExecutor.RejectionPolicy policy, int queueCapacity) {
+        AnalysisTaskExecutor executor = new AnalysisTaskExecutor(policy);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전용 실행기 빈을 등록해도 Spring 기본 applicationTaskExecutor(MVC 비동기 처리용)가
+ * spring.task.execution.* 설정의 크기 제한 풀로 남아 있는지 검증
+ */
+class AsyncConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withPropertyValues("spring.task.execution.pool.core-size=3",
+                    "spring.task.execution.pool.max-size=5",
+                    "spring.task.execution.pool.queue-capacity=7");
+
+    @Test
+    void keepsBoundedApplicationTaskExecutor() {
+        contextRunner.run(context -> {
+            assertThat(context).hasBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+            ThreadPoolTaskExecutor executor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, ThreadPoolTaskExecutor.class);
+            assertThat(executor.getCorePoolSize()).isEqualTo(3);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(5);
+            assertThat(executor.getQueueCapacity()).isEqualTo(7);
+            assertThat(executor).isNotInstanceOf(AnalysisTaskExecutor.class);
+        });
+    }
+}
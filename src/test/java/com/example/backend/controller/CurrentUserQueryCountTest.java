@@ -0,0 +1,271 @@
+package com.example.backend.controller;
+
+import com.example.backend.client.WebPushSender;
+import com.example.backend.dto.CheckInRequest;
+import com.example.backend.dto.PushTarget;
+import com.example.backend.dto.UserProfileUpdateRequest;
+import com.example.backend.dto.WebPushSubscriptionDto;
+import com.example.backend.model.DailyCheckIn;
+import com.example.backend.model.User;
+import com.example.backend.repository.ChatConversationRepository;
+import com.example.backend.repository.ChatMessageRepository;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.DailyStatisticsRepository;
+import com.example.backend.repository.PushOutboxRepository;
+import com.example.backend.repository.RecoveryRoutineRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.example.backend.repository.StressRollupRepository;
+import com.example.backend.repository.UserAnalysisRepository;
+import com.example.backend.repository.UserPreferenceRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.scheduler.StressCheckScheduler;
+import com.example.backend.security.PrincipalCache;
+import com.example.backend.security.UserPrincipal;
+import com.example.backend.service.AnalyticsService;
+import com.example.backend.service.ChatHistoryService;
+import com.example.backend.service.DashboardCache;
+import com.example.backend.service.DailyCheckInService;
+import com.example.backend.service.RoutineService;
+import com.example.backend.service.StressRollupService;
+import com.example.backend.service.UserService;
+import com.example.backend.service.WebPushService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * 엔드포인트별로 요청 1건이 users를 최대 한 번만 조회하는지, 전체 리포지토리 호출 수가 얼마인지 검증
+ * 인증 principal(UserPrincipal)에 사용자 ID가 있으므로 컨트롤러는 ID를 넘기고,
+ * 서비스는 FK 조건에만 쓰는 사용자를 getReferenceById(프록시, SQL 없음)로 만듭니다.
+ * [수정] 목으로 리포지토리 호출만 셉니다 (지연 로딩은 보이지 않음 - 실제 SQL 문 수는 AnalyticsStatementCountTest 참고).
+ */
+class CurrentUserQueryCountTest {
+
+    private static final Set<String> USER_LOOKUPS = Set.of("findByEmail", "findById", "findPushTarget");
+
+    private final UserPrincipal principal = new UserPrincipal(1L, "user@test.com", "",
+            List.of(new SimpleGrantedAuthority(UserPrincipal.ROLE_USER)));
+
+    private UserRepository userRepository;
+    private DailyStatisticsRepository statsRepository;
+    private DailyCheckInRepository checkInRepository;
+    private StressCauseRepository causeRepository;
+    private StressRollupRepository rollupRepository;
+    private RecoveryRoutineRepository routineRepository;
+    private PushOutboxRepository outboxRepository;
+    private UserAnalysisRepository userAnalysisRepository;
+    private ChatMessageRepository chatMessageRepository;
+    private ChatConversationRepository chatConversationRepository;
+    private List<Object> repositories;
+
+    private AnalyticsController analyticsController;
+    private RoutineController routineController;
+    private DailyCheckInController checkInController;
+    private UserController userController;
+    private NotificationController notificationController;
+    private ChatHistoryService chatHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        statsRepository = mock(DailyStatisticsRepository.class);
+        checkInRepository = mock(DailyCheckInRepository.class);
+        causeRepository = mock(StressCauseRepository.class);
+        rollupRepository = mock(StressRollupRepository.class);
+        routineRepository = mock(RecoveryRoutineRepository.class);
+        outboxRepository = mock(PushOutboxRepository.class);
+        userAnalysisRepository = mock(UserAnalysisRepository.class);
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        chatConversationRepository = mock(ChatConversationRepository.class);
+        repositories = List.of(userRepository, statsRepository, checkInRepository, causeRepository,
+                rollupRepository, routineRepository, outboxRepository, userAnalysisRepository,
+                chatMessageRepository, chatConversationRepository);
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@test.com");
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.updateWebPushSubscription(anyLong(), anyString(), anyString(), anyString())).thenReturn(1);
+        when(userRepository.findPushTarget(anyLong())).thenReturn(Optional.of(
+                new PushTarget(1L, "user@test.com", "https://push.example.com/1", "p256dh", "auth")));
+        when(checkInRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(chatConversationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(chatMessageRepository.findTop10ByChatConversationOrderByCreatedAtDesc(any()))
+                .thenAnswer(invocation -> new ArrayList<>());
+
+        StressRollupService rollupService = new StressRollupService(rollupRepository, checkInRepository, causeRepository,
+                userRepository);
+        AnalyticsService analyticsService = new AnalyticsService(userRepository, statsRepository, rollupService);
+        DashboardCache dashboardCache = new DashboardCache(analyticsService, true, 100, 60);
+        WebPushService webPushService = new WebPushService(userRepository, outboxRepository, mock(WebPushSender.class));
+
+        analyticsController = new AnalyticsController(dashboardCache);
+        routineController = new RoutineController(
+                new RoutineService(userRepository, checkInRepository, routineRepository, causeRepository));
+        checkInController = new DailyCheckInController(
+                new DailyCheckInService(checkInRepository, userRepository, statsRepository, rollupService, dashboardCache));
+
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "principalCache", new PrincipalCache(true, 10, 60));
+        userController = new UserController();
+        ReflectionTestUtils.setField(userController, "userService", userService);
+
+        notificationController = new NotificationController(webPushService, new StressCheckScheduler(
+                userRepository, mock(UserPreferenceRepository.class), checkInRepository, dashboardCache,
+                webPushService, 500, 2000, "Asia/Seoul", "09:00"));
+
+        chatHistoryService = new ChatHistoryService(userRepository, chatMessageRepository,
+                userAnalysisRepository, chatConversationRepository);
+    }
+
+    @Test
+    void dashboard() {
+        analyticsController.getDashboardData(7, null, principal);
+        // 일별 통계 1 + 버킷 IN 조회 1 (7일 = 일 버킷 또는 주 버킷 한 유형)
+        assertCounts(0, 2);
+    }
+
+    @Test
+    void dashboardNotModified() {
+        ResponseEntity<?> first = analyticsController.getDashboardData(7, null, principal);
+        assertCounts(0, 2);
+
+        // 같은 ETag로 재요청 → 캐시 적중, DB 접근 없이 304
+        String etag = first.getHeaders().getETag();
+        ResponseEntity<?> second = analyticsController.getDashboardData(7, etag, principal);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertCounts(0, 0);
+
+        // 다른 기간은 별도 항목 (버킷 조회 수는 날짜에 따라 달라 일별 통계 조회만 확인)
+        analyticsController.getDashboardData(30, etag, principal);
+        assertThat(mockingDetails(statsRepository).getInvocations()).hasSize(1);
+        clearInvocationsOfAll();
+
+        // 체크인하면 오늘 캐시가 지워져 다시 계산
+        CheckInRequest request = new CheckInRequest();
+        request.setStressLevel(4);
+        request.setStressCauses(List.of("회의"));
+        checkInController.createCheckIn(request, principal);
+        clearInvocationsOfAll();
+        analyticsController.getDashboardData(7, etag, principal);
+        assertCounts(0, 2);
+    }
+
+    @Test
+    void routineRecommendations() {
+        routineController.getRecommendedRoutines(principal);
+        // (날짜, 스트레스) 1 + 루틴 1 (체크인이 없으면 원인 집계 생략)
+        assertCounts(0, 2);
+    }
+
+    @Test
+    void todayCheckIn() {
+        checkInController.getTodayCheckIn(principal);
+        assertCounts(0, 1);
+    }
+
+    @Test
+    void createCheckIn() {
+        CheckInRequest request = new CheckInRequest();
+        request.setStressLevel(4);
+        request.setStressCauses(List.of("업무 과다"));
+
+        checkInController.createCheckIn(request, principal);
+
+        assertThat(lastSaved(checkInRepository, DailyCheckIn.class).getUser().getId()).isEqualTo(1L);
+        // 중복 확인 1 + 체크인 저장 1 + 일별 통계 조회/저장 2 + 사용자 행 잠금 1 + 버킷(일/주/월) 조회/저장 6
+        assertCounts(0, 11);
+    }
+
+    @Test
+    void getProfile() {
+        userController.getUserProfile(principal);
+        assertCounts(1, 1);
+    }
+
+    @Test
+    void updateProfile() {
+        userController.updateUserProfile(new UserProfileUpdateRequest(), principal);
+        // 변경 내용은 트랜잭션 커밋 시 dirty checking으로 UPDATE
+        assertCounts(1, 1);
+    }
+
+    @Test
+    void subscribe() {
+        WebPushSubscriptionDto subscription = new WebPushSubscriptionDto();
+        subscription.setEndpoint("https://push.example.com/1");
+        WebPushSubscriptionDto.Keys keys = new WebPushSubscriptionDto.Keys();
+        keys.setP256dh("p256dh");
+        keys.setAuth("auth");
+        subscription.setKeys(keys);
+
+        notificationController.subscribe(subscription, principal);
+
+        // SELECT 없이 UPDATE 1
+        assertCounts(0, 1);
+    }
+
+    @Test
+    void testPush() {
+        notificationController.sendTestNotification(principal);
+        // 발송 정보 1 + 대시보드(일별 통계 1 + 일 버킷 1) + 대기열 등록 1
+        assertCounts(1, 4);
+
+        // 오늘 대시보드가 캐시되어 있으면 통계 조회 생략
+        notificationController.sendTestNotification(principal);
+        assertCounts(1, 2);
+    }
+
+    @Test
+    void chatTurn() {
+        chatHistoryService.prepareTurn(principal.getId(), "오늘 너무 힘들어요", null);
+        // 새 대화 저장 1 + 분석 1 + 최근 기록 1
+        assertCounts(0, 3);
+    }
+
+    private void assertCounts(long userLookups, long repositoryCalls) {
+        List<Invocation> calls = repositories.stream()
+                .flatMap(repository -> mockingDetails(repository).getInvocations().stream())
+                // getReferenceById는 프록시만 만들고 SQL을 실행하지 않음
+                .filter(invocation -> !invocation.getMethod().getName().equals("getReferenceById"))
+                .toList();
+        assertThat(calls.stream().filter(invocation -> invocation.getMock() == userRepository
+                && USER_LOOKUPS.contains(invocation.getMethod().getName())).count())
+                .as("users 조회").isEqualTo(userLookups);
+        assertThat(calls).as("리포지토리 호출").hasSize((int) repositoryCalls);
+        clearInvocationsOfAll();
+    }
+
+    private void clearInvocationsOfAll() {
+        repositories.forEach(repository -> clearInvocations(repository));
+    }
+
+    private static <T> T lastSaved(Object repository, Class<T> type) {
+        return mockingDetails(repository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("save"))
+                .map(invocation -> type.cast(invocation.getArgument(0)))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+}
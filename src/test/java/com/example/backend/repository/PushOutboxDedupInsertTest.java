@@ -0,0 +1,47 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.PushTarget;
+import com.example.backend.model.PushOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 중복 방지 키가 있는 알림 등록이 유니크 인덱스 충돌을 오류 없이 건너뛰는지 검증
+ * (다른 인스턴스가 같은 키를 먼저 등록한 경우 = 이미 커밋된 행과 충돌)
+ * PostgreSQL(DB_URL/DB_USERNAME/DB_PASSWORD)이 설정된 환경에서만 실행되며, 테스트 트랜잭션은 끝나면 롤백됩니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class PushOutboxDedupInsertTest {
+
+    @Autowired
+    private PushOutboxRepository outboxRepository;
+
+    @Test
+    void skipsExistingAndRepeatedDedupKeys() {
+        String key = "stress-alert:test-" + System.nanoTime();
+
+        int first = outboxRepository.insertIgnoringDuplicates(List.of(notification(1L, key), notification(1L, key)));
+        int second = outboxRepository.insertIgnoringDuplicates(List.of(notification(1L, key), notification(2L, key + ":2")));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(outboxRepository.countByStatus(PushOutbox.Status.PENDING)).isGreaterThanOrEqualTo(2);
+    }
+
+    private static PushOutbox notification(long userId, String dedupKey) {
+        PushOutbox notification = PushOutbox.of(
+                new PushTarget(userId, "user" + userId + "@test.com", "https://push/" + userId, "p256dh", "auth"),
+                "{\"title\": \"테스트\"}");
+        notification.setDedupKey(dedupKey);
+        return notification;
+    }
+}
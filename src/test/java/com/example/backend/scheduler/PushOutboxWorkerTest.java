@@ -0,0 +1,140 @@
+package com.example.backend.scheduler;
+
+import com.example.backend.model.PushOutbox;
+import com.example.backend.repository.PushOutboxRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.WebPushService;
+import org.asynchttpclient.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 푸시 서비스 응답별 대기열 처리 검증 (성공 / 구독 만료 / 재시도 / 영구 실패 / 보내기 전 로컬 오류)
+ * 행 잠금(FOR UPDATE SKIP LOCKED)은 PostgreSQL 쿼리라 여기서는 claimDue 결과만 목으로 대체합니다.
+ */
+class PushOutboxWorkerTest {
+
+    private PushOutboxRepository outboxRepository;
+    private UserRepository userRepository;
+    private WebPushService webPushService;
+    private PushOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(PushOutboxRepository.class);
+        userRepository = mock(UserRepository.class);
+        webPushService = mock(WebPushService.class);
+        worker = new PushOutboxWorker(outboxRepository, userRepository, webPushService, 100, 1, 3, 30, 3600, 300);
+    }
+
+    @Test
+    void appliesOutcomePerStatusCode() {
+        PushOutbox sent = outbox(1L, "https://push/a", 0);
+        PushOutbox gone = outbox(2L, "https://push/b", 0);
+        PushOutbox unavailable = outbox(3L, "https://push/c", 0);
+        PushOutbox exhausted = outbox(4L, "https://push/d", 2);
+        PushOutbox badRequest = outbox(5L, "https://push/e", 0);
+        PushOutbox sameEndpoint = outbox(6L, "https://push/a", 0);
+        when(webPushService.claimDue(100, Duration.ofSeconds(300)))
+                .thenReturn(List.of(sent, gone, unavailable, exhausted, badRequest, sameEndpoint));
+        CompletableFuture<Response> created = response(201);
+        CompletableFuture<Response> goneResponse = response(410);
+        CompletableFuture<Response> unavailableResponse = response(503);
+        CompletableFuture<Response> badRequestResponse = response(400);
+        when(webPushService.deliver(sent)).thenReturn(created);
+        when(webPushService.deliver(gone)).thenReturn(goneResponse);
+        when(webPushService.deliver(unavailable)).thenReturn(unavailableResponse);
+        when(webPushService.deliver(exhausted)).thenReturn(CompletableFuture.failedFuture(new IOException("timeout")));
+        when(webPushService.deliver(badRequest)).thenReturn(badRequestResponse);
+
+        PushOutboxWorker.RunReport report = worker.drain();
+
+        assertThat(report.attempted()).isEqualTo(5);
+        assertThat(report.sent()).isEqualTo(1);
+        assertThat(report.dead()).isEqualTo(1);
+        assertThat(report.retried()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+
+        // 같은 엔드포인트는 한 배치에 한 건만 (나머지는 임대를 풀어 다음 배치)
+        verify(webPushService, never()).deliver(sameEndpoint);
+        verify(outboxRepository).release(eq(List.of(6L)), any(LocalDateTime.class));
+        verify(outboxRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxRepository).markEndpointDead(eq("https://push/b"), anyString());
+        verify(userRepository).clearWebPushSubscription(2L, "https://push/b");
+        verify(outboxRepository).scheduleRetry(eq(3L), any(LocalDateTime.class), anyString());
+        verify(outboxRepository).deferEndpoint(eq("https://push/c"), any(LocalDateTime.class));
+        verify(outboxRepository).markFailed(eq(4L), anyString());
+        verify(outboxRepository).markFailed(eq(5L), anyString());
+    }
+
+    @Test
+    void localFailuresBeforeSendingAreNotRetried() {
+        PushOutbox badKey = outbox(1L, "https://push/a", 0);
+        PushOutbox undecodable = outbox(2L, "https://push/b", 0);
+        PushOutbox timeout = outbox(3L, "https://push/c", 0);
+        when(webPushService.claimDue(anyInt(), any())).thenReturn(List.of(badKey, undecodable, timeout));
+        when(webPushService.deliver(badKey))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidKeySpecException("invalid p256dh")));
+        when(webPushService.deliver(undecodable)).thenThrow(new IllegalArgumentException("Illegal base64 character"));
+        when(webPushService.deliver(timeout)).thenReturn(CompletableFuture.failedFuture(new IOException("timeout")));
+
+        PushOutboxWorker.RunReport report = worker.drain();
+
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.retried()).isEqualTo(1);
+        verify(outboxRepository).markFailed(eq(1L), contains("InvalidKeySpecException"));
+        verify(outboxRepository).markFailed(eq(2L), contains("IllegalArgumentException"));
+        verify(outboxRepository).scheduleRetry(eq(3L), any(LocalDateTime.class), contains("timeout"));
+    }
+
+    @Test
+    void backoffDoublesUpToMaxAndHonorsRetryAfter() {
+        assertThat(worker.backoff(1, null)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoff(3, null)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(worker.backoff(20, null)).isEqualTo(Duration.ofHours(1));
+        assertThat(worker.backoff(1, "90")).isEqualTo(Duration.ofSeconds(90));
+        assertThat(worker.backoff(2, "Wed, 21 Oct 2026 07:28:00 GMT")).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void emptyQueueProducesNoReport() {
+        when(webPushService.claimDue(anyInt(), any())).thenReturn(List.of());
+
+        assertThat(worker.drain()).isNull();
+    }
+
+    private static PushOutbox outbox(Long id, String endpoint, int attempts) {
+        PushOutbox outbox = new PushOutbox();
+        outbox.setId(id);
+        outbox.setUserId(id);
+        outbox.setEndpoint(endpoint);
+        outbox.setAttempts(attempts);
+        outbox.setCreatedAt(LocalDateTime.now());
+        return outbox;
+    }
+
+    private static CompletableFuture<Response> response(int statusCode) {
+        Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(statusCode);
+        when(response.getStatusText()).thenReturn("status");
+        return CompletableFuture.completedFuture(response);
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.backend.scheduler;
+
+import com.example.backend.dto.PushTarget;
+import com.example.backend.model.PushOutbox;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.UserPreferenceRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.DashboardCache;
+import com.example.backend.service.WebPushService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 분 단위 알림 스케줄러 검증
+ * - 사용자 시간대 기준 알림 시각이 된 사용자만 조회
+ * - 청크당 조회 2번(구독자, 조건 집계), 대상자만 발송 대기열에 등록
+ * - 분당 한도를 넘는 사용자는 다음 분으로 넘김
+ * - DST 전환: 건너뛴 현지 시각의 사용자도 조회, 두 번 오는 현지 시각에도 하루 한 번만 등록
+ * - 잘못된 시간대는 건너뛰고, 오래 밀린 슬롯은 버림
+ */
+class StressCheckSchedulerTest {
+
+    private static final int USERS = 1200;
+    private static final int CHUNK_SIZE = 500;
+    private static final String SEOUL = "Asia/Seoul";
+    private static final String LONDON = "Europe/London";
+    // 09:00 KST
+    private static final Instant START = Instant.parse("2026-10-19T00:00:00Z");
+
+    private UserPreferenceRepository preferenceRepository;
+    private DailyCheckInRepository checkInRepository;
+    private WebPushService webPushService;
+    private MutableClock clock;
+    private List<PushOutbox> queued;
+    private Set<String> dedupKeys;
+
+    @BeforeEach
+    void setUp() {
+        preferenceRepository = mock(UserPreferenceRepository.class);
+        checkInRepository = mock(DailyCheckInRepository.class);
+        webPushService = mock(WebPushService.class);
+        clock = new MutableClock(START);
+        queued = new ArrayList<>();
+        dedupKeys = new HashSet<>();
+
+        when(preferenceRepository.findNotificationTimezones(SEOUL)).thenReturn(List.of(SEOUL, LONDON));
+        // 서울 09:00 알림 사용자 USERS명, 그 외 시각/시간대는 없음
+        when(preferenceRepository.findDueTargets(anyString(), anyString(), any(), any(), any(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    String zone = invocation.getArgument(0);
+                    LocalTime from = invocation.getArgument(3);
+                    long afterId = invocation.getArgument(5);
+                    Pageable pageable = invocation.getArgument(6);
+                    List<PushTarget> targets = new ArrayList<>();
+                    if (zone.equals(SEOUL) && from.equals(LocalTime.of(9, 0))) {
+                        for (long id = afterId + 1; id <= USERS && targets.size() < pageable.getPageSize(); id++) {
+                            targets.add(new PushTarget(id, "user" + id + "@test.com", "https://push/" + id, "p256dh", "auth"));
+                        }
+                    }
+                    return targets;
+                });
+        // 짝수 ID: 7일 평균 4.5 (조건 1), ID % 3 == 0 인 홀수: 오늘 요일 평균 5 (조건 2), 나머지: 조건 미충족
+        when(checkInRepository.findStressConditions(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            List<DailyCheckInRepository.StressConditionView> conditions = new ArrayList<>();
+            for (Long userId : userIds) {
+                if (userId % 2 == 0) {
+                    conditions.add(condition(userId, 9, 2, 0, 0));
+                } else if (userId % 3 == 0) {
+                    conditions.add(condition(userId, 11, 7, 5, 1));
+                } else {
+                    conditions.add(condition(userId, 14, 7, 2, 1));
+                }
+            }
+            return conditions;
+        });
+        // WebPushService.enqueueAll과 같이 중복 방지 키가 이미 있으면 건너뜀
+        doAnswer(invocation -> {
+            List<PushOutbox> notifications = invocation.getArgument(0);
+            int added = 0;
+            for (PushOutbox notification : notifications) {
+                if (dedupKeys.add(notification.getDedupKey())) {
+                    queued.add(notification);
+                    added++;
+                }
+            }
+            return added;
+        }).when(webPushService).enqueueAll(anyList());
+    }
+
+    @Test
+    void evaluatesDueUsersInChunksAndQueuesOnlyMatchingAlerts() {
+        StressCheckScheduler scheduler = scheduler(5000);
+
+        StressCheckScheduler.RunReport report = scheduler.dispatchDueAlerts();
+
+        int expectedAlerts = USERS / 2 + USERS / 6;
+        assertThat(report.usersScanned()).isEqualTo(USERS);
+        assertThat(report.chunks()).isEqualTo(3);
+        assertThat(report.slotsCompleted()).isEqualTo(2);
+        assertThat(report.backlogSlots()).isZero();
+        assertThat(report.alertsQueued()).isEqualTo(expectedAlerts);
+        assertThat(queued).hasSize(expectedAlerts)
+                .allSatisfy(outbox -> assertThat(outbox.getUserId() % 2 == 0 || outbox.getUserId() % 3 == 0).isTrue());
+
+        // 서울 09:00 청크 3번(마지막 청크가 덜 차서 추가 조회 없음) + 런던 01:00 1번
+        verify(preferenceRepository, times(3)).findDueTargets(eq(SEOUL), eq(SEOUL), any(), eq(LocalTime.of(9, 0)),
+                eq(LocalTime.of(9, 1)), anyLong(), any(Pageable.class));
+        verify(preferenceRepository).findDueTargets(eq(LONDON), eq(SEOUL), any(), eq(LocalTime.of(1, 0)),
+                eq(LocalTime.of(1, 1)), anyLong(), any(Pageable.class));
+        verify(checkInRepository, times(3)).findStressConditions(any(), any(), any(), any());
+        verify(webPushService, times(3)).enqueueAll(anyList());
+    }
+
+    @Test
+    void spillsUsersOverMaxRateIntoFollowingMinutes() {
+        StressCheckScheduler scheduler = scheduler(CHUNK_SIZE);
+
+        List<Integer> scannedPerMinute = new ArrayList<>();
+        for (int minute = 0; minute < 4; minute++) {
+            scannedPerMinute.add(scheduler.dispatchDueAlerts().usersScanned());
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        assertThat(scannedPerMinute).containsExactly(500, 500, 200, 0);
+        assertThat(queued).hasSize(USERS / 2 + USERS / 6);
+    }
+
+    @Test
+    void includesUsersWhoseTimeIsSkippedBySpringForward() {
+        // 런던 2026-03-29 01:00 GMT → 02:00 BST (01:00 ~ 01:59 현지 시각 없음)
+        stubLondonUserAt(LocalTime.of(1, 30));
+        clock = new MutableClock(Instant.parse("2026-03-29T00:59:00Z"));
+        StressCheckScheduler scheduler = scheduler(5000);
+        clock.advance(Duration.ofMinutes(1));
+
+        scheduler.dispatchDueAlerts();
+
+        verify(preferenceRepository).findDueTargets(eq(LONDON), eq(SEOUL), any(), eq(LocalTime.of(1, 0)),
+                eq(LocalTime.of(2, 1)), anyLong(), any(Pageable.class));
+        assertThat(queued).extracting(PushOutbox::getUserId).containsExactly(2L);
+    }
+
+    @Test
+    void alertsOnceWhenFallBackRepeatsLocalTime() {
+        // 런던 2026-10-25 02:00 BST → 01:00 GMT (01:00 ~ 01:59 현지 시각이 두 번)
+        stubLondonUserAt(LocalTime.of(1, 30));
+        clock = new MutableClock(Instant.parse("2026-10-25T00:05:00Z"));
+        StressCheckScheduler scheduler = scheduler(5000);
+        for (int minute = 0; minute < 100; minute++) {
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.dispatchDueAlerts();
+        }
+
+        // 01:30 BST, 01:30 GMT 두 번 대상이 되지만 등록은 한 번
+        verify(webPushService, times(2)).enqueueAll(anyList());
+        assertThat(queued).extracting(PushOutbox::getDedupKey).containsExactly("stress-alert:2:2026-10-25");
+    }
+
+    @Test
+    void skipsInvalidZoneWithoutBlockingOthers() {
+        when(preferenceRepository.findNotificationTimezones(SEOUL)).thenReturn(List.of("Mars/Olympus", SEOUL, LONDON));
+        StressCheckScheduler scheduler = scheduler(5000);
+
+        StressCheckScheduler.RunReport report = scheduler.dispatchDueAlerts();
+
+        assertThat(report.usersScanned()).isEqualTo(USERS);
+        assertThat(report.backlogSlots()).isZero();
+        assertThat(scheduler.snapshot().get("invalidZones")).isEqualTo(List.of("Mars/Olympus"));
+        verify(preferenceRepository, never()).findDueTargets(eq("Mars/Olympus"), anyString(), any(), any(), any(),
+                anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void dropsSlotsBackedUpLongerThanCatchUpWindow() {
+        // 분당 1명만 검사 - 서울 09:00 슬롯(1200명)이 60분 안에 끝나지 않음
+        StressCheckScheduler scheduler = scheduler(1);
+        int scanned = 0;
+        for (int minute = 0; minute < 100; minute++) {
+            scanned += scheduler.dispatchDueAlerts().usersScanned();
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        assertThat(scanned).isEqualTo(61);
+        // 60분이 지나면 첫 분의 슬롯(서울 09:00 + 그 뒤에 밀린 런던 00:00)을 버리고 이후 슬롯은 바로 처리
+        assertThat(scheduler.snapshot().get("slotsDropped")).isEqualTo(2L);
+        assertThat(scheduler.dispatchDueAlerts().backlogSlots()).isZero();
+    }
+
+    /**
+     * 런던 시간대에서 알림 시각이 time인 사용자 1명 (ID 2 - 조건 1 충족)
+     */
+    private void stubLondonUserAt(LocalTime time) {
+        when(preferenceRepository.findDueTargets(eq(LONDON), anyString(), any(), any(), any(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    LocalTime from = invocation.getArgument(3);
+                    LocalTime to = invocation.getArgument(4);
+                    long afterId = invocation.getArgument(5);
+                    return !time.isBefore(from) && time.isBefore(to) && afterId < 2
+                            ? List.of(new PushTarget(2L, "user2@test.com", "https://push/2", "p256dh", "auth"))
+                            : List.of();
+                });
+    }
+
+    private StressCheckScheduler scheduler(int maxUsersPerMinute) {
+        return new StressCheckScheduler(mock(UserRepository.class), preferenceRepository, checkInRepository,
+                mock(DashboardCache.class), webPushService, CHUNK_SIZE, maxUsersPerMinute, SEOUL,
+                LocalTime.of(9, 0), clock);
+    }
+
+    private static DailyCheckInRepository.StressConditionView condition(long userId, long stressSum, long count,
+                                                                        long weekdaySum, long weekdayCount) {
+        return new DailyCheckInRepository.StressConditionView() {
+            public Long getUserId() {
+                return userId;
+            }
+
+            public Long getStressSum() {
+                return stressSum;
+            }
+
+            public Long getCheckinCount() {
+                return count;
+            }
+
+            public Long getWeekdayStressSum() {
+                return weekdaySum;
+            }
+
+            public Long getWeekdayCheckinCount() {
+                return weekdayCount;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.security;
+
+import com.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomUserDetailsServiceTest {
+
+    @Test
+    void grantsAdminRoleOnlyToConfiguredEmails() {
+        CustomUserDetailsService service = new CustomUserDetailsService();
+        service.setAdminEmails(new String[]{" Ops@Test.com ", ""});
+
+        assertThat(service.toPrincipal(user(1L, "ops@test.com")).roles())
+                .containsExactly(UserPrincipal.ROLE_USER, UserPrincipal.ROLE_ADMIN);
+        assertThat(service.toPrincipal(user(2L, "user@test.com")).roles())
+                .containsExactly(UserPrincipal.ROLE_USER);
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setPassword("{bcrypt}hash");
+        return user;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret!!";
+
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessTokenAuthenticatesWithoutUserLookup() throws Exception {
+        JwtTokenProvider provider = provider(true);
+        UserPrincipal user = new UserPrincipal(42L, "user@test.com", "{bcrypt}hash",
+                List.of(new SimpleGrantedAuthority(UserPrincipal.ROLE_USER)));
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Authentication authentication = filter(provider, token);
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(authentication.getName()).isEqualTo("user@test.com");
+        assertThat(principal.roles()).containsExactly(UserPrincipal.ROLE_USER);
+        assertThat(principal.getPassword()).isEmpty();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void legacyTokenFallsBackToUserLookup() throws Exception {
+        JwtTokenProvider provider = provider(false);
+        UserPrincipal user = new UserPrincipal(7L, "legacy@test.com", "{bcrypt}hash",
+                List.of(new SimpleGrantedAuthority(UserPrincipal.ROLE_USER)));
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(userDetailsService.loadUserByUsername("legacy@test.com")).thenReturn(user);
+
+        // 클레임 없는 토큰은 stateless 모드를 켠 뒤에도 DB 조회로 인증
+        Authentication authentication = filter(provider(true), token);
+
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getId()).isEqualTo(7L);
+        verify(userDetailsService).loadUserByUsername("legacy@test.com");
+    }
+
+    private JwtTokenProvider provider(boolean stateless) {
+        return new JwtTokenProvider(SECRET, 60_000, stateless);
+    }
+
+    private Authentication filter(JwtTokenProvider provider, String token) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", provider);
+        ReflectionTestUtils.setField(filter, "customUserDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", new PrincipalCache(true, 100, 60));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    @Test
+    void loadsOncePerSubjectUntilInvalidated() {
+        PrincipalCache cache = new PrincipalCache(true, 100, 60);
+        AtomicInteger lookups = new AtomicInteger();
+        Function<String, UserDetails> loader = email -> {
+            lookups.incrementAndGet();
+            return new User(email, "{bcrypt}hash", List.of());
+        };
+
+        for (int i = 0; i < 10; i++) {
+            UserDetails principal = cache.get("user@test.com", loader);
+            assertThat(principal.getUsername()).isEqualTo("user@test.com");
+            assertThat(principal.getPassword()).isEmpty();
+        }
+        assertThat(lookups).hasValue(1);
+
+        cache.invalidate("user@test.com");
+        cache.get("user@test.com", loader);
+
+        assertThat(lookups).hasValue(2);
+        assertThat(cache.snapshot()).containsEntry("dbLookupsSaved", 9L).containsEntry("misses", 2L);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사용자별 분석 debounce 검증
+ * - 조용한 구간 동안 들어온 요청은 가장 최근 대화로 한 번만 실행
+ * - max-turns에 도달하면 기다리지 않고 실행
+ * - 실행 중에 들어온 요청은 끝난 뒤 한 번 더 실행
+ * - 분석 실패는 failed 지표에 반영
+ */
+class AnalysisDebouncerTest {
+
+    private final AnalysisService analysisService = mock(AnalysisService.class);
+    private AnalysisDebouncer debouncer;
+
+    @AfterEach
+    void tearDown() {
+        debouncer.shutdown();
+    }
+
+    @Test
+    void coalescesRequestsWithinDebounceWindow() {
+        when(analysisService.analyzeConversationAsync(anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        debouncer = new AnalysisDebouncer(analysisService, 1, 5);
+
+        debouncer.requestAnalysis(1L, 10L);
+        debouncer.requestAnalysis(1L, 10L);
+        debouncer.requestAnalysis(1L, 11L);
+
+        verify(analysisService, after(300).never()).analyzeConversationAsync(anyLong(), anyLong());
+        verify(analysisService, timeout(3000)).analyzeConversationAsync(1L, 11L);
+        verify(analysisService, after(300).times(1)).analyzeConversationAsync(anyLong(), anyLong());
+        assertThat(debouncer.snapshot()).containsEntry("requested", 3L)
+                .containsEntry("dispatched", 1L)
+                .containsEntry("dropped", 2L);
+    }
+
+    @Test
+    void runsImmediatelyWhenMaxTurnsReached() {
+        when(analysisService.analyzeConversationAsync(anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        debouncer = new AnalysisDebouncer(analysisService, 60, 2);
+
+        debouncer.requestAnalysis(1L, 10L);
+        verify(analysisService, after(200).never()).analyzeConversationAsync(anyLong(), anyLong());
+        debouncer.requestAnalysis(1L, 10L);
+
+        verify(analysisService, timeout(1000)).analyzeConversationAsync(1L, 10L);
+    }
+
+    @Test
+    void rerunsOnceWhenRequestArrivesMidRun() {
+        CompletableFuture<Void> firstRun = new CompletableFuture<>();
+        when(analysisService.analyzeConversationAsync(eq(1L), anyLong()))
+                .thenReturn(firstRun, CompletableFuture.completedFuture(null));
+        debouncer = new AnalysisDebouncer(analysisService, 60, 1);
+
+        debouncer.requestAnalysis(1L, 10L);
+        verify(analysisService, timeout(1000)).analyzeConversationAsync(1L, 10L);
+
+        // 실행 중 요청 → 바로 실행하지 않고 끝난 뒤로 미룸
+        debouncer.requestAnalysis(1L, 11L);
+        verify(analysisService, after(300).never()).analyzeConversationAsync(1L, 11L);
+        assertThat(debouncer.snapshot()).containsEntry("deferred", 1L);
+
+        firstRun.complete(null);
+        verify(analysisService, timeout(1000)).analyzeConversationAsync(1L, 11L);
+        verify(analysisService, after(300).times(2)).analyzeConversationAsync(anyLong(), anyLong());
+        assertThat(debouncer.queueDepth()).isZero();
+    }
+
+    @Test
+    void countsFailedAnalyses() {
+        when(analysisService.analyzeConversationAsync(anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Gemini 호출 실패")));
+        debouncer = new AnalysisDebouncer(analysisService, 60, 1);
+
+        debouncer.requestAnalysis(1L, 10L);
+
+        verify(analysisService, timeout(1000)).analyzeConversationAsync(1L, 10L);
+        verify(analysisService, after(200).times(1)).analyzeConversationAsync(1L, 10L);
+        assertThat(debouncer.snapshot()).containsEntry("failed", 1L);
+    }
+}
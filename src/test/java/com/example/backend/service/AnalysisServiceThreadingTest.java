@@ -0,0 +1,120 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiApiException;
+import com.example.backend.client.GeminiClient;
+import com.example.backend.config.AnalysisTaskExecutor;
+import com.example.backend.model.ChatMessage;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대화 분석이 Gemini 응답을 기다리는 동안 분석 실행기 스레드(및 그 스레드의 트랜잭션/커넥션)를 잡지 않는지 검증
+ * 로드 → (Gemini 대기: 실행 중인 작업 0개) → 저장 순서로 진행되는지 확인합니다.
+ * 실패는 삼키지 않고 반환된 future로 전달되는지도 확인합니다 (AnalysisDebouncer의 failed 지표).
+ * 구조화 출력 모드를 꺼도 분석 요청은 JSON 모드를 유지하는지 확인합니다.
+ */
+class AnalysisServiceThreadingTest {
+
+    private AnalysisTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AnalysisTaskExecutor(AnalysisTaskExecutor.RejectionPolicy.DROP_OLDEST);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void releasesAnalysisThreadWhileWaitingForGemini() throws Exception {
+        List<ChatMessage> history = List.of(new ChatMessage(null, ChatMessage.MessageRole.USER, "오늘 너무 힘들어요"));
+        AnalysisHistoryService historyService = mock(AnalysisHistoryService.class);
+        when(historyService.prepare(1L, 10L))
+                .thenReturn(new AnalysisHistoryService.AnalysisInput("user@example.com", null, history));
+        GeminiClient geminiClient = mock(GeminiClient.class);
+        CompletableFuture<String> modelCall = new CompletableFuture<>();
+        when(geminiClient.generate(anyString())).thenReturn(modelCall);
+
+        AnalysisService analysisService = new AnalysisService(geminiClient, historyService, executor, true,
+                new ModelOutputMetrics(true));
+        CompletableFuture<Void> analysis = analysisService.analyzeConversationAsync(1L, 10L);
+
+        verify(geminiClient, timeout(1000)).generate(anyString());
+        // 로드 작업이 끝나면 (generate 호출 직후) 분석 스레드는 반납되어야 함
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getActiveCount()).isZero();
+        assertThat(analysis).isNotDone();
+        verify(historyService, never()).save(any(), any(), any(), any());
+
+        modelCall.complete("{\"summary\": \"야근으로 지쳐 있음\", \"sentiment\": \"부정\"}");
+        analysis.get(1, TimeUnit.SECONDS);
+        verify(historyService).save(eq(1L), eq(10L), eq(new AnalysisResult("야근으로 지쳐 있음", "부정")), eq(history));
+    }
+
+    @Test
+    void keepsJsonModeWhenStructuredOutputIsDisabled() throws Exception {
+        AnalysisHistoryService historyService = mock(AnalysisHistoryService.class);
+        when(historyService.prepare(1L, 10L)).thenReturn(new AnalysisHistoryService.AnalysisInput("user@example.com",
+                null, List.of(new ChatMessage(null, ChatMessage.MessageRole.USER, "오늘 너무 힘들어요"))));
+        GeminiClient geminiClient = mock(GeminiClient.class);
+        when(geminiClient.generate(anyString()))
+                .thenReturn(CompletableFuture.completedFuture("{\"summary\": \"지침\", \"sentiment\": \"부정\"}"));
+
+        new AnalysisService(geminiClient, historyService, executor, false, new ModelOutputMetrics(true))
+                .analyzeConversationAsync(1L, 10L).get(1, TimeUnit.SECONDS);
+
+        ArgumentCaptor<String> requestBody = ArgumentCaptor.forClass(String.class);
+        verify(geminiClient).generate(requestBody.capture());
+        JsonObject generationConfig = JsonParser.parseString(requestBody.getValue()).getAsJsonObject()
+                .getAsJsonObject("generationConfig");
+        assertThat(generationConfig.get("responseMimeType").getAsString()).isEqualTo("application/json");
+        assertThat(generationConfig.has("responseSchema")).isFalse();
+    }
+
+    @Test
+    void propagatesGeminiFailureThroughReturnedFuture() {
+        AnalysisHistoryService historyService = mock(AnalysisHistoryService.class);
+        when(historyService.prepare(1L, 10L)).thenReturn(new AnalysisHistoryService.AnalysisInput("user@example.com",
+                null, List.of(new ChatMessage(null, ChatMessage.MessageRole.USER, "오늘 너무 힘들어요"))));
+        GeminiClient geminiClient = mock(GeminiClient.class);
+        when(geminiClient.generate(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new GeminiApiException("API 호출 실패: 500", 500)));
+
+        AnalysisService analysisService = new AnalysisService(geminiClient, historyService, executor, true,
+                new ModelOutputMetrics(true));
+
+        assertThatThrownBy(() -> analysisService.analyzeConversationAsync(1L, 10L).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(GeminiApiException.class);
+        verify(historyService, never()).save(any(), any(), any(), any());
+    }
+}
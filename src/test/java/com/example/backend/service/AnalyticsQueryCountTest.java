@@ -0,0 +1,144 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.RoutineRecommendationResponse;
+import com.example.backend.model.User;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.DailyStatisticsRepository;
+import com.example.backend.repository.RecoveryRoutineRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.example.backend.repository.StressRollupRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대시보드/루틴 추천이 기간 길이나 체크인 수와 무관하게 일정한 수의 리포지토리 호출만 하는지 검증 (DB 없이 목으로)
+ * [수정] 목은 리포지토리 호출만 셀 수 있고 지연 로딩(버킷의 요일별/원인 컬렉션 등)은 보이지 않으므로,
+ *        실제 SQL 문 수는 AnalyticsStatementCountTest(PostgreSQL, Hibernate Statistics)에서 검증합니다.
+ */
+class AnalyticsQueryCountTest {
+
+    private UserRepository userRepository;
+    private DailyStatisticsRepository statsRepository;
+    private DailyCheckInRepository checkInRepository;
+    private StressCauseRepository causeRepository;
+    private StressRollupRepository rollupRepository;
+    private RecoveryRoutineRepository routineRepository;
+
+    private AnalyticsService analyticsService;
+    private RoutineService routineService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        statsRepository = mock(DailyStatisticsRepository.class);
+        checkInRepository = mock(DailyCheckInRepository.class);
+        causeRepository = mock(StressCauseRepository.class);
+        rollupRepository = mock(StressRollupRepository.class);
+        routineRepository = mock(RecoveryRoutineRepository.class);
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@test.com");
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+
+        StressRollupService rollupService = new StressRollupService(rollupRepository, checkInRepository, causeRepository,
+                userRepository);
+        analyticsService = new AnalyticsService(userRepository, statsRepository, rollupService);
+        routineService = new RoutineService(userRepository, checkInRepository, routineRepository, causeRepository);
+    }
+
+    @Test
+    void dashboardMakesConstantRepositoryCallsForAnyPeriod() {
+        for (int period : new int[]{7, 30, 90, 365}) {
+            resetInvocations();
+
+            analyticsService.getDashboardData(1L, period);
+
+            // 일별 통계 1 + 버킷 유형별 IN 조회 최대 3 (사용자는 프록시 참조라 조회 없음)
+            assertThat(repositoryCalls()).as("period %d", period).isLessThanOrEqualTo(4);
+        }
+        verify(checkInRepository, never()).findByUserAndCheckinDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void routineRecommendationMakesConstantRepositoryCallsForAnyCheckInCount() {
+        List<Long> counts = new ArrayList<>();
+        for (int checkIns : new int[]{1, 7}) {
+            resetInvocations();
+            when(checkInRepository.findStressLevels(any(), any(), any())).thenReturn(stressLevels(checkIns));
+            when(causeRepository.countCauses(any(), any(), any())).thenReturn(List.of(causeCount("업무 과다", checkIns)));
+
+            RoutineRecommendationResponse response = routineService.getRecommendedRoutines(1L);
+
+            assertThat(response.getMainCause()).isEqualTo("업무 과다 (100%)");
+            counts.add(repositoryCalls());
+        }
+
+        // (날짜, 스트레스) 1 + 원인 GROUP BY 1 + 루틴 1
+        assertThat(counts).containsOnly(3L);
+        verify(checkInRepository, never()).findByUserAndCheckinDateBetween(any(), any(), any());
+    }
+
+    private long repositoryCalls() {
+        return List.of(userRepository, statsRepository, checkInRepository, causeRepository, rollupRepository, routineRepository)
+                .stream()
+                .flatMap(repository -> mockingDetails(repository).getInvocations().stream())
+                // getReferenceById는 프록시만 만들고 SQL을 실행하지 않음
+                .filter(invocation -> !invocation.getMethod().getName().equals("getReferenceById"))
+                .count();
+    }
+
+    private void resetInvocations() {
+        clearInvocations(userRepository, statsRepository, checkInRepository,
+                causeRepository, rollupRepository, routineRepository);
+    }
+
+    private static List<DailyCheckInRepository.StressLevelView> stressLevels(int count) {
+        List<DailyCheckInRepository.StressLevelView> levels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long id = i;
+            LocalDate date = LocalDate.now().minusDays(i + 1);
+            levels.add(new DailyCheckInRepository.StressLevelView() {
+                public Long getId() {
+                    return id;
+                }
+
+                public LocalDate getCheckinDate() {
+                    return date;
+                }
+
+                public Integer getStressLevel() {
+                    return 4;
+                }
+            });
+        }
+        return levels;
+    }
+
+    private static StressCauseRepository.CauseCountView causeCount(String causeType, long count) {
+        return new StressCauseRepository.CauseCountView() {
+            public String getCauseType() {
+                return causeType;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
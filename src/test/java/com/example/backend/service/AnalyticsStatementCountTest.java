@@ -0,0 +1,131 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DashboardDataResponse;
+import com.example.backend.dto.RoutineRecommendationResponse;
+import com.example.backend.model.DailyCheckIn;
+import com.example.backend.model.StressCause;
+import com.example.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대시보드/루틴 추천이 실제로 실행하는 SQL 문 수를 Hibernate Statistics로 검증 (지연 로딩 포함)
+ * 버킷의 요일별/원인 컬렉션(@ElementCollection)이 비어 있지 않은 데이터로 검사하므로 컬렉션 로딩도 셉니다.
+ * 임베디드 DB가 없어 PostgreSQL(DB_URL/DB_USERNAME/DB_PASSWORD)이 설정된 환경에서만 실행되며,
+ * 테스트 트랜잭션은 끝나면 롤백됩니다.
+ * (리포지토리 호출 수만 세는 AnalyticsQueryCountTest는 DB 없이 항상 실행)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+@Import({AnalyticsService.class, RoutineService.class, StressRollupService.class})
+class AnalyticsStatementCountTest {
+
+    private static final String[] CAUSES = {"업무 과다", "회의", "마감일", "소통 문제", "기타"};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private RoutineService routineService;
+
+    @Autowired
+    private StressRollupService rollupService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void dashboardRunsConstantStatementsForAnyPeriod() {
+        User user = persistUserWithCheckIns(365);
+        rollupService.backfill(user.getId());
+
+        for (int period : new int[]{7, 30, 90, 365}) {
+            startCounting();
+
+            DashboardDataResponse response = analyticsService.getDashboardData(user.getId(), period);
+
+            assertThat(response.getStressCauses()).as("period %d", period).isNotEmpty();
+            // 일별 통계 1 + 버킷 유형별 IN 조회 최대 3 + 요일별/원인 컬렉션 배치 로딩 2
+            assertThat(statistics.getPrepareStatementCount()).as("period %d", period).isLessThanOrEqualTo(6);
+        }
+    }
+
+    @Test
+    void routineRecommendationRunsConstantStatementsForAnyCheckInCount() {
+        List<Long> counts = new ArrayList<>();
+        for (int checkIns : new int[]{1, 7}) {
+            User user = persistUserWithCheckIns(checkIns);
+            startCounting();
+
+            RoutineRecommendationResponse response = routineService.getRecommendedRoutines(user.getId());
+
+            assertThat(response.getMainCause()).isNotNull();
+            counts.add(statistics.getPrepareStatementCount());
+        }
+
+        // (날짜, 스트레스) 1 + 원인 GROUP BY 1 + 루틴 1
+        assertThat(counts).containsOnly(3L);
+    }
+
+    /**
+     * 지금까지 쓴 내용을 DB에 반영하고 영속성 컨텍스트를 비운 뒤 통계 초기화 (1차 캐시 적중으로 SQL이 빠지지 않도록)
+     */
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * 어제부터 거슬러 올라가며 하루 한 번 체크인 (체크인마다 원인 2개)
+     */
+    private User persistUserWithCheckIns(int days) {
+        User user = new User();
+        user.setEmail("statements-" + System.nanoTime() + "@test.com");
+        user.setPassword("{noop}password");
+        entityManager.persist(user);
+
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= days; i++) {
+            DailyCheckIn checkIn = new DailyCheckIn();
+            checkIn.setUser(user);
+            checkIn.setCheckinDate(today.minusDays(i));
+            checkIn.setStressLevel(1 + i % 5);
+            entityManager.persist(checkIn);
+            for (int c = 0; c < 2; c++) {
+                StressCause cause = new StressCause();
+                cause.setDailyCheckin(checkIn);
+                cause.setCauseType(CAUSES[(i + c) % CAUSES.length]);
+                entityManager.persist(cause);
+            }
+        }
+        entityManager.flush();
+        return user;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiApiException;
+import com.example.backend.client.GeminiClient;
+import com.example.backend.client.GeminiUnavailableException;
+import com.example.backend.dto.ChatResponse;
+import com.example.backend.model.UserAnalysis;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Gemini 호출이 거절되거나 과부하로 실패하면(서킷 브레이커 OPEN, 마감 시간 초과, 네트워크 오류 등)
+ * 오류 대신 대체 답변을 바로 보내고 사용자 메시지만 저장하는지 검증
+ */
+class ChatDegradedReplyTest {
+
+    @Test
+    void overloadedGeminiReturnsCannedReplyAndPersistsUserMessage() {
+        assertDegraded(new GeminiUnavailableException(GeminiUnavailableException.Reason.CIRCUIT_OPEN));
+    }
+
+    @Test
+    void deadlineAndNetworkFailuresAreTreatedAsOverload() {
+        assertDegraded(GeminiApiException.overload("Gemini 호출 마감 시간 초과 (10000ms)", null));
+        assertDegraded(GeminiApiException.overload("API 호출 중 네트워크 오류: timeout", new SocketTimeoutException("timeout")));
+    }
+
+    @Test
+    void degradedReplyIsSavedOffTheGeminiCallbackThread() {
+        // 마감 시간 초과는 GeminiClient의 재시도/마감 스케줄러 스레드에서 future를 실패시킴
+        ExecutorService geminiScheduler = Executors.newSingleThreadExecutor(r -> new Thread(r, "gemini-retry"));
+        ExecutorService completion = Executors.newSingleThreadExecutor(r -> new Thread(r, "chat-completion-1"));
+        try {
+            GeminiClient geminiClient = mock(GeminiClient.class);
+            when(geminiClient.generate(anyString())).thenReturn(CompletableFuture.supplyAsync(() -> {
+                throw GeminiApiException.overload("Gemini 호출 마감 시간 초과 (10000ms)", null);
+            }, geminiScheduler));
+            ChatHistoryService chatHistoryService = chatHistoryService();
+            AtomicReference<String> saveThread = new AtomicReference<>();
+            doAnswer(invocation -> {
+                saveThread.set(Thread.currentThread().getName());
+                return null;
+            }).when(chatHistoryService).saveUserMessage(eq(10L), anyString());
+            ChatService chatService = new ChatService(geminiClient, chatHistoryService, mock(AnalysisDebouncer.class),
+                    new ChatResponseCache(false, 0, 0, 100), new ChatPromptBuilder(true, 2, 1000, true),
+                    new ModelOutputMetrics(true), completion);
+
+            ChatResponse response = chatService.chat(1L, "오늘 너무 힘들어요", null, true).join();
+
+            assertThat(response.isDegraded()).isTrue();
+            assertThat(saveThread.get()).isEqualTo("chat-completion-1");
+        } finally {
+            geminiScheduler.shutdownNow();
+            completion.shutdownNow();
+        }
+    }
+
+    @Test
+    void malformedResponseIsReportedAsError() {
+        GeminiClient geminiClient = mock(GeminiClient.class);
+        when(geminiClient.generate(anyString())).thenReturn(CompletableFuture.failedFuture(
+                new GeminiApiException("응답 JSON 파싱 실패: EOF", -1, null)));
+        ChatHistoryService chatHistoryService = chatHistoryService();
+
+        ChatResponse response = chatService(geminiClient, chatHistoryService, mock(AnalysisDebouncer.class))
+                .chat(1L, "오늘 너무 힘들어요", null, true).join();
+
+        assertThat(response.isDegraded()).isFalse();
+        verify(chatHistoryService, never()).saveUserMessage(anyLong(), anyString());
+    }
+
+    private static void assertDegraded(GeminiApiException failure) {
+        GeminiClient geminiClient = mock(GeminiClient.class);
+        when(geminiClient.generate(anyString())).thenReturn(CompletableFuture.failedFuture(failure));
+        ChatHistoryService chatHistoryService = chatHistoryService();
+        AnalysisDebouncer analysisDebouncer = mock(AnalysisDebouncer.class);
+        ChatService chatService = chatService(geminiClient, chatHistoryService, analysisDebouncer);
+
+        ChatResponse response = chatService.chat(1L, "오늘 너무 힘들어요", null, true).join();
+
+        assertThat(response.isDegraded()).as(failure.getMessage()).isTrue();
+        assertThat(response.getMessage()).isEqualTo(ChatService.DEGRADED_REPLY);
+        assertThat(response.getConversationId()).isEqualTo(10L);
+        verify(chatHistoryService).saveUserMessage(10L, "오늘 너무 힘들어요");
+        verify(chatHistoryService, never()).saveTurn(anyLong(), anyString(), anyString());
+        verify(analysisDebouncer, never()).requestAnalysis(anyLong(), anyLong());
+    }
+
+    private static ChatHistoryService chatHistoryService() {
+        ChatHistoryService chatHistoryService = mock(ChatHistoryService.class);
+        when(chatHistoryService.prepareTurn(eq(1L), anyString(), eq(null))).thenReturn(
+                new ChatHistoryService.ChatTurn(1L, 10L, new UserAnalysis(), List.of(), null, null));
+        return chatHistoryService;
+    }
+
+    private static ChatService chatService(GeminiClient geminiClient, ChatHistoryService chatHistoryService,
+                                           AnalysisDebouncer analysisDebouncer) {
+        return new ChatService(geminiClient, chatHistoryService, analysisDebouncer,
+                new ChatResponseCache(false, 0, 0, 100), new ChatPromptBuilder(true, 2, 1000, true),
+                new ModelOutputMetrics(true), Runnable::run);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ChatMessageDto;
+import com.example.backend.dto.CursorPage;
+import com.example.backend.model.ChatMessage;
+import com.example.backend.repository.ChatConversationRepository;
+import com.example.backend.repository.ChatMessageRepository;
+import com.example.backend.repository.UserAnalysisRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메시지 커서 페이지 검증
+ * - 같은 시각의 메시지가 페이지 경계에 걸려도 (createdAt, id) 커서로 빠짐/중복 없이 이어짐
+ * - 페이지 안은 시간순, 마지막 페이지의 nextCursor는 null
+ * 리포지토리 mock은 실제 쿼리와 같은 조건/정렬/LIMIT으로 메모리 목록을 잘라 돌려줍니다.
+ */
+class ChatHistoryPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 18, 9, 0);
+
+    private final List<ChatMessageDto> messages = new ArrayList<>();
+    private ChatHistoryService chatHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        // 메시지 7건, USER/ASSISTANT 쌍은 같은 시각에 저장됨
+        for (long id = 1; id <= 7; id++) {
+            messages.add(new ChatMessageDto(id, id % 2 == 1 ? ChatMessage.MessageRole.USER : ChatMessage.MessageRole.ASSISTANT,
+                    "message " + id, BASE.plusMinutes((id + 1) / 2)));
+        }
+        Comparator<ChatMessageDto> newestFirst = Comparator.comparing(ChatMessageDto::getCreatedAt)
+                .thenComparing(ChatMessageDto::getMessageId).reversed();
+
+        ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+        when(chatMessageRepository.findLatestPage(eq(1L), eq(10L), any(Pageable.class)))
+                .thenAnswer(invocation -> messages.stream().sorted(newestFirst)
+                        .limit(invocation.<Pageable>getArgument(2).getPageSize()).toList());
+        when(chatMessageRepository.findPageBefore(eq(1L), eq(10L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime createdAt = invocation.getArgument(2);
+                    long id = invocation.getArgument(3);
+                    return messages.stream()
+                            .filter(m -> m.getCreatedAt().isBefore(createdAt)
+                                    || (m.getCreatedAt().equals(createdAt) && m.getMessageId() < id))
+                            .sorted(newestFirst)
+                            .limit(invocation.<Pageable>getArgument(4).getPageSize()).toList();
+                });
+
+        chatHistoryService = new ChatHistoryService(mock(UserRepository.class), chatMessageRepository,
+                mock(UserAnalysisRepository.class), mock(ChatConversationRepository.class));
+    }
+
+    @Test
+    void pagesBackwardsWithoutGapsOrDuplicates() {
+        CursorPage<ChatMessageDto> first = chatHistoryService.loadMessages(1L, 10L, null, 3);
+        assertThat(ids(first)).containsExactly(5L, 6L, 7L);
+
+        CursorPage<ChatMessageDto> second = chatHistoryService.loadMessages(1L, 10L, first.getNextCursor(), 3);
+        assertThat(ids(second)).containsExactly(2L, 3L, 4L);
+
+        CursorPage<ChatMessageDto> last = chatHistoryService.loadMessages(1L, 10L, second.getNextCursor(), 3);
+        assertThat(ids(last)).containsExactly(1L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> chatHistoryService.loadMessages(1L, 10L, "not-a-cursor", 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Long> ids(CursorPage<ChatMessageDto> page) {
+        return page.getItems().stream().map(ChatMessageDto::getMessageId).toList();
+    }
+}
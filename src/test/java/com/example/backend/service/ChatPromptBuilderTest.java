@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.UserAnalysis;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 롤링 요약 모드의 대화 맥락 선택과 요청 바디 크기 비교, 구조화 출력 스키마 포함 여부
+ */
+class ChatPromptBuilderTest {
+
+    private static final String USER_TEXT =
+            "오늘도 회의가 세 개나 잡혀 있어서 점심도 제대로 못 먹었어요. 팀장님이 갑자기 보고서 마감을 앞당기셔서 " +
+            "야근까지 해야 할 것 같은데, 요즘 계속 이런 식이라 너무 지치고 아무것도 하기 싫어요.";
+    private static final String ASSISTANT_TEXT =
+            "회의가 연달아 있고 마감까지 앞당겨졌다니 정말 숨 돌릴 틈도 없으셨겠어요. 끼니도 거르고 버티느라 몸도 마음도 " +
+            "많이 지치셨을 것 같아요. 지금 느끼는 무기력함은 그만큼 오래 애써왔다는 신호이기도 해요. 오늘 일을 마치면 " +
+            "잠깐이라도 좋아하는 음악을 들으며 천천히 걷거나, 따뜻한 차 한 잔으로 스스로를 챙겨주면 좋겠어요.";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 10, 1, 9, 0);
+    private static final String SUMMARY =
+            "사용자는 잦은 회의와 앞당겨진 마감으로 야근이 이어져 지쳐 있음. 식사를 거르는 일이 많고 무기력함을 호소함.";
+
+    @Test
+    void rollingSummaryModeShrinksRequestBody() {
+        List<ChatMessage> history = history(5); // 최근 10개 메시지 (id 1~10)
+        UserAnalysis analysis = analysis();
+
+        String full = new ChatPromptBuilder(false, 2, 1000, true)
+                .buildRequestBody(analysis, history, SUMMARY, watermark(history, 6), "오늘은 좀 일찍 자고 싶어요");
+        String rolling = new ChatPromptBuilder(true, 2, 1000, true)
+                .buildRequestBody(analysis, history, SUMMARY, watermark(history, 6), "오늘은 좀 일찍 자고 싶어요");
+
+        int fullBytes = full.getBytes(StandardCharsets.UTF_8).length;
+        int rollingBytes = rolling.getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(rolling).contains(SUMMARY);
+        // 요청 본문이 최근 10개 방식의 60% 미만 (40% 이상 감소)
+        assertThat(rollingBytes)
+                .as("request body bytes: last-10 = %d, summary + last 2 turns = %d", fullBytes, rollingBytes)
+                .isLessThan(fullBytes * 6 / 10);
+    }
+
+    @Test
+    void keepsRecentTurnsAndOnlyUnsummarizedOlderMessages() {
+        List<ChatMessage> history = history(5);
+        ChatPromptBuilder builder = new ChatPromptBuilder(true, 2, 1000, true);
+
+        // 요약이 최신 메시지까지 따라와도 최근 2턴은 유지
+        assertThat(ids(builder.selectContext(history, watermark(history, 10)))).containsExactly(7L, 8L, 9L, 10L);
+        // 요약이 4번까지만 반영됐으면 5, 6번도 예산 안에서 포함
+        assertThat(ids(builder.selectContext(history, watermark(history, 4)))).containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void watermarkFollowsCreationOrderNotIdOrder() {
+        // 인스턴스마다 시퀀스 블록을 따로 받아, 먼저 저장된 메시지의 ID가 더 클 수 있음
+        List<ChatMessage> history = history(5);
+        for (int i = 0; i < 4; i++) {
+            history.get(i).setId(101L + i);
+        }
+        ChatPromptBuilder builder = new ChatPromptBuilder(true, 2, 1000, true);
+
+        // 요약은 네 번째 메시지(ID 104)까지 - 이후에 저장된 ID 5, 6번은 요약되지 않은 메시지
+        SummaryWatermark watermark = SummaryWatermark.of(history.get(3));
+        assertThat(ids(builder.selectContext(history, watermark))).containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void tokenBudgetLimitsOlderMessagesWhenNoSummaryExists() {
+        List<ChatMessage> history = history(5);
+        int recentTokens = 2 * (ChatPromptBuilder.estimateTokens(USER_TEXT) + ChatPromptBuilder.estimateTokens(ASSISTANT_TEXT));
+
+        ChatPromptBuilder builder = new ChatPromptBuilder(true, 2,
+                recentTokens + ChatPromptBuilder.estimateTokens(ASSISTANT_TEXT), true);
+
+        assertThat(ids(builder.selectContext(history, null))).containsExactly(6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void structuredOutputModeAddsReplySchema() {
+        String structured = new ChatPromptBuilder(true, 2, 1000, true)
+                .buildRequestBody(analysis(), history(1), SUMMARY, null, "오늘은 좀 일찍 자고 싶어요");
+        String plain = new ChatPromptBuilder(true, 2, 1000, false)
+                .buildRequestBody(analysis(), history(1), SUMMARY, null, "오늘은 좀 일찍 자고 싶어요");
+
+        JsonObject generationConfig = JsonParser.parseString(structured).getAsJsonObject().getAsJsonObject("generationConfig");
+        assertThat(generationConfig.get("responseMimeType").getAsString()).isEqualTo("application/json");
+        assertThat(generationConfig.getAsJsonObject("responseSchema").getAsJsonArray("required").toString())
+                .isEqualTo("[\"reply\",\"emotion\",\"stressCause\"]");
+        assertThat(JsonParser.parseString(plain).getAsJsonObject().has("generationConfig")).isFalse();
+    }
+
+    private static List<ChatMessage> history(int turns) {
+        List<ChatMessage> history = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < turns; i++) {
+            history.add(message(id++, ChatMessage.MessageRole.USER, USER_TEXT));
+            history.add(message(id++, ChatMessage.MessageRole.ASSISTANT, ASSISTANT_TEXT));
+        }
+        return history;
+    }
+
+    private static ChatMessage message(long id, ChatMessage.MessageRole role, String content) {
+        ChatMessage message = new ChatMessage(null, role, content);
+        message.setId(id);
+        message.setCreatedAt(BASE_TIME.plusMinutes(id));
+        return message;
+    }
+
+    /**
+     * id번째 메시지(1부터)까지 요약된 워터마크
+     */
+    private static SummaryWatermark watermark(List<ChatMessage> history, int id) {
+        return SummaryWatermark.of(history.get(id - 1));
+    }
+
+    private static UserAnalysis analysis() {
+        UserAnalysis analysis = new UserAnalysis();
+        analysis.setConversationSummary(SUMMARY);
+        analysis.setCurrentSentiment("부정");
+        return analysis;
+    }
+
+    private static List<Long> ids(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getId).toList();
+    }
+}
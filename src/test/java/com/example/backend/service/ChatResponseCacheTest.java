@@ -0,0 +1,78 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiClient;
+import com.example.backend.dto.ChatResponse;
+import com.example.backend.model.UserAnalysis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 첫 메시지 응답 캐시가 사용자별 요약으로 만든 답변을 다른 사용자에게 돌려주지 않는지 검증
+ * - 요약이 다른 두 사용자: 같은 메시지라도 각자 Gemini 호출
+ * - 요약이 없는 두 사용자: 답변 공유 (캐시 적중)
+ */
+class ChatResponseCacheTest {
+
+    private static final String MESSAGE = "오늘 너무 힘들어요";
+
+    private GeminiClient geminiClient;
+    private ChatHistoryService chatHistoryService;
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        geminiClient = mock(GeminiClient.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(geminiClient.generate(anyString())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                "{\"reply\": \"답변 " + calls.incrementAndGet() + "\", \"emotion\": \"tired\", \"stressCause\": \"기타\"}"));
+        chatHistoryService = mock(ChatHistoryService.class);
+        chatService = new ChatService(geminiClient, chatHistoryService, mock(AnalysisDebouncer.class),
+                new ChatResponseCache(true, 100, 600, 100), new ChatPromptBuilder(true, 2, 1000, true),
+                new ModelOutputMetrics(true), Runnable::run);
+    }
+
+    @Test
+    void usersWithDifferentSummariesDoNotShareReplies() {
+        givenUser(1L, "사용자 A는 야근이 잦아 지쳐 있음");
+        givenUser(2L, "사용자 B는 가족 문제로 불안해함");
+
+        ChatResponse first = chatService.chat(1L, MESSAGE, null, true).join();
+        ChatResponse second = chatService.chat(2L, MESSAGE, null, true).join();
+
+        assertThat(first.getMessage()).isEqualTo("답변 1");
+        assertThat(second.getMessage()).isEqualTo("답변 2");
+        verify(geminiClient, times(2)).generate(anyString());
+    }
+
+    @Test
+    void usersWithoutSummaryShareReply() {
+        givenUser(1L, null);
+        givenUser(2L, null);
+
+        chatService.chat(1L, MESSAGE, null, true).join();
+        ChatResponse second = chatService.chat(2L, "오늘 너무  힘들어요!!", null, true).join();
+
+        assertThat(second.getMessage()).isEqualTo("답변 1");
+        verify(geminiClient, times(1)).generate(anyString());
+    }
+
+    private void givenUser(Long userId, String summary) {
+        UserAnalysis analysis = new UserAnalysis();
+        analysis.setConversationSummary(summary);
+        analysis.setCurrentSentiment(summary != null ? "부정" : null);
+        when(chatHistoryService.prepareTurn(eq(userId), anyString(), eq(null))).thenReturn(
+                new ChatHistoryService.ChatTurn(userId, userId * 10, analysis, List.of(), null, null));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiClient;
+import com.example.backend.dto.ChatResponse;
+import com.example.backend.model.ChatConversation;
+import com.example.backend.model.User;
+import com.example.backend.repository.ChatConversationRepository;
+import com.example.backend.repository.ChatMessageRepository;
+import com.example.backend.repository.UserAnalysisRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 동시 채팅 N건이 Gemini 응답을 기다리는 동안 DB 커넥션(트랜잭션)을 하나도 잡지 않는지 검증
+ * JpaTransactionManager는 트랜잭션 하나당 풀 커넥션 하나를 바인딩하므로,
+ * 실제 DB 대신 활성 트랜잭션 수를 세는 트랜잭션 매니저로 커넥션 점유를 측정합니다.
+ */
+@SpringJUnitConfig(ChatServiceTransactionTest.Config.class)
+class ChatServiceTransactionTest {
+
+    private static final int CONCURRENT_CHATS = 32;
+    private static final String MODEL_REPLY =
+            "{\"reply\": \"많이 힘드셨겠어요\", \"emotion\": \"tired\", \"stressCause\": \"업무 과다\"}";
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private CountingTransactionManager transactionManager;
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Test
+    void concurrentChatsDoNotHoldConnectionsWhileWaitingForGemini() throws Exception {
+        List<CompletableFuture<String>> pendingModelCalls = new CopyOnWriteArrayList<>();
+        when(geminiClient.generate(anyString())).thenAnswer(invocation -> {
+            CompletableFuture<String> modelCall = new CompletableFuture<>();
+            pendingModelCalls.add(modelCall);
+            return modelCall;
+        });
+
+        ExecutorService requestThreads = Executors.newFixedThreadPool(CONCURRENT_CHATS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<ChatResponse>>> submitted = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CHATS; i++) {
+            long userId = i + 1;
+            submitted.add(requestThreads.submit(() -> {
+                start.await();
+                return chatService.chat(userId, "오늘 너무 힘들어요", null, true);
+            }));
+        }
+        start.countDown();
+
+        List<CompletableFuture<ChatResponse>> responses = new ArrayList<>();
+        for (Future<CompletableFuture<ChatResponse>> future : submitted) {
+            responses.add(future.get(10, TimeUnit.SECONDS));
+        }
+        requestThreads.shutdown();
+
+        // N건의 모델 호출이 모두 대기 중인데, 열려 있는 트랜잭션(= 점유 커넥션)은 0
+        assertThat(pendingModelCalls).hasSize(CONCURRENT_CHATS);
+        assertThat(responses).noneMatch(CompletableFuture::isDone);
+        assertThat(transactionManager.active()).isZero();
+
+        pendingModelCalls.forEach(modelCall -> modelCall.complete(MODEL_REPLY));
+
+        for (CompletableFuture<ChatResponse> response : responses) {
+            ChatResponse chatResponse = response.get(10, TimeUnit.SECONDS);
+            assertThat(chatResponse.getMessage()).isEqualTo("많이 힘드셨겠어요");
+            assertThat(chatResponse.getConversationId()).isNotNull();
+        }
+
+        // 채팅 1건 = 로드 트랜잭션 1 + 저장 트랜잭션 1
+        assertThat(transactionManager.active()).isZero();
+        assertThat(transactionManager.begun()).isEqualTo(2L * CONCURRENT_CHATS);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        CountingTransactionManager transactionManager() {
+            return new CountingTransactionManager();
+        }
+
+        @Bean
+        GeminiClient geminiClient() {
+            return mock(GeminiClient.class);
+        }
+
+        @Bean
+        ChatHistoryService chatHistoryService() {
+            AtomicLong ids = new AtomicLong();
+
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+                User user = new User();
+                user.setId(invocation.getArgument(0));
+                return user;
+            });
+
+            UserAnalysisRepository userAnalysisRepository = mock(UserAnalysisRepository.class);
+            when(userAnalysisRepository.findByUser(any())).thenReturn(Optional.empty());
+
+            ChatConversationRepository chatConversationRepository = mock(ChatConversationRepository.class);
+            when(chatConversationRepository.save(any())).thenAnswer(invocation -> {
+                ChatConversation conversation = invocation.getArgument(0);
+                conversation.setId(ids.incrementAndGet());
+                return conversation;
+            });
+            when(chatConversationRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+                ChatConversation conversation = new ChatConversation();
+                conversation.setId(invocation.getArgument(0));
+                return conversation;
+            });
+
+            ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+            when(chatMessageRepository.findTop10ByChatConversationOrderByCreatedAtDesc(any()))
+                    .thenAnswer(invocation -> new ArrayList<>());
+            when(chatMessageRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            return new ChatHistoryService(userRepository, chatMessageRepository,
+                    userAnalysisRepository, chatConversationRepository);
+        }
+
+        @Bean
+        ChatService chatService(GeminiClient geminiClient, ChatHistoryService chatHistoryService) {
+            return new ChatService(geminiClient, chatHistoryService, mock(AnalysisDebouncer.class),
+                    new ChatResponseCache(false, 0, 0, 100), new ChatPromptBuilder(true, 2, 1000, true),
+                    new ModelOutputMetrics(true), Runnable::run);
+        }
+    }
+
+    /**
+     * 트랜잭션 시작/종료만 세는 트랜잭션 매니저 (활성 트랜잭션 수 = 점유 중인 커넥션 수)
+     */
+    static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong begun = new AtomicLong();
+
+        int active() {
+            return active.get();
+        }
+
+        long begun() {
+            return begun.get();
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun.incrementAndGet();
+            active.incrementAndGet();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            active.decrementAndGet();
+        }
+    }
+}
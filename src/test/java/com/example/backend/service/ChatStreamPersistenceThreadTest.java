@@ -0,0 +1,56 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiClient;
+import com.example.backend.dto.ChatStreamEvent;
+import com.example.backend.model.UserAnalysis;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스트리밍 채팅이 끝난 뒤의 메시지 저장(블로킹 JPA)이 스트림을 받던 이벤트 루프 스레드가 아닌
+ * boundedElastic 스레드에서 실행되는지 검증 (Netty 이벤트 루프 대신 이름 붙은 단일 스레드 스케줄러로 흉내)
+ */
+class ChatStreamPersistenceThreadTest {
+
+    @Test
+    void savesStreamedTurnOffTheEventLoop() {
+        Scheduler eventLoop = Schedulers.newSingle("reactor-http-nio");
+        try {
+            GeminiClient geminiClient = mock(GeminiClient.class);
+            when(geminiClient.streamGenerate(anyString())).thenReturn(Flux.just(
+                    "{\"reply\": \"많이 힘드셨겠어요\", ", "\"emotion\": \"tired\", \"stressCause\": \"업무 과다\"}")
+                    .publishOn(eventLoop));
+            ChatHistoryService chatHistoryService = mock(ChatHistoryService.class);
+            when(chatHistoryService.prepareTurn(eq(1L), anyString(), eq(null))).thenReturn(
+                    new ChatHistoryService.ChatTurn(1L, 10L, new UserAnalysis(), List.of(), null, null));
+            AtomicReference<String> saveThread = new AtomicReference<>();
+            doAnswer(invocation -> {
+                saveThread.set(Thread.currentThread().getName());
+                return null;
+            }).when(chatHistoryService).saveTurn(eq(10L), anyString(), anyString());
+
+            ChatService chatService = new ChatService(geminiClient, chatHistoryService, mock(AnalysisDebouncer.class),
+                    new ChatResponseCache(false, 0, 0, 100), new ChatPromptBuilder(true, 2, 1000, true),
+                    new ModelOutputMetrics(true), Runnable::run);
+
+            List<ChatStreamEvent> events = chatService.chatStream(1L, "오늘 너무 힘들어요", null).collectList().block();
+
+            assertThat(events).last().extracting(ChatStreamEvent::getType).isEqualTo(ChatStreamEvent.DONE);
+            assertThat(saveThread.get()).startsWith("boundedElastic");
+        } finally {
+            eventLoop.dispose();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ChatConversation;
+import com.example.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 한 턴의 저장이 실제로 실행하는 SQL 문 수를 Hibernate Statistics로 검증
+ * - 메시지 쌍: 시퀀스에서 미리 할당받은 ID라 INSERT 문 하나를 JDBC 배치로 2행 전송
+ * - 대화 updatedAt: 대화를 SELECT 하지 않는 벌크 UPDATE 1번
+ * → 준비되는 문장 2개 (배치가 없으면 INSERT마다 문장을 준비하므로 3개)
+ * 임베디드 DB가 없어 PostgreSQL(DB_URL/DB_USERNAME/DB_PASSWORD)이 설정된 환경에서만 실행되며,
+ * 테스트 트랜잭션은 끝나면 롤백됩니다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+@Import(ChatHistoryService.class)
+class ChatTurnBatchWriteTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChatHistoryService chatHistoryService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void saveTurnTakesOneInsertBatchAndOneUpdate() {
+        ChatConversation conversation = persistConversation();
+        // 첫 턴은 시퀀스 풀을 채우는 nextval이 섞이므로 한 번 저장해 둔 뒤 다음 턴을 셈
+        chatHistoryService.saveTurn(conversation.getId(), "안녕하세요", "안녕하세요, 오늘 하루는 어떠셨어요?");
+        startCounting();
+
+        chatHistoryService.saveTurn(conversation.getId(), "오늘 너무 힘들어요", "많이 힘드셨겠어요.");
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        entityManager.clear();
+        ChatConversation touched = entityManager.find(ChatConversation.class, conversation.getId());
+        assertThat(touched.getUpdatedAt()).isAfter(LocalDateTime.now().minusHours(1));
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatConversation.id = :id", Long.class)
+                .setParameter("id", conversation.getId())
+                .getSingleResult()).isEqualTo(4L);
+    }
+
+    /**
+     * 지금까지 쓴 내용을 DB에 반영하고 영속성 컨텍스트를 비운 뒤 통계 초기화
+     */
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private ChatConversation persistConversation() {
+        User user = new User();
+        user.setEmail("chat-turn-" + System.nanoTime() + "@test.com");
+        user.setPassword("{noop}password");
+        entityManager.persist(user);
+
+        ChatConversation conversation = new ChatConversation();
+        conversation.setUser(user);
+        conversation.setTitle("배치 저장");
+        entityManager.persist(conversation);
+        entityManager.flush();
+        // touch가 updatedAt을 갱신하는지 확인할 수 있도록 과거로 돌려 둠 (@UpdateTimestamp를 거치지 않는 벌크 UPDATE)
+        entityManager.getEntityManager()
+                .createQuery("UPDATE ChatConversation c SET c.updatedAt = :past WHERE c.id = :id")
+                .setParameter("past", LocalDateTime.now().minusDays(1))
+                .setParameter("id", conversation.getId())
+                .executeUpdate();
+        return conversation;
+    }
+}
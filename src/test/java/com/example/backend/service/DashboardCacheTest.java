@@ -0,0 +1,36 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DashboardDataResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대시보드 캐시는 화면에서 쓰는 기간만 담고, 임의의 period 요청은 캐시하지 않는지 검증
+ */
+class DashboardCacheTest {
+
+    @Test
+    void cachesOnlyKnownPeriods() {
+        AnalyticsService analyticsService = mock(AnalyticsService.class);
+        when(analyticsService.getDashboardData(anyLong(), anyInt())).thenAnswer(invocation -> new DashboardDataResponse());
+        DashboardCache cache = new DashboardCache(analyticsService, true, 100, 60);
+
+        cache.get(1L, 30);
+        cache.get(1L, 30);
+        for (int period = 1000; period < 1100; period++) {
+            cache.get(1L, period);
+        }
+        cache.get(1L, 1000);
+
+        verify(analyticsService, times(1)).getDashboardData(1L, 30);
+        verify(analyticsService, times(2)).getDashboardData(1L, 1000);
+        assertThat(cache.snapshot()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.service;
+
+import com.example.backend.client.GeminiApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스키마 레코드 파싱과 파싱 실패율 / 버려진 호출 지표 검증
+ */
+class ModelOutputMetricsTest {
+
+    @Test
+    void countsParseFailuresPerCall() {
+        ModelOutputMetrics metrics = new ModelOutputMetrics(true);
+
+        AnalysisResult result = metrics.parse(ModelOutputMetrics.Call.ANALYSIS, AnalysisResult.SCHEMA,
+                "{\"summary\": \"야근이 이어져 지쳐 있음\", \"sentiment\": \"부정\"}");
+        assertThat(result).isEqualTo(new AnalysisResult("야근이 이어져 지쳐 있음", "부정"));
+
+        assertThatThrownBy(() -> metrics.parse(ModelOutputMetrics.Call.ANALYSIS, AnalysisResult.SCHEMA,
+                "{\"summary\": \"감정 없음\"}"))
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("sentiment");
+        metrics.recordWasted(ModelOutputMetrics.Call.ANALYSIS);
+
+        Map<String, Object> analysis = section(metrics, "analysis");
+        assertThat(analysis).containsEntry("calls", 2L)
+                .containsEntry("parseFailures", 1L)
+                .containsEntry("parseFailureRate", 0.5)
+                .containsEntry("wastedCalls", 1L);
+        assertThat(section(metrics, "chat")).containsEntry("calls", 0L);
+    }
+
+    @Test
+    void recoversPlainSentenceReplyButNotBrokenJson() {
+        assertThat(ChatReply.fromPlainText("  많이 힘드셨겠어요. 오늘은 푹 쉬어요.\n"))
+                .isEqualTo(new ChatReply("많이 힘드셨겠어요. 오늘은 푹 쉬어요.",
+                        ChatReply.FALLBACK_EMOTION, ChatReply.FALLBACK_STRESS_CAUSE));
+        assertThat(ChatReply.fromPlainText("{\"reply\": \"끝나지 않은")).isNull();
+        assertThat(ChatReply.fromPlainText(" ")).isNull();
+        assertThat(ChatReply.fromPlainText(null)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(ModelOutputMetrics metrics, String call) {
+        return (Map<String, Object>) metrics.snapshot().get(call);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DashboardDataResponse;
+import com.example.backend.dto.StressCauseDto;
+import com.example.backend.model.StressRollup;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 배열 기반 집계가 기존(boxed Map) 집계와 같은 응답을 만드는지 검증
+ */
+class StressAggregatorTest {
+
+    @Test
+    void aggregatesRollupsIntoDashboardValues() {
+        // 2025-06-16 = 월요일
+        StressRollup week = new StressRollup(null, StressRollup.PeriodType.WEEK, LocalDate.of(2025, 6, 16));
+        week.add(LocalDate.of(2025, 6, 16), 4, List.of("업무 과다", "회의"));
+        week.add(LocalDate.of(2025, 6, 17), 2, List.of("회의"));
+        StressRollup day = new StressRollup(null, StressRollup.PeriodType.DAY, LocalDate.of(2025, 6, 23));
+        day.add(LocalDate.of(2025, 6, 23), 3, List.of("회의", "이사")); // 목록에 없는 원인
+
+        StressAggregator aggregator = StressAggregator.ofRollups(List.of(week, day));
+        DashboardDataResponse response = new DashboardDataResponse();
+        AnalyticsService.populateSummary(response, aggregator);
+        AnalyticsService.populateWeeklyChartAndCauses(response, aggregator);
+
+        assertThat(response.getCheckInCount()).isEqualTo(3);
+        assertThat(response.getAverageStress()).isEqualByComparingTo(new BigDecimal("3.00"));
+        assertThat(aggregator.weekdayAverage(DayOfWeek.MONDAY)).isEqualTo(3.5);
+        assertThat(response.getWeeklyStress().get(1).getValue()).isEqualTo(2.0);
+        assertThat(response.getWeeklyStress().get(6).getValue()).isZero();
+        // 카운트 내림차순, 동률이면 고정 목록 순서 → 목록 밖 원인
+        assertThat(response.getStressCauses()).extracting(StressCauseDto::getName)
+                .containsExactly("회의", "업무 과다", "이사");
+        assertThat(response.getStressCauses()).extracting(StressCauseDto::getValue)
+                .containsExactly(60, 20, 20);
+        assertThat(aggregator.causeName(aggregator.topCauseId())).isEqualTo("회의");
+    }
+
+    @Test
+    void emptyAggregatorHasNoTopCause() {
+        StressAggregator aggregator = new StressAggregator();
+
+        assertThat(aggregator.average(1)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(aggregator.topCauseId()).isEqualTo(-1);
+        assertThat(aggregator.causeIdsByCount()).isEmpty();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.backend.service;
+
+import com.example.backend.model.StressRollup;
+import com.example.backend.model.StressRollup.PeriodType;
+import com.example.backend.model.User;
+import com.example.backend.repository.DailyCheckInRepository;
+import com.example.backend.repository.StressCauseRepository;
+import com.example.backend.repository.StressRollupRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대시보드 기간 → 월/주/일 버킷 분해 검증
+ * 백필이 이미 있는 버킷까지 다시 계산해 덮어쓰는지(여러 번 실행해도 같은 결과) 검증
+ */
+class StressRollupServiceTest {
+
+    @Test
+    void decompositionCoversEveryDayExactlyOnce() {
+        LocalDate end = LocalDate.of(2025, 11, 20);
+        for (int period : new int[]{1, 7, 30, 90, 365}) {
+            LocalDate start = end.minusDays(period - 1);
+
+            List<LocalDate> covered = new ArrayList<>();
+            for (StressRollupService.Bucket bucket : StressRollupService.decompose(start, end)) {
+                LocalDate bucketEnd = StressRollupService.periodEnd(bucket.type(), bucket.start());
+                assertThat(StressRollupService.periodStart(bucket.type(), bucket.start())).isEqualTo(bucket.start());
+                for (LocalDate day = bucket.start(); !day.isAfter(bucketEnd); day = day.plusDays(1)) {
+                    covered.add(day);
+                }
+            }
+
+            assertThat(covered).hasSize(period).doesNotHaveDuplicates();
+            assertThat(covered.get(0)).isEqualTo(start);
+            assertThat(covered.get(covered.size() - 1)).isEqualTo(end);
+        }
+    }
+
+    @Test
+    void longPeriodsReadFewBuckets() {
+        LocalDate end = LocalDate.of(2025, 11, 20);
+        List<StressRollupService.Bucket> buckets = StressRollupService.decompose(end.minusDays(364), end);
+
+        assertThat(buckets).hasSizeLessThan(40);
+        assertThat(buckets).filteredOn(bucket -> bucket.type() == PeriodType.MONTH).hasSize(11);
+    }
+
+    @Test
+    void backfillRecomputesBucketsCreatedBeforeIt() {
+        LocalDate today = LocalDate.of(2025, 11, 20);
+        LocalDate earlier = LocalDate.of(2025, 11, 3);
+        User user = new User();
+        user.setId(1L);
+
+        // 백필 전에 오늘 체크인이 record로 먼저 반영된 상태
+        List<StressRollup> existing = new ArrayList<>();
+        for (PeriodType type : PeriodType.values()) {
+            StressRollup rollup = new StressRollup(user, type, StressRollupService.periodStart(type, today));
+            rollup.add(today, 4, List.of("회의"));
+            existing.add(rollup);
+        }
+
+        UserRepository userRepository = mock(UserRepository.class);
+        StressRollupRepository rollupRepository = mock(StressRollupRepository.class);
+        DailyCheckInRepository checkInRepository = mock(DailyCheckInRepository.class);
+        StressCauseRepository causeRepository = mock(StressCauseRepository.class);
+        when(userRepository.lockForRollup(1L)).thenReturn(false);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(rollupRepository.findByUser(user)).thenReturn(existing);
+        List<DailyCheckInRepository.StressLevelView> checkIns =
+                List.of(stressLevel(10L, earlier, 2), stressLevel(11L, today, 4));
+        List<StressCauseRepository.CheckInCauseView> causes = List.of(cause(11L, "회의"));
+        when(checkInRepository.findAllStressLevels(user)).thenReturn(checkIns);
+        when(causeRepository.findAllCauses(user)).thenReturn(causes);
+
+        StressRollupService service = new StressRollupService(rollupRepository, checkInRepository, causeRepository,
+                userRepository);
+        assertThat(service.backfill(1L)).isEqualTo(2);
+
+        Map<String, StressRollup> byBucket = savedRollups(rollupRepository).stream()
+                .collect(Collectors.toMap(r -> r.getPeriodType() + " " + r.getPeriodStart(), Function.identity()));
+        // 오늘 체크인은 두 번 세지 않고, 이전 체크인까지 반영 (기존 버킷 행을 그대로 갱신)
+        assertThat(byBucket.get("DAY " + today).getCheckinCount()).isEqualTo(1);
+        assertThat(byBucket.get("MONTH 2025-11-01")).isSameAs(existing.get(2));
+        assertThat(byBucket.get("MONTH 2025-11-01").getCheckinCount()).isEqualTo(2);
+        assertThat(byBucket.get("MONTH 2025-11-01").getStressSum()).isEqualTo(6);
+        assertThat(byBucket.get("MONTH 2025-11-01").getCauseCounts()).containsExactlyEntriesOf(Map.of("회의", 1));
+        assertThat(byBucket).containsKeys("DAY " + earlier, "WEEK " + earlier);
+        verify(userRepository).markRollupsBackfilled(eq(1L), any());
+
+        // 다른 인스턴스가 먼저 끝낸 사용자는 건너뜀
+        UserRepository doneRepository = mock(UserRepository.class);
+        when(doneRepository.lockForRollup(2L)).thenReturn(true);
+        StressRollupRepository untouched = mock(StressRollupRepository.class);
+        assertThat(new StressRollupService(untouched, checkInRepository, causeRepository, doneRepository)
+                .backfill(2L)).isZero();
+        verify(untouched, never()).saveAll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<StressRollup> savedRollups(StressRollupRepository repository) {
+        ArgumentCaptor<Iterable<StressRollup>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(captor.capture());
+        return StreamSupport.stream(captor.getValue().spliterator(), false).toList();
+    }
+
+    private static DailyCheckInRepository.StressLevelView stressLevel(Long id, LocalDate date, int level) {
+        DailyCheckInRepository.StressLevelView view = mock(DailyCheckInRepository.StressLevelView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCheckinDate()).thenReturn(date);
+        when(view.getStressLevel()).thenReturn(level);
+        return view;
+    }
+
+    private static StressCauseRepository.CheckInCauseView cause(Long checkinId, String causeType) {
+        StressCauseRepository.CheckInCauseView view = mock(StressCauseRepository.CheckInCauseView.class);
+        when(view.getCheckinId()).thenReturn(checkinId);
+        when(view.getCauseType()).thenReturn(causeType);
+        return view;
+    }
+}